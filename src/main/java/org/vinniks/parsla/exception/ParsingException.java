@@ -1,13 +1,19 @@
 package org.vinniks.parsla.exception;
 
 public final class ParsingException extends ParslaException {
+    private final String reason;
     private final Object position;
 
     public ParsingException(String message, Object position) {
         super(message + (position == null ? "" : " at " + position));
+        reason = message;
         this.position = position;
     }
 
+    public String getReason() {
+        return reason;
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T getPosition() {
         return (T) position;
@@ -1,16 +1,23 @@
 package org.vinniks.parsla.grammar;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import org.vinniks.parsla.grammar.serialization.ExtendedGrammarReader;
 import org.vinniks.parsla.grammar.serialization.StandardGrammarReader;
 import org.vinniks.parsla.grammar.serialization.StandardGrammarWriter;
+import org.vinniks.parsla.tokenizer.text.TextTokenizer;
+import org.vinniks.parsla.tokenizer.text.dfa.DfaTextTokenizer;
+import org.vinniks.parsla.tokenizer.text.dfa.TokenDefinition;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringWriter;
+import java.util.List;
+import java.util.Optional;
 
+import static java.util.Collections.emptyList;
 import static org.vinniks.parsla.util.Validations.requireNonNullElements;
 
 @Getter
@@ -32,10 +39,25 @@ public final class Grammar {
     }
 
     private final Iterable<Option> options;
+    private final List<TokenDefinition> tokenDefinitions;
 
-    public Grammar(@NonNull Iterable<Option> options) {
+    @Getter(AccessLevel.NONE)
+    private final DfaTextTokenizer tokenizer;
+
+    public Grammar(@NonNull Iterable<Option> options, @NonNull List<TokenDefinition> tokenDefinitions) {
         requireNonNullElements(options, "grammar option can not be null");
+        requireNonNullElements(tokenDefinitions, "token definition can not be null");
         this.options = options;
+        this.tokenDefinitions = List.copyOf(tokenDefinitions);
+        tokenizer = tokenDefinitions.isEmpty() ? null : new DfaTextTokenizer(this.tokenDefinitions);
+    }
+
+    public Grammar(Iterable<Option> options) {
+        this(options, emptyList());
+    }
+
+    public Optional<TextTokenizer> getTokenizer() {
+        return Optional.ofNullable(tokenizer);
     }
 
     @Override
@@ -63,7 +85,7 @@ public final class Grammar {
                 }
             }
 
-            return !optionIterator.hasNext() && !otherOptionIterator.hasNext();
+            return !optionIterator.hasNext() && !otherOptionIterator.hasNext() && tokenDefinitions.equals(otherGrammar.tokenDefinitions);
         } else {
             return false;
         }
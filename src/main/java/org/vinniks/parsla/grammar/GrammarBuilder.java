@@ -2,6 +2,7 @@ package org.vinniks.parsla.grammar;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.vinniks.parsla.tokenizer.text.dfa.TokenDefinition;
 
 import java.util.List;
 
@@ -76,4 +77,8 @@ public class GrammarBuilder {
     public static Grammar grammar(Iterable<Option> options) {
         return new Grammar(options);
     }
+
+    public static Grammar grammar(Iterable<Option> options, List<TokenDefinition> tokenDefinitions) {
+        return new Grammar(options, tokenDefinitions);
+    }
 }
@@ -0,0 +1,14 @@
+package org.vinniks.parsla.grammar;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@Getter
+public final class GrammarOptimization {
+    private final Grammar grammar;
+    private final List<String> changes;
+}
@@ -0,0 +1,306 @@
+package org.vinniks.parsla.grammar;
+
+import lombok.NonNull;
+import org.vinniks.parsla.exception.GrammarException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.StreamSupport;
+
+import static java.util.Collections.emptyList;
+import static org.vinniks.parsla.grammar.GrammarBuilder.grammar;
+import static org.vinniks.parsla.grammar.GrammarBuilder.option;
+import static org.vinniks.parsla.grammar.GrammarBuilder.rule;
+
+public final class GrammarOptimizer {
+    public static GrammarOptimization optimize(@NonNull Grammar grammar, @NonNull Set<String> rootRuleNames) {
+        return new GrammarOptimizer(grammar, rootRuleNames).optimize();
+    }
+
+    private final Set<String> rootRuleNames;
+    private final Map<String, List<Option>> rules;
+    private final List<String> changes;
+
+    private GrammarOptimizer(Grammar grammar, Set<String> rootRuleNames) {
+        this.rootRuleNames = Set.copyOf(rootRuleNames);
+        rules = new LinkedHashMap<>();
+        changes = new ArrayList<>();
+
+        grammar.getOptions().forEach(option ->
+            rules.computeIfAbsent(option.getRuleName(), ruleName -> new ArrayList<>()).add(option)
+        );
+    }
+
+    private GrammarOptimization optimize() {
+        rootRuleNames.forEach(rootRuleName -> {
+            if (!rules.containsKey(rootRuleName)) {
+                throw new GrammarException(String.format("Unknown grammar rule \"%s\"", rootRuleName));
+            }
+        });
+
+        removeUnreachableRules();
+        mergeDuplicateRules();
+        inlineRules();
+        leftFactorRules();
+        mergeDuplicateRules();
+        removeUnreachableRules();
+
+        var options = new ArrayList<Option>();
+        rules.values().forEach(options::addAll);
+
+        return new GrammarOptimization(grammar(options), List.copyOf(changes));
+    }
+
+    private void removeUnreachableRules() {
+        var reachableRuleNames = new HashSet<String>();
+        var pendingRuleNames = new ArrayDeque<>(rootRuleNames);
+
+        while (!pendingRuleNames.isEmpty()) {
+            var ruleName = pendingRuleNames.pop();
+
+            if (reachableRuleNames.add(ruleName)) {
+                rules.getOrDefault(ruleName, emptyList()).forEach(option -> option.getItems().forEach(item -> {
+                    if (item instanceof RuleItem ruleItem) {
+                        pendingRuleNames.push(ruleItem.getRuleName());
+                    }
+                }));
+            }
+        }
+
+        rules.keySet().removeIf(ruleName -> {
+            if (reachableRuleNames.contains(ruleName)) {
+                return false;
+            }
+
+            changes.add(String.format("Removed unreachable rule \"%s\"", ruleName));
+            return true;
+        });
+    }
+
+    private void mergeDuplicateRules() {
+        var replacements = new HashMap<String, String>();
+
+        do {
+            replacements.clear();
+            var outputRuleNames = outputRuleNames();
+            var signatures = new HashMap<List<Object>, String>();
+
+            rules.forEach((ruleName, options) -> {
+                if (ruleName.contains("#") && !outputRuleNames.contains(ruleName)) {
+                    var existingRuleName = signatures.putIfAbsent(signature(ruleName, options), ruleName);
+
+                    if (existingRuleName != null) {
+                        replacements.put(ruleName, existingRuleName);
+                    }
+                }
+            });
+
+            replacements.forEach((ruleName, existingRuleName) -> {
+                rules.remove(ruleName);
+                changes.add(String.format("Merged duplicate rule \"%s\" into \"%s\"", ruleName, existingRuleName));
+            });
+
+            replaceRuleItems(replacements);
+        } while (!replacements.isEmpty());
+    }
+
+    private Set<String> outputRuleNames() {
+        var outputRuleNames = new HashSet<>(rootRuleNames);
+
+        rules.forEach((ruleName, options) -> options.forEach(option -> {
+            if (option.isOutput()) {
+                outputRuleNames.add(ruleName);
+            }
+
+            option.getItems().forEach(item -> {
+                if (item instanceof RuleItem ruleItem && ruleItem.isOutput()) {
+                    outputRuleNames.add(ruleItem.getRuleName());
+                }
+            });
+        }));
+
+        return outputRuleNames;
+    }
+
+    private List<Object> signature(String ruleName, List<Option> options) {
+        var signature = new ArrayList<>();
+
+        options.forEach(option -> signature.add(items(option)
+            .stream()
+            .map(item -> item instanceof RuleItem ruleItem && ruleItem.getRuleName().equals(ruleName)
+                ? List.of()
+                : item
+            )
+            .toList()
+        ));
+
+        return signature;
+    }
+
+    private void replaceRuleItems(Map<String, String> replacements) {
+        if (replacements.isEmpty()) {
+            return;
+        }
+
+        rules.values().forEach(options -> options.replaceAll(option -> option(
+            option.getRuleName(),
+            option.isOutput(),
+            items(option)
+                .stream()
+                .map(item -> item instanceof RuleItem ruleItem && replacements.containsKey(ruleItem.getRuleName())
+                    ? rule(replacements.get(ruleItem.getRuleName()), ruleItem.isOutput())
+                    : item
+                )
+                .toList()
+        )));
+    }
+
+    private void inlineRules() {
+        var inlined = true;
+
+        while (inlined) {
+            inlined = false;
+
+            for (var ruleName : List.copyOf(rules.keySet())) {
+                if (isInlineable(ruleName)) {
+                    inlineRule(ruleName);
+                    inlined = true;
+                }
+            }
+        }
+    }
+
+    private boolean isInlineable(String ruleName) {
+        var options = rules.get(ruleName);
+
+        return options != null
+            && options.size() == 1
+            && !options.get(0).isOutput()
+            && !rootRuleNames.contains(ruleName)
+            && items(options.get(0)).stream().noneMatch(item -> isReference(item, ruleName))
+            && rules.values().stream().flatMap(List::stream).anyMatch(option ->
+                items(option).stream().anyMatch(item -> isReference(item, ruleName) && !((RuleItem) item).isOutput())
+            );
+    }
+
+    private void inlineRule(String ruleName) {
+        var inlinedItems = items(rules.get(ruleName).get(0));
+
+        rules.values().forEach(options -> options.replaceAll(option -> {
+            var items = new ArrayList<Item>();
+
+            option.getItems().forEach(item -> {
+                if (isReference(item, ruleName) && !((RuleItem) item).isOutput()) {
+                    items.addAll(inlinedItems);
+                } else {
+                    items.add(item);
+                }
+            });
+
+            return option(option.getRuleName(), option.isOutput(), items);
+        }));
+
+        if (outputRuleNames().contains(ruleName)) {
+            changes.add(String.format("Inlined non-output references to rule \"%s\"", ruleName));
+        } else {
+            rules.remove(ruleName);
+            changes.add(String.format("Inlined rule \"%s\"", ruleName));
+        }
+    }
+
+    private void leftFactorRules() {
+        List.copyOf(rules.keySet()).forEach(this::leftFactorRule);
+    }
+
+    private void leftFactorRule(String ruleName) {
+        var groups = new LinkedHashMap<Object, List<Option>>();
+
+        rules.get(ruleName).forEach(option -> {
+            var items = items(option);
+            var key = items.isEmpty() ? new Object() : List.of(option.isOutput(), items.get(0));
+            groups.computeIfAbsent(key, groupKey -> new ArrayList<>()).add(option);
+        });
+
+        if (groups.size() == rules.get(ruleName).size()) {
+            return;
+        }
+
+        var options = new ArrayList<Option>();
+        var suffixRuleNames = new ArrayList<String>();
+
+        groups.values().forEach(group -> {
+            if (group.size() == 1) {
+                options.add(group.get(0));
+            } else {
+                var prefixLength = commonPrefixLength(group);
+                var prefixItems = new ArrayList<>(items(group.get(0)).subList(0, prefixLength));
+                var suffixRuleName = generateRuleName(ruleName);
+                prefixItems.add(rule(suffixRuleName));
+                options.add(option(ruleName, group.get(0).isOutput(), prefixItems));
+
+                rules.put(suffixRuleName, new ArrayList<>(group
+                    .stream()
+                    .map(option -> {
+                        var items = items(option);
+                        return option(suffixRuleName, List.copyOf(items.subList(prefixLength, items.size())));
+                    })
+                    .toList()
+                ));
+
+                suffixRuleNames.add(suffixRuleName);
+
+                changes.add(String.format(
+                    "Left-factored %d options of rule \"%s\" into \"%s\"", group.size(), ruleName, suffixRuleName
+                ));
+            }
+        });
+
+        rules.put(ruleName, options);
+        suffixRuleNames.forEach(this::leftFactorRule);
+    }
+
+    private int commonPrefixLength(List<Option> options) {
+        var firstItems = items(options.get(0));
+        var prefixLength = firstItems.size();
+
+        for (var option : options) {
+            var items = items(option);
+            prefixLength = Math.min(prefixLength, items.size());
+
+            for (var index = 0; index < prefixLength; index++) {
+                if (!items.get(index).equals(firstItems.get(index))) {
+                    prefixLength = index;
+                }
+            }
+        }
+
+        return prefixLength;
+    }
+
+    private String generateRuleName(String ruleName) {
+        var separatorIndex = ruleName.indexOf('#');
+        var baseRuleName = separatorIndex < 0 ? ruleName : ruleName.substring(0, separatorIndex);
+
+        for (var number = 1; ; number++) {
+            var generatedRuleName = String.format("%s#%d", baseRuleName, number);
+
+            if (!rules.containsKey(generatedRuleName)) {
+                return generatedRuleName;
+            }
+        }
+    }
+
+    private static boolean isReference(Item item, String ruleName) {
+        return item instanceof RuleItem ruleItem && ruleItem.getRuleName().equals(ruleName);
+    }
+
+    private static List<Item> items(Option option) {
+        return StreamSupport.stream(option.getItems().spliterator(), false).toList();
+    }
+}
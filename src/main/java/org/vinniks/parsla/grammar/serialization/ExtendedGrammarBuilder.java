@@ -5,6 +5,7 @@ import org.vinniks.parsla.grammar.Item;
 import org.vinniks.parsla.grammar.Option;
 import org.vinniks.parsla.syntaxtree.SyntaxTreeNode;
 import org.vinniks.parsla.tokenizer.text.TextPosition;
+import org.vinniks.parsla.tokenizer.text.dfa.TokenDefinition;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -24,17 +25,42 @@ class ExtendedGrammarBuilder {
 
     private final SyntaxTreeNode<TextPosition> syntaxTree;
     private final Collection<Option> options;
+    private final List<TokenDefinition> tokenDefinitions;
     private final Map<String, Integer> subOptionCounters;
 
     private ExtendedGrammarBuilder(SyntaxTreeNode<TextPosition> syntaxTree) {
         this.syntaxTree = syntaxTree;
         options = new ArrayList<>();
+        tokenDefinitions = new ArrayList<>();
         subOptionCounters = new HashMap<>();
     }
 
     private Grammar build() {
-        syntaxTree.children().forEach(this::buildOption);
-        return grammar(options);
+        syntaxTree.children().forEach(node -> {
+            if (node.valueIs("token-definition")) {
+                buildTokenDefinition(node);
+            } else {
+                buildOption(node);
+            }
+        });
+
+        return grammar(options, tokenDefinitions);
+    }
+
+    private void buildTokenDefinition(SyntaxTreeNode<TextPosition> tokenDefinitionNode) {
+        var tokenType = tokenDefinitionNode.singular("token-type-name");
+        var priority = tokenDefinitionNode.child("elevations").children().size();
+        var skip = tokenDefinitionNode.hasChild("skip");
+
+        tokenDefinitionNode.child("patterns").children().forEach(patternNode -> {
+            var patternTypeNode = patternNode.child();
+
+            var tokenDefinition = patternTypeNode.valueIs("regex")
+                ? TokenDefinition.regex(tokenType, patternTypeNode.childValue())
+                : TokenDefinition.literal(tokenType, patternTypeNode.childValue());
+
+            tokenDefinitions.add(tokenDefinition.withPriority(priority).withSkip(skip));
+        });
     }
 
     private void buildOption(SyntaxTreeNode<TextPosition> optionNode) {
@@ -21,6 +21,7 @@ public class ExtendedGrammarReader implements GrammarReader {
         return Grammar.readStandard("""
             options: ^;
             options: >option options;
+            options: >token-definition options;
             
             option: output >rule-name {colon} >sequences {semicolon};
             
@@ -84,6 +85,24 @@ public class ExtendedGrammarReader implements GrammarReader {
             
             items-tail: ^;
             items-tail: item items-tail;
+            
+            token-definition: skip {left-curly-bracket} >token-type-name {right-curly-bracket} >elevations {colon} >patterns {semicolon};
+            
+            skip: ^;
+            >skip: {caret};
+            
+            token-type-name: {identifier, >};
+            
+            patterns: >pattern patterns-tail;
+            
+            patterns-tail: ^;
+            patterns-tail: {pipe} >pattern patterns-tail;
+            
+            pattern: >literal;
+            pattern: >regex;
+            
+            literal: {string, >};
+            regex: {tilde} {string, >};
             """);
     }
 
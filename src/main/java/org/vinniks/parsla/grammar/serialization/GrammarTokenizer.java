@@ -39,6 +39,7 @@ public final class GrammarTokenizer extends AbstractBufferedTextTokenizer {
     private static final String ASTERISK = "asterisk";
     private static final String QUESTION = "question";
     private static final String PIPE = "pipe";
+    private static final String TILDE = "tilde";
 
     private static final Token LEFT_BRACKET_TOKEN = new Token(LEFT_BRACKET);
     private static final Token RIGHT_BRACKET_TOKEN = new Token(RIGHT_BRACKET);
@@ -46,6 +47,7 @@ public final class GrammarTokenizer extends AbstractBufferedTextTokenizer {
     private static final Token ASTERISK_TOKEN = new Token(ASTERISK);
     private static final Token QUESTION_MARK_TOKEN = new Token(QUESTION);
     private static final Token PIPE_TOKEN = new Token(PIPE);
+    private static final Token TILDE_TOKEN = new Token(TILDE);
 
     @Getter
     private final boolean extended;
@@ -118,6 +120,28 @@ public final class GrammarTokenizer extends AbstractBufferedTextTokenizer {
             }
         }
 
+        @Override
+        protected int scan(char[] characters, int offset, int limit) {
+            var i = offset;
+
+            while (i < limit && !hasPendingTokens()) {
+                var runEnd = runEnd(characters, i, limit);
+
+                if (runEnd > i) {
+                    if (state == State.R_IDENTIFIER || state == State.R_STRING) {
+                        valueBuilder.append(characters, i, runEnd - i);
+                    }
+
+                    advance(characters, i, runEnd);
+                    i = runEnd;
+                } else {
+                    i = super.scan(characters, i, i + 1);
+                }
+            }
+
+            return i;
+        }
+
         @Override
         protected void end() {
             if (state == State.R_IDENTIFIER) {
@@ -133,6 +157,34 @@ public final class GrammarTokenizer extends AbstractBufferedTextTokenizer {
             }
         }
 
+        private int runEnd(char[] characters, int offset, int limit) {
+            var i = offset;
+
+            if (state == State.LF_TOKEN) {
+                while (i < limit && Character.isWhitespace(characters[i])) {
+                    i++;
+                }
+            } else if (state == State.R_IDENTIFIER) {
+                while (i < limit && isValidNextIdentifierCharacter(characters[i])) {
+                    i++;
+                }
+            } else if (state == State.R_STRING) {
+                while (i < limit && characters[i] != '"' && characters[i] != '\\') {
+                    i++;
+                }
+            } else if (state == State.R_SHORT_COMMENT) {
+                while (i < limit && characters[i] != '\n') {
+                    i++;
+                }
+            } else if (state == State.R_LONG_COMMENT) {
+                while (i < limit && characters[i] != '*') {
+                    i++;
+                }
+            }
+
+            return i;
+        }
+
         private void lfToken(char c) {
             if (isValidFirstIdentifierCharacter(c)) {
                 valueBuilder.setLength(0);
@@ -181,6 +233,8 @@ public final class GrammarTokenizer extends AbstractBufferedTextTokenizer {
                 push(QUESTION_MARK_TOKEN, characterPosition());
             } else if (c == '|') {
                 push(PIPE_TOKEN, characterPosition());
+            } else if (c == '~') {
+                push(TILDE_TOKEN, characterPosition());
             } else if (!Character.isWhitespace(c)) {
                 throw unexpectedCharacter(c);
             }
@@ -296,7 +350,7 @@ public final class GrammarTokenizer extends AbstractBufferedTextTokenizer {
         @SuppressWarnings("BooleanMethodIsAlwaysInverted")
         private boolean isReservedCharacter(char c) {
             return Character.isWhitespace(c) || c == '{' || c == '}' || c == '"' || c == '>' || c == ',' || c == ';' || c == ':' || c == '!'
-                || extended && (c == '(' || c == ')' || c == '?' || c == '+' || c == '*' || c == '|');
+                || extended && (c == '(' || c == ')' || c == '?' || c == '+' || c == '*' || c == '|' || c == '~');
         }
 
         private ParsingException unexpectedCharacter(char c) {
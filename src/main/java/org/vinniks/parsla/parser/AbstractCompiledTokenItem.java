@@ -1,16 +1,19 @@
 package org.vinniks.parsla.parser;
 
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import org.vinniks.parsla.tokenizer.Token;
 
-import java.util.Set;
+import java.util.BitSet;
 
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 sealed abstract class AbstractCompiledTokenItem implements CompiledItem permits CompiledRegularTokenItem, CompiledIgnoredTokenItem {
     private final int elevation;
 
-    protected abstract boolean matches(Token token, Set<String> ignoredTokenTypes);
+    @Getter(AccessLevel.PACKAGE)
+    private final BitSet terminalIds;
+
+    protected abstract boolean matches(SymbolToken token);
 
     protected boolean outputType() {
         return false;
@@ -20,7 +23,7 @@ sealed abstract class AbstractCompiledTokenItem implements CompiledItem permits
         return false;
     }
 
-    int match(Token token, Set<String> ignoredTokenTypes) {
-        return matches(token, ignoredTokenTypes) ? elevation + 1 : 0;
+    int match(SymbolToken token) {
+        return matches(token) ? elevation + 1 : 0;
     }
 }
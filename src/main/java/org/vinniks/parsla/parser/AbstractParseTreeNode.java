@@ -2,13 +2,24 @@ package org.vinniks.parsla.parser;
 
 import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter(AccessLevel.PACKAGE)
 abstract sealed class AbstractParseTreeNode<T extends CompiledItem, P> permits RuleParseTreeNode, TokenParseTreeNode {
-    private final AbstractParseTreeNode<?, P> parent;
-    private final int level;
-    private final T item;
-    private final P position;
+    private AbstractParseTreeNode<?, P> parent;
+    private int level;
+    private T item;
+    private P position;
+    private int chainLength;
+
+    protected AbstractParseTreeNode(AbstractParseTreeNode<?, P> parent, int level, T item, P position) {
+        init(parent, level, item, position);
+    }
+
+    final void init(AbstractParseTreeNode<?, P> parent, int level, T item, P position) {
+        this.parent = parent;
+        this.level = level;
+        this.item = item;
+        this.position = position;
+        chainLength = parent == null ? 1 : parent.chainLength + 1;
+    }
 }
@@ -0,0 +1,33 @@
+package org.vinniks.parsla.parser;
+
+import java.io.IOException;
+
+sealed abstract class AbstractParserEngine implements ParserEngine permits LookAheadParserEngine, EarleyParserEngine {
+    Object createState() {
+        return null;
+    }
+
+    final <P> void parse(
+        CompiledOption rootOption,
+        CompiledOption ignoredTokenOption,
+        ParseContext<P> context
+    ) throws IOException {
+        var tokens = context.getTokens();
+        start(rootOption, ignoredTokenOption, context);
+
+        while (tokens.hasNext()) {
+            next(context);
+        }
+
+        end(context);
+    }
+
+    abstract <P> void start(CompiledOption rootOption, CompiledOption ignoredTokenOption, ParseContext<P> context);
+
+    abstract <P> void next(ParseContext<P> context) throws IOException;
+
+    abstract <P> void end(ParseContext<P> context);
+
+    <P> void reset(ParseContext<P> context) {
+    }
+}
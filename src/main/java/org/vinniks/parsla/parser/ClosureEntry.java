@@ -0,0 +1,35 @@
+package org.vinniks.parsla.parser;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@Getter(AccessLevel.PACKAGE)
+final class ClosureEntry {
+    private final AbstractCompiledTokenItem tokenItem;
+    private final int tokenLevel;
+    private final Explosion[] explosions;
+    private final Explosion[] decisions;
+    private final Position[] positions;
+
+    boolean isTail() {
+        return tokenItem == null;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+    @Getter(AccessLevel.PACKAGE)
+    static final class Explosion {
+        private final int level;
+        private final CompiledRuleItem item;
+        private final CompiledOption option;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+    @Getter(AccessLevel.PACKAGE)
+    static final class Position {
+        private final CompiledOption option;
+        private final int index;
+        private final int level;
+    }
+}
@@ -1,16 +1,17 @@
 package org.vinniks.parsla.parser;
 
-import org.vinniks.parsla.tokenizer.Token;
-
-import java.util.Set;
+import java.util.BitSet;
 
 final class CompiledIgnoredTokenItem extends AbstractCompiledTokenItem {
-    public CompiledIgnoredTokenItem() {
-        super(0);
+    private final BitSet ignoredTokenTypeIds;
+
+    CompiledIgnoredTokenItem(BitSet ignoredTokenTypeIds, BitSet terminalIds) {
+        super(0, terminalIds);
+        this.ignoredTokenTypeIds = ignoredTokenTypeIds;
     }
 
     @Override
-    protected boolean matches(Token token, Set<String> ignoredTokenTypes) {
-        return ignoredTokenTypes.contains(token.getType());
+    protected boolean matches(SymbolToken token) {
+        return ignoredTokenTypeIds.get(token.getTokenTypeId());
     }
 }
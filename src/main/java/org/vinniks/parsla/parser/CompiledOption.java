@@ -3,6 +3,7 @@ package org.vinniks.parsla.parser;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import org.vinniks.parsla.util.ArrayIterable;
 
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
@@ -12,7 +13,58 @@ class CompiledOption {
 
     private final CompiledItem[] items;
 
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private boolean nullable;
+
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private boolean records;
+
+    @Getter(AccessLevel.PACKAGE)
+    private final TerminalSet firstSet = new TerminalSet();
+
+    private PositionClosure[] closures;
+
     Iterable<CompiledItem> getItems(boolean reverse) {
         return new ArrayIterable<>(items, reverse);
     }
+
+    CompiledItem getItem(int index) {
+        return items[index];
+    }
+
+    void setItem(int index, CompiledItem item) {
+        items[index] = item;
+    }
+
+    int size() {
+        return items.length;
+    }
+
+    boolean canStartWith(SymbolToken token) {
+        return canStartWith(token.getTerminalId());
+    }
+
+    boolean canStartWith(int terminalId) {
+        return nullable || firstSet.contains(terminalId);
+    }
+
+    boolean createClosures(int terminalCount) {
+        if (closures != null) {
+            return false;
+        }
+
+        closures = new PositionClosure[items.length];
+
+        for (var index = 0; index < items.length; index++) {
+            closures[index] = new PositionClosure(this, index, terminalCount);
+        }
+
+        return true;
+    }
+
+    PositionClosure getClosure(int index) {
+        return closures[index];
+    }
 }
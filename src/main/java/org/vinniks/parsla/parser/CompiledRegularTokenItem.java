@@ -1,27 +1,39 @@
 package org.vinniks.parsla.parser;
 
 import lombok.Getter;
-import org.vinniks.parsla.tokenizer.Token;
 
-import java.util.Objects;
-import java.util.Set;
+import java.util.BitSet;
 
 final class CompiledRegularTokenItem extends AbstractCompiledTokenItem {
     @Getter
     private final String tokenType;
 
+    private final int tokenTypeId;
     private final boolean outputType;
     private final String tokenValue;
+    private final int terminalId;
     private final boolean outputValue;
+    private final BitSet ignoredTokenTypeIds;
 
     CompiledRegularTokenItem(
-        int elevation, String tokenType, boolean outputType, String tokenValue, boolean outputValue
+        int elevation,
+        String tokenType,
+        int tokenTypeId,
+        boolean outputType,
+        String tokenValue,
+        int terminalId,
+        boolean outputValue,
+        BitSet ignoredTokenTypeIds,
+        BitSet terminalIds
     ) {
-        super(elevation);
+        super(elevation, terminalIds);
         this.tokenType = tokenType;
+        this.tokenTypeId = tokenTypeId;
         this.outputType = outputType;
         this.tokenValue = tokenValue;
+        this.terminalId = terminalId;
         this.outputValue = outputValue;
+        this.ignoredTokenTypeIds = ignoredTokenTypeIds;
     }
 
     @Override
@@ -35,9 +47,13 @@ final class CompiledRegularTokenItem extends AbstractCompiledTokenItem {
     }
 
     @Override
-    protected boolean matches(Token token, Set<String> ignoredTokenTypes) {
-        return
-            tokenType == null && !ignoredTokenTypes.contains(token.getType())
-            || Objects.equals(token.getType(), tokenType) && (tokenValue == null || Objects.equals(token.getValue(), tokenValue));
+    protected boolean matches(SymbolToken token) {
+        if (tokenType == null) {
+            return !ignoredTokenTypeIds.get(token.getTokenTypeId());
+        } else if (tokenValue == null) {
+            return token.getTokenTypeId() == tokenTypeId;
+        } else {
+            return token.getTerminalId() == terminalId;
+        }
     }
 }
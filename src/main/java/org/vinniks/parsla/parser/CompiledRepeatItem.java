@@ -0,0 +1,41 @@
+package org.vinniks.parsla.parser;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+@Getter(AccessLevel.PACKAGE)
+final class CompiledRepeatItem extends CompiledRuleItem {
+    private final CompiledOption body;
+    private final CompiledOption skipOption;
+    private final CompiledOption enterOption;
+    private final CompiledOption tailOption;
+    private final boolean many;
+
+    CompiledRepeatItem(CompiledRule rule, CompiledOption body, CompiledOption skipOption, CompiledOption enterOption, boolean many) {
+        this(rule, body, skipOption, enterOption, null, many);
+    }
+
+    CompiledRepeatItem(CompiledRule rule, CompiledOption body, CompiledOption enterOption, CompiledRepeatItem tailItem) {
+        this(rule, body, null, enterOption, new CompiledOption(false, new CompiledItem[]{tailItem}), true);
+    }
+
+    private CompiledRepeatItem(
+        CompiledRule rule,
+        CompiledOption body,
+        CompiledOption skipOption,
+        CompiledOption enterOption,
+        CompiledOption tailOption,
+        boolean many
+    ) {
+        super(rule, false);
+        this.body = body;
+        this.skipOption = skipOption;
+        this.enterOption = enterOption;
+        this.tailOption = tailOption;
+        this.many = many;
+    }
+
+    boolean isOptional() {
+        return skipOption != null;
+    }
+}
@@ -0,0 +1,48 @@
+package org.vinniks.parsla.parser;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter(AccessLevel.PACKAGE)
+final class CompiledRule {
+    private final int id;
+    private final String name;
+    private final List<CompiledOption> options;
+
+    @Setter(AccessLevel.PACKAGE)
+    private boolean nullable;
+
+    private final TerminalSet firstSet;
+    private final TerminalSet followSet;
+
+    @Setter(AccessLevel.PACKAGE)
+    private CompiledOption[] predictions;
+
+    @Setter(AccessLevel.PACKAGE)
+    private PredictionDfa predictionDfa;
+
+    CompiledRule(int id, String name) {
+        this.id = id;
+        this.name = name;
+        options = new ArrayList<>();
+        firstSet = new TerminalSet();
+        followSet = new TerminalSet();
+    }
+
+    boolean isPredictable() {
+        return predictions != null;
+    }
+
+    CompiledOption predict(SymbolToken token) {
+        return predictions[token.getTerminalId()];
+    }
+
+    CompiledOption predict(SymbolToken token, TokenLookAhead lookAhead) throws IOException {
+        return predictionDfa != null ? predictionDfa.predict(token, lookAhead) : null;
+    }
+}
@@ -8,8 +8,15 @@ import java.util.Collection;
 
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 @Getter(AccessLevel.PACKAGE)
-final class CompiledRuleItem implements CompiledItem {
-    private final String ruleName;
+sealed class CompiledRuleItem implements CompiledItem permits CompiledRepeatItem {
+    private final CompiledRule rule;
     private final boolean output;
-    private final Collection<CompiledOption> options;
+
+    String getRuleName() {
+        return rule.getName();
+    }
+
+    Collection<CompiledOption> getOptions() {
+        return rule.getOptions();
+    }
 }
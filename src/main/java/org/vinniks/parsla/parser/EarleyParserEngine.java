@@ -0,0 +1,464 @@
+package org.vinniks.parsla.parser;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.vinniks.parsla.exception.ParsingException;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.Collections.emptyList;
+
+final class EarleyParserEngine extends AbstractParserEngine {
+    static final EarleyParserEngine INSTANCE = new EarleyParserEngine();
+
+    private static final int UNKNOWN_COUNT = -1;
+    private static final int AMBIGUOUS_COUNT = 2;
+
+    private EarleyParserEngine() {
+    }
+
+    @Override
+    Object createState() {
+        return new State();
+    }
+
+    @Override
+    <P> void start(CompiledOption rootOption, CompiledOption ignoredTokenOption, ParseContext<P> context) {
+        var startItems = ignoredTokenOption != null
+            ? new CompiledItem[]{rootOption.getItem(0), ignoredTokenOption.getItem(0)}
+            : new CompiledItem[]{rootOption.getItem(0)};
+
+        var chart = new Chart<P>(new CompiledOption(false, startItems));
+        chart.start();
+        ((State) context.getEngineState()).chart = chart;
+    }
+
+    @Override
+    <P> void next(ParseContext<P> context) throws IOException {
+        chart(context).next(context.getTokens());
+    }
+
+    @Override
+    <P> void end(ParseContext<P> context) {
+        chart(context).end(context.getOutput());
+    }
+
+    @Override
+    <P> void reset(ParseContext<P> context) {
+        ((State) context.getEngineState()).chart = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <P> Chart<P> chart(ParseContext<P> context) {
+        return (Chart<P>) ((State) context.getEngineState()).chart;
+    }
+
+    private static final class State {
+        private Chart<?> chart;
+    }
+
+    private static final class Chart<P> {
+        private final CompiledOption startOption;
+        private final List<ItemSet> sets;
+        private final List<SymbolToken> tokens;
+        private final List<P> positions;
+        private final Map<CompiledRule, Integer> epsilonCounts;
+        private ItemSet set;
+        private P lastPosition;
+
+        private Chart(CompiledOption startOption) {
+            this.startOption = startOption;
+            sets = new ArrayList<>();
+            tokens = new ArrayList<>();
+            positions = new ArrayList<>();
+            epsilonCounts = new HashMap<>();
+        }
+
+        private void start() {
+            set = new ItemSet(0);
+            sets.add(set);
+            set.add(new Item(null, startOption, 0, 0));
+        }
+
+        private void next(TokenBuffer<P> tokenBuffer) throws IOException {
+            var token = tokenBuffer.next().copy();
+            lastPosition = tokenBuffer.position();
+            tokens.add(token);
+            positions.add(lastPosition);
+            process(set, token);
+
+            var nextSet = new ItemSet(set.index + 1);
+            sets.add(nextSet);
+            scan(set, nextSet, token);
+            set = nextSet;
+        }
+
+        private void end(ParserOutput<P> output) {
+            process(set, null);
+            var acceptedItem = set.items.get(new Item(null, startOption, startOption.size(), 0));
+
+            if (acceptedItem == null) {
+                throw new ParsingException("unexpected end of the input", lastPosition);
+            } else if (count(acceptedItem) >= AMBIGUOUS_COUNT) {
+                throw new ParsingException("Ambiguous parsing path detected", lastPosition);
+            }
+
+            emit(acceptedItem, output);
+        }
+
+        private void process(ItemSet set, SymbolToken nextToken) {
+            for (var i = 0; i < set.worklist.size(); i++) {
+                var item = set.worklist.get(i);
+
+                if (item.isComplete()) {
+                    if (item.rule != null && item.origin < set.index) {
+                        complete(set, item);
+                    }
+                } else if (item.getNextItem() instanceof CompiledRuleItem ruleItem) {
+                    var rule = ruleItem.getRule();
+                    var waitingItems = set.waitingItems.get(rule);
+
+                    if (waitingItems == null) {
+                        waitingItems = new ArrayList<>();
+                        set.waitingItems.put(rule, waitingItems);
+                        predict(set, rule, nextToken);
+                    }
+
+                    waitingItems.add(item);
+
+                    if (rule.isNullable()) {
+                        set.advance(item, new Link(item, null, rule, set.index, 0));
+                    }
+                } else {
+                    set.scanningItems.add(item);
+                }
+            }
+        }
+
+        private void predict(ItemSet set, CompiledRule rule, SymbolToken nextToken) {
+            for (var option : rule.getOptions()) {
+                if (nextToken != null ? option.canStartWith(nextToken) : option.isNullable()) {
+                    set.add(new Item(rule, option, 0, set.index));
+                }
+            }
+        }
+
+        private void complete(ItemSet set, Item item) {
+            var completionKey = ((long) item.rule.getId() << 32) | item.origin;
+            var completion = set.completions.get(completionKey);
+
+            if (completion == null) {
+                completion = new Completion(item.origin);
+                set.completions.put(completionKey, completion);
+                completion.items.add(item);
+
+                for (var waitingItem : sets.get(item.origin).waitingItems.getOrDefault(item.rule, emptyList())) {
+                    set.advance(waitingItem, new Link(waitingItem, completion, null, item.origin, 0));
+                }
+            } else {
+                completion.items.add(item);
+            }
+        }
+
+        private void scan(ItemSet set, ItemSet nextSet, SymbolToken token) {
+            var matches = new int[set.scanningItems.size()];
+            var maxMatch = 0;
+
+            for (var i = 0; i < matches.length; i++) {
+                matches[i] = ((AbstractCompiledTokenItem) set.scanningItems.get(i).getNextItem()).match(token);
+                maxMatch = Math.max(maxMatch, matches[i]);
+            }
+
+            if (maxMatch == 0) {
+                throw new ParsingException(String.format("unexpected %s", token), lastPosition);
+            }
+
+            for (var i = 0; i < matches.length; i++) {
+                if (matches[i] == maxMatch) {
+                    var item = set.scanningItems.get(i);
+                    nextSet.advance(item, new Link(item, null, null, set.index, maxMatch));
+                }
+            }
+
+            set.scanningItems.clear();
+        }
+
+        private int count(Node root) {
+            var nodes = new ArrayDeque<Node>();
+            nodes.push(root);
+
+            while (!nodes.isEmpty()) {
+                var node = nodes.peek();
+
+                if (node.count != UNKNOWN_COUNT) {
+                    nodes.pop();
+                } else if (pushDependencies(node, nodes)) {
+                    node.count = computeCount(node);
+                    nodes.pop();
+                }
+            }
+
+            return root.count;
+        }
+
+        private boolean pushDependencies(Node node, Deque<Node> nodes) {
+            var counted = true;
+
+            if (node instanceof Item item) {
+                for (var link : item.links) {
+                    counted &= pushDependency(link.predecessor, nodes);
+
+                    if (link.completion != null) {
+                        counted &= pushDependency(link.completion, nodes);
+                    }
+                }
+            } else {
+                for (var item : ((Completion) node).items) {
+                    counted &= pushDependency(item, nodes);
+                }
+            }
+
+            return counted;
+        }
+
+        private boolean pushDependency(Node node, Deque<Node> nodes) {
+            if (node.count == UNKNOWN_COUNT) {
+                nodes.push(node);
+                return false;
+            } else {
+                return true;
+            }
+        }
+
+        private int computeCount(Node node) {
+            var count = 0;
+
+            if (node instanceof Item item) {
+                if (item.dot == 0) {
+                    return 1;
+                }
+
+                for (var link : item.links) {
+                    count = add(count, link.predecessor.count * count(link));
+                }
+            } else {
+                for (var item : ((Completion) node).items) {
+                    count = add(count, item.count);
+                }
+            }
+
+            return count;
+        }
+
+        private int count(Link link) {
+            if (link.completion != null) {
+                return link.completion.count;
+            } else if (link.epsilonRule != null) {
+                return epsilonCount(link.epsilonRule);
+            } else {
+                return 1;
+            }
+        }
+
+        private int epsilonCount(CompiledRule rule) {
+            var count = epsilonCounts.get(rule);
+
+            if (count == null) {
+                count = 0;
+
+                for (var option : rule.getOptions()) {
+                    count = add(count, epsilonCount(option));
+                }
+
+                epsilonCounts.put(rule, count);
+            }
+
+            return count;
+        }
+
+        private int epsilonCount(CompiledOption option) {
+            var count = 1;
+
+            for (var item : option.getItems(false)) {
+                if (item instanceof CompiledRuleItem ruleItem && ruleItem.getRule().isNullable()) {
+                    count = Math.min(AMBIGUOUS_COUNT, count * epsilonCount(ruleItem.getRule()));
+                } else {
+                    return 0;
+                }
+            }
+
+            return count;
+        }
+
+        private static int add(int count, int addition) {
+            return Math.min(AMBIGUOUS_COUNT, count + addition);
+        }
+
+        private void emit(Item acceptedItem, ParserOutput<P> output) {
+            var tasks = new ArrayDeque<Task>();
+            pushChildren(acceptedItem, 0, tasks);
+
+            while (!tasks.isEmpty()) {
+                var task = tasks.pop();
+                var link = task.link;
+
+                if (link.completion != null) {
+                    var ruleItem = (CompiledRuleItem) task.item;
+                    var item = derivedItem(link.completion);
+                    output.next(new RuleParseTreeNode<>(null, task.level, ruleItem, position(item.origin), item.option.isOutput()));
+                    pushChildren(item, task.level + 1, tasks);
+                } else if (link.epsilonRule != null) {
+                    var ruleItem = (CompiledRuleItem) task.item;
+                    var option = epsilonOption(link.epsilonRule);
+                    output.next(new RuleParseTreeNode<>(null, task.level, ruleItem, position(link.start), option.isOutput()));
+
+                    for (var item : option.getItems(true)) {
+                        var itemRule = ((CompiledRuleItem) item).getRule();
+                        tasks.push(new Task(task.level + 1, item, new Link(null, null, itemRule, link.start, 0)));
+                    }
+                } else {
+                    output.next(new TokenParseTreeNode<>(
+                        null,
+                        task.level,
+                        (AbstractCompiledTokenItem) task.item,
+                        positions.get(link.start),
+                        tokens.get(link.start).getToken(),
+                        link.match
+                    ));
+                }
+            }
+        }
+
+        private void pushChildren(Item item, int level, Deque<Task> tasks) {
+            for (var current = item; current.dot > 0; current = current.links.get(0).predecessor) {
+                var childLevel = current.rule != null ? level : current.dot;
+                tasks.push(new Task(childLevel, current.option.getItem(current.dot - 1), current.links.get(0)));
+            }
+        }
+
+        private Item derivedItem(Completion completion) {
+            return completion.items.stream()
+                .filter(item -> item.count > 0)
+                .findFirst()
+                .orElseThrow();
+        }
+
+        private CompiledOption epsilonOption(CompiledRule rule) {
+            return rule.getOptions().stream()
+                .filter(option -> epsilonCount(option) > 0)
+                .findFirst()
+                .orElseThrow();
+        }
+
+        private P position(int index) {
+            return index < positions.size() ? positions.get(index) : lastPosition;
+        }
+    }
+
+    private static final class ItemSet {
+        private final int index;
+        private final Map<Item, Item> items;
+        private final List<Item> worklist;
+        private final Map<CompiledRule, List<Item>> waitingItems;
+        private final Map<Long, Completion> completions;
+        private final List<Item> scanningItems;
+
+        private ItemSet(int index) {
+            this.index = index;
+            items = new HashMap<>();
+            worklist = new ArrayList<>();
+            waitingItems = new HashMap<>();
+            completions = new HashMap<>();
+            scanningItems = new ArrayList<>();
+        }
+
+        private Item add(Item item) {
+            var existingItem = items.putIfAbsent(item, item);
+
+            if (existingItem != null) {
+                return existingItem;
+            }
+
+            worklist.add(item);
+            return item;
+        }
+
+        private void advance(Item item, Link link) {
+            add(new Item(item.rule, item.option, item.dot + 1, item.origin)).links.add(link);
+        }
+    }
+
+    private static abstract class Node {
+        int count = UNKNOWN_COUNT;
+    }
+
+    private static final class Item extends Node {
+        private final CompiledRule rule;
+        private final CompiledOption option;
+        private final int dot;
+        private final int origin;
+        private final List<Link> links;
+
+        private Item(CompiledRule rule, CompiledOption option, int dot, int origin) {
+            this.rule = rule;
+            this.option = option;
+            this.dot = dot;
+            this.origin = origin;
+            links = new ArrayList<>(1);
+        }
+
+        private boolean isComplete() {
+            return dot == option.size();
+        }
+
+        private CompiledItem getNextItem() {
+            return option.getItem(dot);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Item otherItem
+                && option == otherItem.option
+                && dot == otherItem.dot
+                && origin == otherItem.origin;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(option), dot, origin);
+        }
+    }
+
+    private static final class Completion extends Node {
+        private final int origin;
+        private final List<Item> items;
+
+        private Completion(int origin) {
+            this.origin = origin;
+            items = new ArrayList<>(1);
+        }
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class Link {
+        private final Item predecessor;
+        private final Completion completion;
+        private final CompiledRule epsilonRule;
+        private final int start;
+        private final int match;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class Task {
+        private final int level;
+        private final CompiledItem item;
+        private final Link link;
+    }
+}
@@ -0,0 +1,167 @@
+package org.vinniks.parsla.parser;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
+
+class GrammarAnalyzer {
+    static void analyze(Collection<CompiledRule> rules, TerminalSet rootFollowSet, int terminalCount) {
+        new GrammarAnalyzer(rules, rootFollowSet, terminalCount).analyze();
+    }
+
+    private final Collection<CompiledRule> rules;
+    private final TerminalSet rootFollowSet;
+    private final int terminalCount;
+
+    private GrammarAnalyzer(Collection<CompiledRule> rules, TerminalSet rootFollowSet, int terminalCount) {
+        this.rules = rules;
+        this.rootFollowSet = rootFollowSet;
+        this.terminalCount = terminalCount;
+    }
+
+    private void analyze() {
+        analyzeFirstSets();
+        analyzeFollowSets();
+        rules.forEach(this::createPredictions);
+        rules.forEach(rule -> rule.getOptions().forEach(this::createClosures));
+    }
+
+    private void analyzeFirstSets() {
+        var dependentRules = new HashMap<CompiledRule, Set<CompiledRule>>();
+
+        rules.forEach(rule -> rule.getOptions().forEach(option -> option.getItems(false).forEach(item -> {
+            if (item instanceof CompiledRuleItem ruleItem) {
+                dependentRules.computeIfAbsent(ruleItem.getRule(), key -> new LinkedHashSet<>()).add(rule);
+            }
+        })));
+
+        var pendingRules = new LinkedHashSet<>(rules);
+
+        while (!pendingRules.isEmpty()) {
+            var rule = pendingRules.iterator().next();
+            pendingRules.remove(rule);
+            var changed = false;
+
+            for (var option : rule.getOptions()) {
+                analyzeFirstSet(option);
+                changed |= rule.getFirstSet().addAll(option.getFirstSet());
+
+                if (option.isNullable() && !rule.isNullable()) {
+                    rule.setNullable(true);
+                    changed = true;
+                }
+            }
+
+            if (changed) {
+                pendingRules.addAll(dependentRules.getOrDefault(rule, emptySet()));
+            }
+        }
+    }
+
+    private void analyzeFirstSet(CompiledOption option) {
+        var nullable = true;
+
+        for (var item : option.getItems(false)) {
+            if (item instanceof AbstractCompiledTokenItem tokenItem) {
+                option.getFirstSet().add(tokenItem);
+                nullable = false;
+            } else {
+                var rule = ((CompiledRuleItem) item).getRule();
+                option.getFirstSet().addAll(rule.getFirstSet());
+                nullable = rule.isNullable();
+            }
+
+            if (!nullable) {
+                break;
+            }
+        }
+
+        if (nullable) {
+            option.setNullable(true);
+        }
+    }
+
+    private void analyzeFollowSets() {
+        rules.stream()
+            .filter(rule -> rule.getName() != null)
+            .forEach(rule -> rule.getFollowSet().addAll(rootFollowSet));
+
+        var pendingRules = new LinkedHashSet<>(rules);
+
+        while (!pendingRules.isEmpty()) {
+            var rule = pendingRules.iterator().next();
+            pendingRules.remove(rule);
+
+            for (var option : rule.getOptions()) {
+                analyzeFollowSets(rule, option, pendingRules);
+            }
+        }
+    }
+
+    private void analyzeFollowSets(CompiledRule rule, CompiledOption option, Set<CompiledRule> pendingRules) {
+        var followSet = new TerminalSet();
+        followSet.addAll(rule.getFollowSet());
+
+        for (var i = option.size() - 1; i >= 0; i--) {
+            var item = option.getItem(i);
+
+            if (item instanceof AbstractCompiledTokenItem tokenItem) {
+                followSet = new TerminalSet();
+                followSet.add(tokenItem);
+            } else {
+                var itemRule = ((CompiledRuleItem) item).getRule();
+
+                if (itemRule.getFollowSet().addAll(followSet)) {
+                    pendingRules.add(itemRule);
+                }
+
+                if (!itemRule.isNullable()) {
+                    followSet = new TerminalSet();
+                }
+
+                followSet.addAll(itemRule.getFirstSet());
+            }
+        }
+    }
+
+    private void createClosures(CompiledOption option) {
+        if (option.createClosures(terminalCount)) {
+            for (var item : option.getItems(false)) {
+                if (item instanceof CompiledRepeatItem repeatItem) {
+                    createClosures(repeatItem.getBody());
+
+                    if (repeatItem.getTailOption() != null) {
+                        createClosures(repeatItem.getTailOption());
+                    }
+                }
+            }
+        }
+    }
+
+    private void createPredictions(CompiledRule rule) {
+        var predictions = new CompiledOption[terminalCount];
+
+        for (var option : rule.getOptions()) {
+            var predictSet = new TerminalSet();
+            predictSet.addAll(option.getFirstSet());
+
+            if (option.isNullable()) {
+                predictSet.addAll(rule.getFollowSet());
+            }
+
+            for (var terminalId : predictSet.stream().toArray()) {
+                if (predictions[terminalId] != null) {
+                    rule.setPredictionDfa(new PredictionDfa(rule));
+                    return;
+                }
+
+                predictions[terminalId] = option;
+            }
+        }
+
+        rule.setPredictions(predictions);
+    }
+}
@@ -1,97 +1,235 @@
 package org.vinniks.parsla.parser;
 
-import lombok.AccessLevel;
-import lombok.Getter;
 import org.vinniks.parsla.exception.GrammarException;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedHashSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 class LeftRecursionDetector {
-    static void detect(Map<String, Collection<CompiledOption>> compiledRules) {
+    static void detect(Collection<CompiledRule> compiledRules) {
         new LeftRecursionDetector(compiledRules).detect();
     }
 
-    private final Map<String, Collection<CompiledOption>> compiledRules;
-    private final Set<CompiledOption> visitedOptions;
+    private final Collection<CompiledRule> compiledRules;
+    private final Map<CompiledRule, Vertex> vertices;
+    private final List<Vertex> vertexList;
 
-    private LeftRecursionDetector(Map<String, Collection<CompiledOption>> compiledRules){
+    private LeftRecursionDetector(Collection<CompiledRule> compiledRules) {
         this.compiledRules = compiledRules;
-        visitedOptions = new LinkedHashSet<>();
+        vertices = new HashMap<>();
+        vertexList = new ArrayList<>();
     }
 
     private void detect() {
-        compiledRules.keySet().forEach(ruleName -> detect(ruleName, new RecursionTreeNode(null, ruleName)));
-    }
+        compiledRules.forEach(this::vertex);
+
+        for (var i = 0; i < vertexList.size(); i++) {
+            collectOccurrences(vertexList.get(i));
+        }
 
-    private RecursionTreeNode detect(String ruleName, RecursionTreeNode path) {
-        RecursionTreeNode shortestEmptyPath = null;
+        computeNullableRules();
+        vertexList.forEach(this::collectLeftCorners);
+        findStronglyConnectedComponents();
 
-        for (var option : compiledRules.get(ruleName)) {
-            var emptyPath = detect(option, path);
+        for (var rule : compiledRules) {
+            var vertex = vertices.get(rule);
 
-            if (shortestEmptyPath == null || emptyPath != null && shortestEmptyPath.getLevel() > emptyPath.getLevel()) {
-                shortestEmptyPath = emptyPath;
+            if (vertex.recursive) {
+                throw new GrammarException(String.format("Left recursion detected at %s", buildRecursionPath(vertex)));
             }
         }
+    }
+
+    private Vertex vertex(CompiledRule rule) {
+        var vertex = vertices.get(rule);
 
-        return shortestEmptyPath;
+        if (vertex == null) {
+            vertex = new Vertex(rule);
+            vertices.put(rule, vertex);
+            vertexList.add(vertex);
+        }
+
+        return vertex;
     }
 
-    private RecursionTreeNode detect(CompiledOption option, RecursionTreeNode path) {
-        if (visitedOptions.contains(option)) {
-            throw new GrammarException(String.format("Left recursion detected at %s", buildRecursionPath(path)));
+    private void collectOccurrences(Vertex vertex) {
+        for (var option : vertex.rule.getOptions()) {
+            var occurrence = new NullableOccurrence(vertex, option.size());
+
+            for (var item : option.getItems(false)) {
+                if (item instanceof CompiledRuleItem ruleItem) {
+                    vertex(ruleItem.getRule());
+                } else {
+                    occurrence = null;
+                }
+            }
+
+            if (option.size() == 0) {
+                vertex.nullable = true;
+            } else if (occurrence != null) {
+                for (var item : option.getItems(false)) {
+                    vertices.get(((CompiledRuleItem) item).getRule()).occurrences.add(occurrence);
+                }
+            }
         }
+    }
+
+    private void computeNullableRules() {
+        var nullableVertices = new ArrayDeque<Vertex>();
 
-        visitedOptions.add(option);
+        vertexList.forEach(vertex -> {
+            if (vertex.nullable) {
+                nullableVertices.push(vertex);
+            }
+        });
+
+        while (!nullableVertices.isEmpty()) {
+            for (var occurrence : nullableVertices.pop().occurrences) {
+                if (--occurrence.remainingItemCount == 0 && !occurrence.vertex.nullable) {
+                    occurrence.vertex.nullable = true;
+                    nullableVertices.push(occurrence.vertex);
+                }
+            }
+        }
+    }
 
-        try {
+    private void collectLeftCorners(Vertex vertex) {
+        for (var option : vertex.rule.getOptions()) {
             for (var item : option.getItems(false)) {
-                path = item instanceof CompiledRuleItem ruleItem
-                    ? detect(ruleItem.getRuleName(), new RecursionTreeNode(path, ruleItem.getRuleName()))
-                    : null;
+                if (!(item instanceof CompiledRuleItem ruleItem)) {
+                    break;
+                }
+
+                var leftCorner = vertices.get(ruleItem.getRule());
+                vertex.leftCorners.add(leftCorner);
 
-                if (path == null) {
+                if (leftCorner == vertex) {
+                    vertex.recursive = true;
+                }
+
+                if (!leftCorner.nullable) {
                     break;
                 }
             }
-        } finally {
-            visitedOptions.remove(option);
         }
+    }
 
-        return path;
+    private void findStronglyConnectedComponents() {
+        var index = 0;
+        var componentStack = new ArrayDeque<Vertex>();
+        var searchStack = new ArrayDeque<Vertex>();
+
+        for (var root : vertexList) {
+            if (root.index >= 0) {
+                continue;
+            }
+
+            root.index = root.lowLink = index++;
+            componentStack.push(root);
+            root.onStack = true;
+            searchStack.push(root);
+
+            while (!searchStack.isEmpty()) {
+                var vertex = searchStack.peek();
+
+                if (vertex.nextLeftCorner < vertex.leftCorners.size()) {
+                    var leftCorner = vertex.leftCorners.get(vertex.nextLeftCorner++);
+
+                    if (leftCorner.index < 0) {
+                        leftCorner.index = leftCorner.lowLink = index++;
+                        componentStack.push(leftCorner);
+                        leftCorner.onStack = true;
+                        searchStack.push(leftCorner);
+                    } else if (leftCorner.onStack) {
+                        vertex.lowLink = Math.min(vertex.lowLink, leftCorner.index);
+                    }
+                } else {
+                    searchStack.pop();
+
+                    if (!searchStack.isEmpty()) {
+                        searchStack.peek().lowLink = Math.min(searchStack.peek().lowLink, vertex.lowLink);
+                    }
+
+                    if (vertex.lowLink == vertex.index) {
+                        popComponent(vertex, componentStack);
+                    }
+                }
+            }
+        }
     }
 
-    private String buildRecursionPath(RecursionTreeNode path) {
-        var builder = new StringBuilder();
-        buildRecursionPath(path, builder, null);
-        return builder.toString();
+    private void popComponent(Vertex root, Deque<Vertex> componentStack) {
+        var recursive = componentStack.peek() != root;
+        Vertex vertex;
+
+        do {
+            vertex = componentStack.pop();
+            vertex.onStack = false;
+            vertex.component = root;
+            vertex.recursive |= recursive;
+        } while (vertex != root);
     }
 
-    private void buildRecursionPath(RecursionTreeNode path, StringBuilder builder, String recursiveRuleName) {
-        if (path.getParent() != null && recursiveRuleName == null || !recursiveRuleName.equals(path.getRuleName())) {
-            buildRecursionPath(path.getParent(), builder, recursiveRuleName == null ? path.getRuleName() : recursiveRuleName);
-        }
+    private String buildRecursionPath(Vertex vertex) {
+        var predecessors = new HashMap<Vertex, Vertex>();
+        var pendingVertices = new ArrayDeque<Vertex>();
+        pendingVertices.add(vertex);
 
-        if (!builder.isEmpty()) {
-            builder.append(" > ");
+        while (!predecessors.containsKey(vertex)) {
+            var predecessor = pendingVertices.remove();
+
+            for (var leftCorner : predecessor.leftCorners) {
+                if (leftCorner.component == vertex.component && !predecessors.containsKey(leftCorner)) {
+                    predecessors.put(leftCorner, predecessor);
+                    pendingVertices.add(leftCorner);
+                }
+            }
         }
 
-        builder.append(path.getRuleName());
+        var path = new ArrayDeque<String>();
+        var current = vertex;
+
+        do {
+            path.push(current.rule.getName());
+            current = predecessors.get(current);
+        } while (current != vertex);
+
+        path.push(vertex.rule.getName());
+        return String.join(" > ", path);
+    }
+
+    private static final class Vertex {
+        private final CompiledRule rule;
+        private final List<NullableOccurrence> occurrences;
+        private final List<Vertex> leftCorners;
+        private boolean nullable;
+        private boolean recursive;
+        private int index;
+        private int lowLink;
+        private int nextLeftCorner;
+        private boolean onStack;
+        private Vertex component;
+
+        private Vertex(CompiledRule rule) {
+            this.rule = rule;
+            occurrences = new ArrayList<>();
+            leftCorners = new ArrayList<>();
+            index = -1;
+        }
     }
 
-    @Getter(AccessLevel.PRIVATE)
-    private static class RecursionTreeNode {
-        private final RecursionTreeNode parent;
-        private final String ruleName;
-        private final int level;
+    private static final class NullableOccurrence {
+        private final Vertex vertex;
+        private int remainingItemCount;
 
-        public RecursionTreeNode(RecursionTreeNode parent, String ruleName) {
-            this.parent = parent;
-            this.ruleName = ruleName;
-            level = parent == null ? 1 : parent.getLevel() + 1;
+        private NullableOccurrence(Vertex vertex, int remainingItemCount) {
+            this.vertex = vertex;
+            this.remainingItemCount = remainingItemCount;
         }
     }
 }
@@ -0,0 +1,503 @@
+package org.vinniks.parsla.parser;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.tokenizer.Token;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+final class LookAheadParserEngine extends AbstractParserEngine {
+    static final LookAheadParserEngine INSTANCE = new LookAheadParserEngine(ParserLimits.unlimited());
+
+    private final ParserLimits limits;
+
+    LookAheadParserEngine(ParserLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    Object createState() {
+        return new State<>();
+    }
+
+    @Override
+    <P> void start(CompiledOption rootOption, CompiledOption ignoredTokenOption, ParseContext<P> context) {
+        var ignoredTokenFrame = ignoredTokenOption != null ? new Frame(ignoredTokenOption, 0, 2, null) : null;
+        state(context).records = rootOption.isRecords();
+        state(context).paths.add(null, new Frame(rootOption, 0, 1, ignoredTokenFrame), false);
+    }
+
+    @Override
+    <P> void next(ParseContext<P> context) throws IOException {
+        var state = state(context);
+        var tokens = context.getTokens();
+        var paths = state.paths;
+        var nextPaths = state.nextPaths;
+        var token = tokens.next();
+        nextPaths.clear();
+
+        for (var i = 0; i < paths.size; i++) {
+            findNextPaths(paths.nodes[i], paths.frames[i], paths.ambiguous[i], token, tokens.position(), tokens, state);
+        }
+
+        paths.clear();
+
+        if (nextPaths.size > 1) {
+            nextPaths.merge();
+        }
+
+        if (nextPaths.size == 0) {
+            throw new ParsingException(String.format("unexpected %s", token), tokens.position());
+        } else if (nextPaths.size == 1 && !nextPaths.ambiguous[0]) {
+            context.getOutput().next(nextPaths.nodes[0]);
+            state.release(nextPaths.nodes[0]);
+            state.uncommittedTokens = 0;
+
+            if (nextPaths.frames[0] != null) {
+                paths.add(null, nextPaths.frames[0], false);
+            }
+        } else {
+            state.paths = nextPaths;
+            state.nextPaths = paths;
+            state.uncommittedTokens++;
+            checkLimits(state, context.getCounters(), tokens.position());
+        }
+    }
+
+    @Override
+    <P> void end(ParseContext<P> context) {
+        var state = state(context);
+        var paths = state.paths;
+        var position = context.getTokens().position();
+
+        if (paths.size > 0) {
+            var tailPaths = state.tailPaths;
+
+            for (var i = 0; i < paths.size; i++) {
+                findTails(paths.nodes[i], paths.frames[i], paths.ambiguous[i], position, state);
+            }
+
+            if (tailPaths.size == 0) {
+                throw new ParsingException("unexpected end of the input", position);
+            } else if (tailPaths.size > 1 || tailPaths.ambiguous[0]) {
+                throw new ParsingException("Ambiguous parsing path detected", position);
+            } else {
+                context.getOutput().next(tailPaths.nodes[0]);
+            }
+        }
+    }
+
+    @Override
+    <P> void reset(ParseContext<P> context) {
+        var state = state(context);
+        state.paths.clear();
+        state.nextPaths.clear();
+        state.tailPaths.clear();
+        state.uncommittedTokens = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <P> State<P> state(ParseContext<P> context) {
+        return (State<P>) context.getEngineState();
+    }
+
+    private <P> void checkLimits(State<P> state, ParserCounters counters, P position) {
+        var paths = state.paths;
+        var chainLength = 0;
+
+        for (var i = 0; i < paths.size; i++) {
+            chainLength = Math.max(chainLength, paths.nodes[i].getChainLength());
+        }
+
+        counters.recordPeaks(paths.size, state.uncommittedTokens, chainLength);
+
+        if (paths.size > limits.getMaxLivePaths()) {
+            counters.recordLivePathLimitHit();
+            throw limitExceeded("Live path", limits.getMaxLivePaths(), paths, position);
+        } else if (state.uncommittedTokens > limits.getMaxUncommittedTokens()) {
+            counters.recordUncommittedTokenLimitHit();
+            throw limitExceeded("Uncommitted token", limits.getMaxUncommittedTokens(), paths, position);
+        } else if (chainLength > limits.getMaxChainLength()) {
+            counters.recordChainLengthLimitHit();
+            throw limitExceeded("Chain length", limits.getMaxChainLength(), paths, position);
+        }
+    }
+
+    private <P> ParsingException limitExceeded(String limitName, int limit, PathList<P> paths, P position) {
+        var ruleNames = ambiguousRuleNames(paths);
+
+        return new ParsingException(
+            ruleNames.isEmpty()
+                ? String.format("%s limit of %d exceeded", limitName, limit)
+                : String.format(
+                    "%s limit of %d exceeded in ambiguous rules %s",
+                    limitName,
+                    limit,
+                    ruleNames.stream().map(ruleName -> "\"" + ruleName + "\"").collect(Collectors.joining(", "))
+                ),
+            position
+        );
+    }
+
+    private <P> Set<String> ambiguousRuleNames(PathList<P> paths) {
+        var allRuleNames = new TreeSet<String>();
+        Set<String> commonRuleNames = null;
+
+        for (var i = 0; i < paths.size; i++) {
+            var pathRuleNames = new HashSet<String>();
+
+            for (var node = paths.nodes[i]; node != null; node = node.getParent()) {
+                if (node instanceof RuleParseTreeNode<?> ruleNode && ruleNode.getItem().getRuleName() != null) {
+                    pathRuleNames.add(ruleNode.getItem().getRuleName());
+                }
+            }
+
+            allRuleNames.addAll(pathRuleNames);
+
+            if (commonRuleNames == null) {
+                commonRuleNames = pathRuleNames;
+            } else {
+                commonRuleNames.retainAll(pathRuleNames);
+            }
+        }
+
+        if (commonRuleNames != null && commonRuleNames.size() < allRuleNames.size()) {
+            allRuleNames.removeAll(commonRuleNames);
+        }
+
+        return allRuleNames;
+    }
+
+    private <P> void findNextPaths(
+        AbstractParseTreeNode<?, P> parseTreeNode,
+        Frame frame,
+        boolean ambiguous,
+        SymbolToken token,
+        P position,
+        TokenLookAhead lookAhead,
+        State<P> state
+    ) throws IOException {
+        if (frame == null) {
+            return;
+        }
+
+        var nextPaths = state.nextPaths;
+
+        for (var entry : frame.getClosure().getEntries(token, state.records)) {
+            if (!isPredicted(entry, token, lookAhead)) {
+                continue;
+            }
+
+            var nextParseTreeNode = explode(parseTreeNode, frame, entry, position, state);
+
+            if (entry.isTail()) {
+                findNextPaths(nextParseTreeNode, frame.getParent(), ambiguous, token, position, lookAhead, state);
+                continue;
+            }
+
+            var match = entry.getTokenItem().match(token);
+
+            if (nextPaths.size > 0 && nextPaths.getMatch(0) < match) {
+                nextPaths.clear();
+            }
+
+            if (nextPaths.size == 0 || nextPaths.getMatch(0) == match) {
+                var tokenNode = state.tokenNode(
+                    nextParseTreeNode,
+                    frame.getLevel() + entry.getTokenLevel(),
+                    entry.getTokenItem(),
+                    position,
+                    token.getToken(),
+                    match
+                );
+
+                nextPaths.add(tokenNode, continuation(frame, entry), ambiguous);
+            }
+        }
+    }
+
+    private boolean isPredicted(ClosureEntry entry, SymbolToken token, TokenLookAhead lookAhead) throws IOException {
+        for (var decision : entry.getDecisions()) {
+            var predictedOption = decision.getItem().getRule().predict(token, lookAhead);
+
+            if (predictedOption != null && predictedOption != decision.getOption()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private <P> AbstractParseTreeNode<?, P> explode(
+        AbstractParseTreeNode<?, P> parseTreeNode, Frame frame, ClosureEntry entry, P position, State<P> state
+    ) {
+        for (var explosion : entry.getExplosions()) {
+            parseTreeNode = state.ruleNode(
+                parseTreeNode,
+                frame.getLevel() + explosion.getLevel(),
+                explosion.getItem(),
+                position,
+                explosion.getOption().isOutput()
+            );
+        }
+
+        return parseTreeNode;
+    }
+
+    private Frame continuation(Frame frame, ClosureEntry entry) {
+        if (frame.continuationEntry == entry) {
+            return frame.continuation;
+        }
+
+        var continuation = frame.getParent();
+        var entryPositions = entry.getPositions();
+
+        for (var i = 0; i < entryPositions.length; i++) {
+            var entryPosition = entryPositions[i];
+
+            if (
+                i == 0
+                && entryPosition.getOption() == frame.getOption()
+                && entryPosition.getIndex() == frame.getIndex()
+                && entryPosition.getLevel() == 0
+            ) {
+                continuation = frame;
+            } else {
+                continuation = new Frame(
+                    entryPosition.getOption(),
+                    entryPosition.getIndex(),
+                    frame.getLevel() + entryPosition.getLevel(),
+                    continuation
+                );
+            }
+        }
+
+        frame.continuationEntry = entry;
+        frame.continuation = continuation;
+        return continuation;
+    }
+
+    private <P> void findTails(
+        AbstractParseTreeNode<?, P> parseTreeNode,
+        Frame frame,
+        boolean ambiguous,
+        P position,
+        State<P> state
+    ) {
+        if (frame == null) {
+            state.tailPaths.add(parseTreeNode, null, ambiguous);
+        } else {
+            for (var entry : frame.getClosure().getTails()) {
+                findTails(explode(parseTreeNode, frame, entry, position, state), frame.getParent(), ambiguous, position, state);
+            }
+        }
+    }
+
+    @Getter(AccessLevel.PRIVATE)
+    private static final class Frame {
+        private final CompiledOption option;
+        private final int index;
+        private final int level;
+        private final Frame parent;
+
+        @Getter(AccessLevel.NONE)
+        private final int hashCode;
+
+        @Getter(AccessLevel.NONE)
+        private ClosureEntry continuationEntry;
+
+        @Getter(AccessLevel.NONE)
+        private Frame continuation;
+
+        private Frame(CompiledOption option, int index, int level, Frame parent) {
+            this.option = option;
+            this.index = index;
+            this.level = level;
+            this.parent = parent;
+            hashCode = 31 * (31 * Objects.hashCode(parent) + System.identityHashCode(option)) + index;
+        }
+
+        private PositionClosure getClosure() {
+            return option.getClosure(index);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            var frame = this;
+            var otherFrame = other instanceof Frame someFrame ? someFrame : null;
+
+            while (frame != otherFrame) {
+                if (
+                    frame == null
+                    || otherFrame == null
+                    || frame.hashCode != otherFrame.hashCode
+                    || frame.option != otherFrame.option
+                    || frame.index != otherFrame.index
+                ) {
+                    return false;
+                }
+
+                frame = frame.parent;
+                otherFrame = otherFrame.parent;
+            }
+
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class State<P> {
+        private static final int MAX_FREE_NODES = 1024;
+
+        private PathList<P> paths;
+        private PathList<P> nextPaths;
+        private final PathList<P> tailPaths;
+        private final List<TokenParseTreeNode<P>> freeTokenNodes;
+        private final List<RuleParseTreeNode<P>> freeRuleNodes;
+        private int uncommittedTokens;
+        private boolean records;
+
+        private State() {
+            paths = new PathList<>();
+            nextPaths = new PathList<>();
+            tailPaths = new PathList<>();
+            freeTokenNodes = new ArrayList<>();
+            freeRuleNodes = new ArrayList<>();
+        }
+
+        private TokenParseTreeNode<P> tokenNode(
+            AbstractParseTreeNode<?, P> parent,
+            int level,
+            AbstractCompiledTokenItem item,
+            P position,
+            Token token,
+            int match
+        ) {
+            return freeTokenNodes.isEmpty()
+                ? new TokenParseTreeNode<>(parent, level, item, position, token, match)
+                : freeTokenNodes.remove(freeTokenNodes.size() - 1).reuse(parent, level, item, position, token, match);
+        }
+
+        private RuleParseTreeNode<P> ruleNode(
+            AbstractParseTreeNode<?, P> parent, int level, CompiledRuleItem item, P position, boolean outputOption
+        ) {
+            return freeRuleNodes.isEmpty()
+                ? new RuleParseTreeNode<>(parent, level, item, position, outputOption)
+                : freeRuleNodes.remove(freeRuleNodes.size() - 1).reuse(parent, level, item, position, outputOption);
+        }
+
+        // Only the nodes of a committed path are released: no live path can reference them any more.
+        @SuppressWarnings("unchecked")
+        private void release(AbstractParseTreeNode<?, P> node) {
+            while (node != null) {
+                var parent = node.getParent();
+
+                if (node instanceof TokenParseTreeNode<?> tokenNode) {
+                    if (freeTokenNodes.size() < MAX_FREE_NODES) {
+                        freeTokenNodes.add((TokenParseTreeNode<P>) tokenNode);
+                    }
+                } else if (freeRuleNodes.size() < MAX_FREE_NODES) {
+                    freeRuleNodes.add((RuleParseTreeNode<P>) node);
+                }
+
+                node = parent;
+            }
+        }
+    }
+
+    private static final class PathList<P> {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private AbstractParseTreeNode<?, P>[] nodes;
+        private Frame[] frames;
+        private boolean[] ambiguous;
+        private int[] mergeTable;
+        private int size;
+
+        private PathList() {
+            @SuppressWarnings("unchecked")
+            var nodes = (AbstractParseTreeNode<?, P>[]) new AbstractParseTreeNode<?, ?>[INITIAL_CAPACITY];
+            this.nodes = nodes;
+            frames = new Frame[INITIAL_CAPACITY];
+            ambiguous = new boolean[INITIAL_CAPACITY];
+            mergeTable = new int[INITIAL_CAPACITY * 2];
+        }
+
+        private void add(AbstractParseTreeNode<?, P> node, Frame frame, boolean ambiguous) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                frames = Arrays.copyOf(frames, size * 2);
+                this.ambiguous = Arrays.copyOf(this.ambiguous, size * 2);
+            }
+
+            nodes[size] = node;
+            frames[size] = frame;
+            this.ambiguous[size] = ambiguous;
+            size++;
+        }
+
+        private int getMatch(int index) {
+            return ((TokenParseTreeNode<?>) nodes[index]).getMatch();
+        }
+
+        // Open addressing over merged indexes plus one, so that the table is reused between steps.
+        private void merge() {
+            var tableSize = Integer.highestOneBit(size) << 2;
+
+            if (mergeTable.length < tableSize) {
+                mergeTable = new int[tableSize];
+            }
+
+            var mask = tableSize - 1;
+            var mergedSize = 0;
+
+            for (var i = 0; i < size; i++) {
+                var slot = Objects.hashCode(frames[i]) & mask;
+                var mergedIndex = -1;
+
+                while (mergeTable[slot] != 0) {
+                    if (Objects.equals(frames[mergeTable[slot] - 1], frames[i])) {
+                        mergedIndex = mergeTable[slot] - 1;
+                        break;
+                    }
+
+                    slot = (slot + 1) & mask;
+                }
+
+                if (mergedIndex >= 0) {
+                    ambiguous[mergedIndex] = true;
+                } else {
+                    mergeTable[slot] = mergedSize + 1;
+                    nodes[mergedSize] = nodes[i];
+                    frames[mergedSize] = frames[i];
+                    ambiguous[mergedSize] = ambiguous[i];
+                    mergedSize++;
+                }
+            }
+
+            Arrays.fill(mergeTable, 0, tableSize, 0);
+            Arrays.fill(nodes, mergedSize, size, null);
+            Arrays.fill(frames, mergedSize, size, null);
+            size = mergedSize;
+        }
+
+        private void clear() {
+            Arrays.fill(nodes, 0, size, null);
+            Arrays.fill(frames, 0, size, null);
+            size = 0;
+        }
+    }
+}
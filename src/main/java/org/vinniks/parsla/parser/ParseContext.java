@@ -0,0 +1,36 @@
+package org.vinniks.parsla.parser;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+
+@Getter(AccessLevel.PACKAGE)
+final class ParseContext<P> {
+    private final AbstractParserEngine engine;
+    private final TokenBuffer<P> tokens;
+    private final ParserOutput<P> output;
+    private final Object engineState;
+    private final ParserCounters counters;
+    private boolean active;
+
+    ParseContext(SymbolTable symbolTable, AbstractParserEngine engine, ParserCounters counters) {
+        this.engine = engine;
+        this.counters = counters;
+        tokens = new TokenBuffer<>(symbolTable);
+        output = new ParserOutput<>();
+        engineState = engine.createState();
+    }
+
+    void open(TokenIterator<P> tokenIterator, ParserOutputListener<P> outputListener) {
+        tokens.reset(tokenIterator);
+        output.reset(outputListener);
+        active = true;
+    }
+
+    void close() {
+        engine.reset(this);
+        tokens.reset(null);
+        output.reset(null);
+        active = false;
+    }
+}
@@ -0,0 +1,29 @@
+package org.vinniks.parsla.parser;
+
+import lombok.NonNull;
+import lombok.Value;
+
+@Value
+public class ParseEvent<P> {
+    public enum Type {
+        ENTER,
+        EXIT,
+        TAP
+    }
+
+    @NonNull
+    Type type;
+
+    P position;
+    String value;
+
+    public void replay(ParserOutputListener<P> listener) {
+        if (type == Type.ENTER) {
+            listener.enter(position, value);
+        } else if (type == Type.EXIT) {
+            listener.exit();
+        } else {
+            listener.tap(position, value);
+        }
+    }
+}
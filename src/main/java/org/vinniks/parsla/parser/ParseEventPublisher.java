@@ -0,0 +1,195 @@
+package org.vinniks.parsla.parser;
+
+import lombok.NonNull;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class ParseEventPublisher<P> implements Flow.Publisher<ParseEvent<P>> {
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final ParserEntryPoint<P> entryPoint;
+    private final TokenIterator<P> tokenIterator;
+    private final Executor executor;
+    private final int batchSize;
+    private final AtomicBoolean subscribed;
+
+    public ParseEventPublisher(
+        @NonNull ParserEntryPoint<P> entryPoint,
+        @NonNull TokenIterator<P> tokenIterator,
+        @NonNull Executor executor,
+        int batchSize
+    ) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size can not be less than 1");
+        }
+
+        this.entryPoint = entryPoint;
+        this.tokenIterator = tokenIterator;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        subscribed = new AtomicBoolean();
+    }
+
+    public ParseEventPublisher(ParserEntryPoint<P> entryPoint, TokenIterator<P> tokenIterator, Executor executor) {
+        this(entryPoint, tokenIterator, executor, DEFAULT_BATCH_SIZE);
+    }
+
+    public ParseEventPublisher(ParserEntryPoint<P> entryPoint, TokenIterator<P> tokenIterator) {
+        this(entryPoint, tokenIterator, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public void subscribe(@NonNull Flow.Subscriber<? super ParseEvent<P>> subscriber) {
+        if (subscribed.compareAndSet(false, true)) {
+            var subscription = new Subscription(subscriber);
+            subscriber.onSubscribe(subscription);
+        } else {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+
+            subscriber.onError(new IllegalStateException("parse event publisher supports only one subscriber"));
+        }
+    }
+
+    private final class Subscription implements Flow.Subscription, ParserOutputListener<P> {
+        private final Flow.Subscriber<? super ParseEvent<P>> subscriber;
+        private final AtomicLong demand;
+        private final AtomicInteger pendingDrains;
+        private final Deque<ParseEvent<P>> events;
+        private volatile boolean cancelled;
+        private volatile Throwable requestError;
+        private ParseSession<P> session;
+        private boolean finished;
+        private boolean terminated;
+
+        private Subscription(Flow.Subscriber<? super ParseEvent<P>> subscriber) {
+            this.subscriber = subscriber;
+            demand = new AtomicLong();
+            pendingDrains = new AtomicInteger();
+            events = new ArrayDeque<>();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                requestError = new IllegalArgumentException("requested number of events must be positive");
+            } else {
+                demand.getAndAccumulate(n, (current, addition) -> current + addition < 0 ? Long.MAX_VALUE : current + addition);
+            }
+
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            scheduleDrain();
+        }
+
+        @Override
+        public void enter(P position, String value) {
+            events.add(new ParseEvent<>(ParseEvent.Type.ENTER, position, value));
+        }
+
+        @Override
+        public void exit() {
+            events.add(new ParseEvent<>(ParseEvent.Type.EXIT, null, null));
+        }
+
+        @Override
+        public void tap(P position, String value) {
+            events.add(new ParseEvent<>(ParseEvent.Type.TAP, position, value));
+        }
+
+        private void scheduleDrain() {
+            if (pendingDrains.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            var missedDrains = 1;
+
+            do {
+                if (!terminated) {
+                    deliver();
+                }
+
+                missedDrains = pendingDrains.addAndGet(-missedDrains);
+            } while (missedDrains != 0);
+        }
+
+        private void deliver() {
+            while (true) {
+                if (cancelled) {
+                    terminate();
+                    return;
+                } else if (requestError != null) {
+                    terminate();
+                    subscriber.onError(requestError);
+                    return;
+                } else if (events.isEmpty() && finished) {
+                    terminate();
+                    subscriber.onComplete();
+                    return;
+                } else if (demand.get() == 0) {
+                    return;
+                } else if (events.isEmpty()) {
+                    try {
+                        produce();
+                    } catch (Throwable e) {
+                        terminate();
+                        subscriber.onError(e);
+                        return;
+                    }
+                } else {
+                    demand.decrementAndGet();
+                    subscriber.onNext(events.remove());
+                }
+            }
+        }
+
+        // Tokens are fed one at a time, so the buffer exceeds the batch size only by the events of one step, which
+        // can not be split: a step commits the whole uncommitted stretch, as bounded by the parser limits.
+        private void produce() throws Exception {
+            if (session == null) {
+                session = entryPoint.session(this);
+            }
+
+            while (events.size() < batchSize && tokenIterator.hasNext()) {
+                session.feed(tokenIterator.next(), tokenIterator.position());
+            }
+
+            if (!tokenIterator.hasNext()) {
+                session.finish();
+                finished = true;
+            }
+        }
+
+        private void terminate() {
+            terminated = true;
+            events.clear();
+
+            if (session != null) {
+                session.close();
+            }
+
+            tokenIterator.close();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.vinniks.parsla.parser;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.vinniks.parsla.tokenizer.Token;
+
+public final class ParseSession<P> implements AutoCloseable {
+    private final ParseContext<P> context;
+
+    ParseSession(
+        ParseContext<P> context,
+        CompiledOption rootOption,
+        CompiledOption ignoredTokenOption,
+        ParserOutputListener<P> outputListener
+    ) {
+        this.context = context;
+        context.open(null, outputListener);
+        context.getEngine().start(rootOption, ignoredTokenOption, context);
+    }
+
+    public void feed(@NonNull Token token, P position) {
+        ensureOpen();
+        context.getTokens().feed(token, position);
+        advance();
+    }
+
+    public void finish() {
+        ensureOpen();
+        context.getTokens().finish();
+        advance();
+
+        try {
+            context.getEngine().end(context);
+            context.getOutput().end();
+        } finally {
+            close();
+        }
+    }
+
+    public boolean isOpen() {
+        return context.isActive();
+    }
+
+    @Override
+    public void close() {
+        if (context.isActive()) {
+            context.close();
+        }
+    }
+
+    @SneakyThrows
+    private void advance() {
+        var tokens = context.getTokens();
+
+        try {
+            while (tokens.hasNext()) {
+                try {
+                    context.getEngine().next(context);
+                } catch (TokenBuffer.UnderflowException e) {
+                    tokens.rewind();
+                    break;
+                }
+            }
+
+            tokens.compact();
+        } catch (Throwable e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void ensureOpen() {
+        if (!context.isActive()) {
+            throw new IllegalStateException("parse session is closed");
+        }
+    }
+}
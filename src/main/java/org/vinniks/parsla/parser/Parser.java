@@ -3,26 +3,24 @@ package org.vinniks.parsla.parser;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import org.vinniks.parsla.exception.GrammarException;
-import org.vinniks.parsla.exception.ParsingException;
 import org.vinniks.parsla.grammar.Grammar;
 import org.vinniks.parsla.grammar.RuleItem;
 import org.vinniks.parsla.grammar.TokenItem;
-import org.vinniks.parsla.tokenizer.Token;
 import org.vinniks.parsla.tokenizer.TokenIterator;
+import org.vinniks.parsla.tokenizer.text.dfa.DfaTextTokenizer;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.List;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Collections.emptySet;
 
@@ -34,19 +32,65 @@ public class Parser<P> {
     @Getter
     private final Set<String> ignoredTokenTypes;
 
-    private Map<String, Collection<CompiledOption>> compiledRules;
-    private CompiledRuleItem ignoredTokenRuleItem;
+    @Getter
+    private final ParserEngine engine;
+
+    @Getter
+    private final ParserCounters counters;
+
+    private final Map<String, ParserEntryPoint<P>> entryPoints;
+    private final Map<String, ParserEntryPoint<P>> recordEntryPoints;
+
+    @Getter(AccessLevel.PACKAGE)
+    private final SymbolTable symbolTable;
+
+    private final BitSet ignoredTokenTypeIds;
+    private final CompiledRule[] compiledRules;
+    private final CompiledIgnoredTokenItem ignoredTokenItem;
+    private final CompiledRuleItem ignoredTokenRuleItem;
+    private final CompiledOption ignoredTokenOption;
 
-    protected Parser(@NonNull Grammar grammar, @NonNull Set<String> ignoredTokenTypes) {
+    // Idle contexts for reuse; a parse that finds none creates one and drops it if the pool is full.
+    @Getter(AccessLevel.PACKAGE)
+    private final BlockingQueue<ParseContext<P>> parseContexts;
+
+    protected Parser(@NonNull Grammar grammar, @NonNull Set<String> ignoredTokenTypes, @NonNull ParserEngine engine) {
         if (ignoredTokenTypes.stream().anyMatch(Objects::isNull)) {
             throw new NullPointerException("Ignored token types must not contain nulls");
         }
 
         this.grammar = grammar;
         this.ignoredTokenTypes = Set.copyOf(ignoredTokenTypes);
+        this.engine = engine;
+        counters = new ParserCounters();
+        entryPoints = new ConcurrentHashMap<>();
+        recordEntryPoints = new ConcurrentHashMap<>();
+        symbolTable = new SymbolTable();
+        ignoredTokenTypeIds = new BitSet();
+        internSymbols();
+
+        if (ignoredTokenTypes.isEmpty()) {
+            ignoredTokenItem = null;
+            ignoredTokenRuleItem = null;
+        } else {
+            ignoredTokenItem = new CompiledIgnoredTokenItem(ignoredTokenTypeIds, symbolTable.terminalIds(ignoredTokenTypeIds));
+            ignoredTokenRuleItem = createIgnoredTokenRuleItem();
+        }
+
+        compiledRules = new CompiledRule[symbolTable.getRuleCount()];
         compileRules();
-        createIgnoredTokenRuleItem();
-        LeftRecursionDetector.detect(compiledRules);
+        LeftRecursionDetector.detect(Arrays.asList(compiledRules));
+        analyzeRules();
+        ignoredTokenOption = ignoredTokenRuleItem != null ? createStartOption(ignoredTokenRuleItem) : null;
+        parseContexts = new ArrayBlockingQueue<>(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    protected Parser(Grammar grammar, Set<String> ignoredTokenTypes) {
+        this(grammar, ignoredTokenTypes, ParserEngine.lookAhead());
+    }
+
+    public Parser(Grammar grammar, ParserEngine engine) {
+        this(grammar, emptySet(), engine);
     }
 
     public Parser(Grammar grammar) {
@@ -58,221 +102,315 @@ public class Parser<P> {
         @NonNull String rootRuleName,
         @NonNull ParserOutputListener<P> outputListener
     ) throws IOException {
-        var rootItem = new CompiledRuleItem(rootRuleName, true, getOptions(rootRuleName));
-        var paths = new ArrayList<Path<?>>();
-        var ignoredTokenRuleNode = ignoredTokenRuleItem != null ? new RuleLookAheadTreeNode(null, ignoredTokenRuleItem, 2) : null;
-        paths.add(new Path<>(null, new RuleLookAheadTreeNode(ignoredTokenRuleNode, rootItem,1)));
-        var nextPaths = new ArrayList<Path<TokenParseTreeNode<P>>>();
-        var output = new ParserOutput<>(outputListener);
-
-        while (tokenIterator.hasNext()) {
-            var token = tokenIterator.next();
-            nextPaths.clear();
-            paths.forEach(path -> findNextPaths(path, token, tokenIterator.position(), nextPaths));
-            paths.clear();
-
-            if (nextPaths.isEmpty()) {
-                throw new ParsingException(String.format("unexpected %s", token), tokenIterator.position());
-            } else if (nextPaths.size() == 1) {
-                var nextPath = nextPaths.get(0);
-                output.next(nextPath.getParseTreeNode());
-
-                if (nextPath.getLookAheadTreeNode() != null) {
-                    paths.add(new Path<>(null, nextPath.getLookAheadTreeNode()));
-                }
-            } else {
-                paths.addAll(nextPaths);
+        entryPoint(rootRuleName).parse(tokenIterator, outputListener);
+    }
+
+    public final ParseSession<P> session(@NonNull String rootRuleName, @NonNull ParserOutputListener<P> outputListener) {
+        return entryPoint(rootRuleName).session(outputListener);
+    }
+
+    public final ParserEntryPoint<P> entryPoint(@NonNull String rootRuleName) {
+        var entryPoint = entryPoints.get(rootRuleName);
+
+        if (entryPoint == null) {
+            var rootOption = createStartOption(new CompiledRuleItem(getRule(rootRuleName), true));
+            entryPoint = new ParserEntryPoint<>(this, rootRuleName, rootOption);
+            var existingEntryPoint = entryPoints.putIfAbsent(rootRuleName, entryPoint);
+
+            if (existingEntryPoint != null) {
+                entryPoint = existingEntryPoint;
             }
         }
 
-        if (!paths.isEmpty()) {
-            var tailPaths = new ArrayList<Path<?>>();
-            paths.forEach(path -> findTails(path, tailPaths, tokenIterator.position()));
+        return entryPoint;
+    }
 
-            if (tailPaths.isEmpty()) {
-                throw new ParsingException("unexpected end of the input", tokenIterator.position());
-            } else if (tailPaths.size() > 1) {
-                throw new ParsingException("Ambiguous parsing path detected", tokenIterator.position());
-            } else {
-                output.next(tailPaths.get(0).getParseTreeNode());
+    public final ParserEntryPoint<P> recordEntryPoint(@NonNull String recordRuleName) {
+        var entryPoint = recordEntryPoints.get(recordRuleName);
+
+        if (entryPoint == null) {
+            var rootOption = createStartOption(createRecordRepeatItem(getRule(recordRuleName)));
+            rootOption.setRecords(true);
+            entryPoint = new ParserEntryPoint<>(this, recordRuleName, rootOption);
+            var existingEntryPoint = recordEntryPoints.putIfAbsent(recordRuleName, entryPoint);
+
+            if (existingEntryPoint != null) {
+                entryPoint = existingEntryPoint;
             }
         }
 
-        output.end();
+        return entryPoint;
     }
 
-    private void compileRules() {
-        compiledRules = new LinkedHashMap<>();
+    void parse(
+        CompiledOption rootOption,
+        TokenIterator<P> tokenIterator,
+        ParserOutputListener<P> outputListener
+    ) throws IOException {
+        var context = parseContexts.poll();
 
-        grammar.getOptions().forEach(option -> {
-            if (!compiledRules.containsKey(option.getRuleName())) {
-                compiledRules.put(option.getRuleName(), new ArrayList<>());
-            }
-        });
+        if (context == null) {
+            context = createParseContext();
+        }
+
+        context.open(tokenIterator, outputListener);
+
+        try {
+            ((AbstractParserEngine) engine).parse(rootOption, ignoredTokenOption, context);
+            context.getOutput().end();
+        } finally {
+            context.close();
+            parseContexts.offer(context);
+        }
+    }
+
+    ParseSession<P> session(CompiledOption rootOption, ParserOutputListener<P> outputListener) {
+        return new ParseSession<>(createParseContext(), rootOption, ignoredTokenOption, outputListener);
+    }
+
+    private ParseContext<P> createParseContext() {
+        return new ParseContext<>(symbolTable, (AbstractParserEngine) engine, counters);
+    }
+
+    private void internSymbols() {
+        grammar.getTokenDefinitions().forEach(tokenDefinition -> symbolTable.internTokenType(tokenDefinition.getType()));
 
         grammar.getOptions().forEach(option -> {
-            var compiledItems = StreamSupport
-                .stream(option.getItems().spliterator(), false)
-                .map(item -> {
-                    if (item instanceof TokenItem tokenItem) {
-                        return new CompiledRegularTokenItem(
-                            tokenItem.getElevation(),
-                            tokenItem.getTokenType(),
-                            tokenItem.isOutputType(),
-                            tokenItem.getTokenValue(),
-                            tokenItem.isOutputValue()
-                        );
-                    } else {
-                        var ruleItem = (RuleItem) item;
-
-                        return new CompiledRuleItem(
-                            ruleItem.getRuleName(),
-                            ruleItem.isOutput(),
-                            getOptions(ruleItem.getRuleName())
-                        );
-                    }
-                })
-                .toArray(CompiledItem[]::new);
+            symbolTable.internRule(option.getRuleName());
 
-            compiledRules
-                .get(option.getRuleName())
-                .add(new CompiledOption(option.isOutput(), compiledItems));
+            option.getItems().forEach(item -> {
+                if (item instanceof TokenItem tokenItem && tokenItem.getTokenType() != null) {
+                    symbolTable.internTerminal(tokenItem.getTokenType(), tokenItem.getTokenValue());
+                }
+            });
         });
-    }
 
-    private void createIgnoredTokenRuleItem() {
-        if (!ignoredTokenTypes.isEmpty()) {
-            var ignoredTokenOptions = new ArrayList<CompiledOption>();
-            ignoredTokenRuleItem = new CompiledRuleItem(null, false, ignoredTokenOptions);
-            ignoredTokenOptions.add(new CompiledOption(false, new CompiledItem[0]));
+        ignoredTokenTypes.forEach(tokenType -> ignoredTokenTypeIds.set(symbolTable.internTokenType(tokenType)));
 
-            ignoredTokenOptions.add(new CompiledOption(
-                false, new CompiledItem[]{new CompiledIgnoredTokenItem(), ignoredTokenRuleItem}
-            ));
+        if (grammar.getTokenizer().orElse(null) instanceof DfaTextTokenizer tokenizer) {
+            symbolTable.bindTokenizer(tokenizer);
         }
     }
 
-    private Collection<CompiledOption> getOptions(String ruleName) {
-        return Optional
-            .ofNullable(compiledRules.get(ruleName))
-            .orElseThrow(() -> new GrammarException(String.format("Unknown grammar rule \"%s\"", ruleName)));
+    private void compileRules() {
+        for (var ruleId = 0; ruleId < compiledRules.length; ruleId++) {
+            compiledRules[ruleId] = new CompiledRule(ruleId, symbolTable.ruleName(ruleId));
+        }
+
+        var notIgnoredTerminalIds = new BitSet();
+        notIgnoredTerminalIds.set(0, symbolTable.getTerminalCount());
+        notIgnoredTerminalIds.andNot(symbolTable.terminalIds(ignoredTokenTypeIds));
+
+        grammar.getOptions().forEach(option -> {
+            var compiledItems = new ArrayList<CompiledItem>();
+
+            option.getItems().forEach(item -> {
+                if (item instanceof TokenItem tokenItem) {
+                    if (ignoredTokenRuleItem != null) {
+                        compiledItems.add(ignoredTokenRuleItem);
+                    }
+
+                    compiledItems.add(compileTokenItem(tokenItem, notIgnoredTerminalIds));
+                } else {
+                    var ruleItem = (RuleItem) item;
+                    compiledItems.add(new CompiledRuleItem(getRule(ruleItem.getRuleName()), ruleItem.isOutput()));
+                }
+            });
+
+            compiledRules[symbolTable.ruleId(option.getRuleName())]
+                .getOptions()
+                .add(new CompiledOption(option.isOutput(), compiledItems.toArray(CompiledItem[]::new)));
+        });
+
+        compileRepeatItems();
     }
 
-    private void findNextPaths(Path<?> path, Token token, P position, List<Path<TokenParseTreeNode<P>>> nextPaths) {
-        if (path.getLookAheadTreeNode() != null) {
-            if (path.getLookAheadTreeNode() instanceof Parser<?>.RuleLookAheadTreeNode) {
-                @SuppressWarnings("unchecked")
-                var ruleNode = (RuleLookAheadTreeNode) path.getLookAheadTreeNode();
+    private void compileRepeatItems() {
+        var repeatItems = new HashMap<CompiledRule, CompiledRepeatItem>();
 
-                ruleNode
-                    .explode(path.getParseTreeNode(), position)
-                    .forEach(explodedPath -> findNextPaths(explodedPath, token, position, nextPaths));
-            } else if (path.getLookAheadTreeNode() instanceof Parser<?>.TokenLookAheadTreeNode) {
-                @SuppressWarnings("unchecked")
-                var tokenNode = (TokenLookAheadTreeNode) path.getLookAheadTreeNode();
+        for (var rule : compiledRules) {
+            var repeatItem = compileRepeatItem(rule);
 
-                var match = tokenNode.getItem().match(token, ignoredTokenTypes);
+            if (repeatItem != null) {
+                repeatItems.put(rule, repeatItem);
+            }
+        }
 
-                if (match > 0) {
-                    var nextPath = tokenNode.save(path.getParseTreeNode(), token, position, match);
+        for (var rule : compiledRules) {
+            var repeatItem = compilePlusItem(rule, repeatItems);
 
-                    if (!nextPaths.isEmpty() && nextPaths.get(0).getParseTreeNode().getMatch() < match) {
-                        nextPaths.clear();
-                    }
+            if (repeatItem != null) {
+                repeatItems.put(rule, repeatItem);
+            }
+        }
 
-                    if (nextPaths.isEmpty() || nextPaths.get(0).getParseTreeNode().getMatch() == match) {
-                        nextPaths.add(nextPath);
-                    }
+        var options = new ArrayList<CompiledOption>();
+        Arrays.stream(compiledRules).forEach(rule -> options.addAll(rule.getOptions()));
+        repeatItems.values().forEach(repeatItem -> options.add(repeatItem.getBody()));
+
+        for (var option : options) {
+            for (var index = 0; index < option.size(); index++) {
+                if (
+                    option.getItem(index) instanceof CompiledRuleItem ruleItem
+                    && !ruleItem.isOutput()
+                    && repeatItems.containsKey(ruleItem.getRule())
+                ) {
+                    option.setItem(index, repeatItems.get(ruleItem.getRule()));
                 }
             }
         }
     }
 
-    private void findTails(Path<? extends AbstractParseTreeNode<?, P>> path, Collection<Path<?>> tailPaths, P position) {
-        if (path.getLookAheadTreeNode() == null) {
-            tailPaths.add(path);
-        } else if (path.getLookAheadTreeNode() instanceof Parser<?>.RuleLookAheadTreeNode) {
-            @SuppressWarnings("unchecked")
-            var ruleNode = (RuleLookAheadTreeNode) path.getLookAheadTreeNode();
+    private CompiledRepeatItem compileRepeatItem(CompiledRule rule) {
+        if (rule.getOptions().size() != 2 || rule.getOptions().stream().anyMatch(CompiledOption::isOutput)) {
+            return null;
+        }
+
+        var skipOption = rule.getOptions().get(0);
+        var enterOption = rule.getOptions().get(1);
+
+        if (skipOption.size() != 0 || enterOption.size() == 0) {
+            return null;
+        } else if (isSelfReference(rule, enterOption.getItem(enterOption.size() - 1))) {
+            return enterOption.size() > 1
+                ? new CompiledRepeatItem(rule, body(enterOption), skipOption, enterOption, true)
+                : null;
+        } else {
+            return new CompiledRepeatItem(rule, enterOption, skipOption, enterOption, false);
+        }
+    }
+
+    private CompiledRepeatItem compilePlusItem(CompiledRule rule, Map<CompiledRule, CompiledRepeatItem> repeatItems) {
+        if (rule.getOptions().size() != 1 || rule.getOptions().get(0).isOutput()) {
+            return null;
+        }
 
-            ruleNode
-                .explode(path.getParseTreeNode(), position)
-                .forEach(explodedPath -> findTails(explodedPath, tailPaths, position));
+        var enterOption = rule.getOptions().get(0);
+
+        if (
+            enterOption.size() < 2
+            || !(enterOption.getItem(enterOption.size() - 1) instanceof CompiledRuleItem tailRuleItem)
+            || tailRuleItem.isOutput()
+            || !tailRuleItem.getRule().getName().equals(rule.getName() + "_")
+        ) {
+            return null;
         }
+
+        var tailItem = repeatItems.get(tailRuleItem.getRule());
+
+        return tailItem != null && tailItem.isOptional() && tailItem.isMany()
+            ? new CompiledRepeatItem(rule, body(enterOption), enterOption, tailItem)
+            : null;
     }
 
-    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-    @Getter(AccessLevel.PROTECTED)
-    sealed abstract class AbstractLookAheadTreeNode<T extends CompiledItem> permits RuleLookAheadTreeNode, TokenLookAheadTreeNode {
-        private final AbstractLookAheadTreeNode<?> parent;
-        private final T item;
-        private final int level;
+    private boolean isSelfReference(CompiledRule rule, CompiledItem item) {
+        return item instanceof CompiledRuleItem ruleItem && !ruleItem.isOutput() && ruleItem.getRule() == rule;
     }
 
-    final class TokenLookAheadTreeNode extends AbstractLookAheadTreeNode<AbstractCompiledTokenItem> {
-        private TokenLookAheadTreeNode(AbstractLookAheadTreeNode<?> parent, AbstractCompiledTokenItem item, int level) {
-            super(parent, item, level);
+    private CompiledOption body(CompiledOption option) {
+        var items = new CompiledItem[option.size() - 1];
+
+        for (var index = 0; index < items.length; index++) {
+            items[index] = option.getItem(index);
         }
 
-        private Path<TokenParseTreeNode<P>> save(
-            AbstractParseTreeNode<?, P> parentParseTreeNode, Token token, P position, int match
-        ) {
-            return new Path<>(
-                new TokenParseTreeNode<>(parentParseTreeNode, getLevel(), getItem(), position, token, match),
-                getParent()
-            );
+        return new CompiledOption(false, items);
+    }
+
+    private CompiledRegularTokenItem compileTokenItem(TokenItem tokenItem, BitSet notIgnoredTerminalIds) {
+        var tokenTypeId = SymbolTable.UNKNOWN_TOKEN_TYPE_ID;
+        var terminalId = SymbolTable.UNKNOWN_TERMINAL_ID;
+        BitSet terminalIds;
+
+        if (tokenItem.getTokenType() == null) {
+            terminalIds = notIgnoredTerminalIds;
+        } else {
+            tokenTypeId = symbolTable.tokenTypeId(tokenItem.getTokenType());
+            terminalId = symbolTable.internTerminal(tokenItem.getTokenType(), tokenItem.getTokenValue());
+
+            if (tokenItem.getTokenValue() == null) {
+                terminalIds = symbolTable.terminalIds(tokenTypeId);
+            } else {
+                terminalIds = new BitSet();
+                terminalIds.set(terminalId);
+            }
         }
+
+        return new CompiledRegularTokenItem(
+            tokenItem.getElevation(),
+            tokenItem.getTokenType(),
+            tokenTypeId,
+            tokenItem.isOutputType(),
+            tokenItem.getTokenValue(),
+            terminalId,
+            tokenItem.isOutputValue(),
+            ignoredTokenTypeIds,
+            terminalIds
+        );
     }
 
-    final class RuleLookAheadTreeNode extends AbstractLookAheadTreeNode<CompiledRuleItem> {
-        private RuleLookAheadTreeNode(AbstractLookAheadTreeNode<?> parent, CompiledRuleItem item, int level) {
-            super(parent, item, level);
+    private CompiledRuleItem createIgnoredTokenRuleItem() {
+        var ignoredTokenRule = new CompiledRule(symbolTable.getRuleCount(), null);
+        var ruleItem = new CompiledRuleItem(ignoredTokenRule, false);
+        ignoredTokenRule.getOptions().add(new CompiledOption(false, new CompiledItem[0]));
+
+        ignoredTokenRule.getOptions().add(new CompiledOption(
+            false, new CompiledItem[]{ignoredTokenItem, ruleItem}
+        ));
+
+        return ruleItem;
+    }
+
+    private void analyzeRules() {
+        var rules = new ArrayList<>(Arrays.asList(compiledRules));
+        var rootFollowSet = new TerminalSet();
+
+        if (ignoredTokenRuleItem != null) {
+            rules.add(ignoredTokenRuleItem.getRule());
+            rootFollowSet.add(ignoredTokenItem);
         }
 
-        private Stream<Path<?>> explode(AbstractParseTreeNode<?, P> parentParseTreeNode, P position) {
-            return getItem()
-                .getOptions()
-                .stream()
-                .map(option -> {
-                    var explodedNode = getParent();
-
-                    for (var item : option.getItems(true)) {
-                        if (item instanceof AbstractCompiledTokenItem tokenItem) {
-                            explodedNode = new TokenLookAheadTreeNode(
-                                explodedNode, tokenItem, getLevel() + 1
-                            );
-                        } else {
-                            var ruleItem = (CompiledRuleItem) item;
-
-                            explodedNode = new RuleLookAheadTreeNode(
-                                explodedNode, ruleItem, getLevel() + 1
-                            );
-                        }
-
-                        if (item instanceof CompiledRegularTokenItem && ignoredTokenRuleItem != null) {
-                            explodedNode = new RuleLookAheadTreeNode(explodedNode, ignoredTokenRuleItem, getLevel() + 1);
-                        }
-                    }
+        GrammarAnalyzer.analyze(rules, rootFollowSet, symbolTable.getTerminalCount());
+    }
 
-                    return new Path<>(
-                        new RuleParseTreeNode<>(
-                            parentParseTreeNode,
-                            getLevel(),
-                            getItem(),
-                            position,
-                            option.isOutput()
-                        ),
-                        explodedNode
-                    );
-                });
+    private CompiledRepeatItem createRecordRepeatItem(CompiledRule recordRule) {
+        if (recordRule.isNullable()) {
+            throw new GrammarException(String.format("Record rule \"%s\" must not match empty input", recordRule.getName()));
         }
+
+        var recordsRule = new CompiledRule(SymbolTable.UNKNOWN_RULE_ID, null);
+        var skipOption = new CompiledOption(false, new CompiledItem[0]);
+        var enterOption = new CompiledOption(false, new CompiledItem[]{
+            new CompiledRuleItem(recordRule, true),
+            new CompiledRuleItem(recordsRule, false)
+        });
+
+        var body = body(enterOption);
+        skipOption.setNullable(true);
+        enterOption.getFirstSet().addAll(recordRule.getFirstSet());
+        body.getFirstSet().addAll(recordRule.getFirstSet());
+        recordsRule.getOptions().add(skipOption);
+        recordsRule.getOptions().add(enterOption);
+        recordsRule.setNullable(true);
+        recordsRule.getFirstSet().addAll(recordRule.getFirstSet());
+        body.createClosures(symbolTable.getTerminalCount());
+
+        return new CompiledRepeatItem(recordsRule, body, skipOption, enterOption, true);
     }
 
-    @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
-    @Getter(AccessLevel.PACKAGE)
-    private class Path<T extends AbstractParseTreeNode<?, P>> {
-        private final T parseTreeNode;
-        private final AbstractLookAheadTreeNode<?> lookAheadTreeNode;
+    private CompiledOption createStartOption(CompiledRuleItem item) {
+        var option = new CompiledOption(false, new CompiledItem[]{item});
+        option.createClosures(symbolTable.getTerminalCount());
+        return option;
     }
-}
 
+    CompiledRule getRule(String ruleName) {
+        var ruleId = symbolTable.ruleId(ruleName);
+
+        if (ruleId == SymbolTable.UNKNOWN_RULE_ID) {
+            throw new GrammarException(String.format("Unknown grammar rule \"%s\"", ruleName));
+        }
+
+        return compiledRules[ruleId];
+    }
+}
@@ -0,0 +1,64 @@
+package org.vinniks.parsla.parser;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ParserCounters {
+    private final LongAccumulator peakLivePaths;
+    private final LongAccumulator peakUncommittedTokens;
+    private final LongAccumulator peakChainLength;
+    private final LongAdder livePathLimitHits;
+    private final LongAdder uncommittedTokenLimitHits;
+    private final LongAdder chainLengthLimitHits;
+
+    ParserCounters() {
+        peakLivePaths = new LongAccumulator(Math::max, 0);
+        peakUncommittedTokens = new LongAccumulator(Math::max, 0);
+        peakChainLength = new LongAccumulator(Math::max, 0);
+        livePathLimitHits = new LongAdder();
+        uncommittedTokenLimitHits = new LongAdder();
+        chainLengthLimitHits = new LongAdder();
+    }
+
+    public long getPeakLivePaths() {
+        return peakLivePaths.get();
+    }
+
+    public long getPeakUncommittedTokens() {
+        return peakUncommittedTokens.get();
+    }
+
+    public long getPeakChainLength() {
+        return peakChainLength.get();
+    }
+
+    public long getLivePathLimitHits() {
+        return livePathLimitHits.sum();
+    }
+
+    public long getUncommittedTokenLimitHits() {
+        return uncommittedTokenLimitHits.sum();
+    }
+
+    public long getChainLengthLimitHits() {
+        return chainLengthLimitHits.sum();
+    }
+
+    void recordPeaks(int livePaths, int uncommittedTokens, int chainLength) {
+        peakLivePaths.accumulate(livePaths);
+        peakUncommittedTokens.accumulate(uncommittedTokens);
+        peakChainLength.accumulate(chainLength);
+    }
+
+    void recordLivePathLimitHit() {
+        livePathLimitHits.increment();
+    }
+
+    void recordUncommittedTokenLimitHit() {
+        uncommittedTokenLimitHits.increment();
+    }
+
+    void recordChainLengthLimitHit() {
+        chainLengthLimitHits.increment();
+    }
+}
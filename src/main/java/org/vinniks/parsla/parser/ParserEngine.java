@@ -0,0 +1,17 @@
+package org.vinniks.parsla.parser;
+
+import lombok.NonNull;
+
+public sealed interface ParserEngine permits AbstractParserEngine {
+    static ParserEngine lookAhead() {
+        return LookAheadParserEngine.INSTANCE;
+    }
+
+    static ParserEngine lookAhead(@NonNull ParserLimits limits) {
+        return limits.equals(ParserLimits.unlimited()) ? LookAheadParserEngine.INSTANCE : new LookAheadParserEngine(limits);
+    }
+
+    static ParserEngine earley() {
+        return EarleyParserEngine.INSTANCE;
+    }
+}
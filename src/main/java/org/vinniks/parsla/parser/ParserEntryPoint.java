@@ -0,0 +1,30 @@
+package org.vinniks.parsla.parser;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class ParserEntryPoint<P> {
+    private final Parser<P> parser;
+
+    @Getter
+    private final String rootRuleName;
+
+    private final CompiledOption rootOption;
+
+    public void parse(
+        @NonNull TokenIterator<P> tokenIterator,
+        @NonNull ParserOutputListener<P> outputListener
+    ) throws IOException {
+        parser.parse(rootOption, tokenIterator, outputListener);
+    }
+
+    public ParseSession<P> session(@NonNull ParserOutputListener<P> outputListener) {
+        return parser.session(rootOption, outputListener);
+    }
+}
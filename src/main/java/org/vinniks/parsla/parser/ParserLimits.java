@@ -0,0 +1,36 @@
+package org.vinniks.parsla.parser;
+
+import lombok.Value;
+import lombok.With;
+
+@Value
+@With
+public class ParserLimits {
+    private static final ParserLimits UNLIMITED = new ParserLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    int maxLivePaths;
+    int maxUncommittedTokens;
+    int maxChainLength;
+
+    public ParserLimits(int maxLivePaths, int maxUncommittedTokens, int maxChainLength) {
+        if (maxLivePaths < 1) {
+            throw new IllegalArgumentException("max live paths can not be less than 1");
+        }
+
+        if (maxUncommittedTokens < 1) {
+            throw new IllegalArgumentException("max uncommitted tokens can not be less than 1");
+        }
+
+        if (maxChainLength < 1) {
+            throw new IllegalArgumentException("max chain length can not be less than 1");
+        }
+
+        this.maxLivePaths = maxLivePaths;
+        this.maxUncommittedTokens = maxUncommittedTokens;
+        this.maxChainLength = maxChainLength;
+    }
+
+    public static ParserLimits unlimited() {
+        return UNLIMITED;
+    }
+}
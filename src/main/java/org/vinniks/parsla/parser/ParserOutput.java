@@ -1,23 +1,40 @@
 package org.vinniks.parsla.parser;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 class ParserOutput<P> {
-    private final ParserOutputListener<P> listener;
-    private final Deque<Integer> levelStack;
+    private final List<AbstractParseTreeNode<?, P>> parseTreeNodes;
+    private ParserOutputListener<P> listener;
+    private int[] levelStack;
+    private int levelStackSize;
 
-    ParserOutput(ParserOutputListener<P> listener) {
+    ParserOutput() {
+        parseTreeNodes = new ArrayList<>();
+        levelStack = new int[16];
+        levelStackSize = 1;
+    }
+
+    void reset(ParserOutputListener<P> listener) {
         this.listener = listener;
-        levelStack = new ArrayDeque<>();
-        levelStack.push(0);
+        parseTreeNodes.clear();
+        levelStackSize = 1;
     }
 
     void next(AbstractParseTreeNode<?, P> parseTreeNode) {
-        if (parseTreeNode.getParent() != null) {
-            next(parseTreeNode.getParent());
+        for (var node = parseTreeNode; node != null; node = node.getParent()) {
+            parseTreeNodes.add(node);
+        }
+
+        for (var i = parseTreeNodes.size() - 1; i >= 0; i--) {
+            output(parseTreeNodes.get(i));
         }
 
+        parseTreeNodes.clear();
+    }
+
+    private void output(AbstractParseTreeNode<?, P> parseTreeNode) {
         ensureSiblingLevel(parseTreeNode.getLevel());
 
         if (parseTreeNode instanceof TokenParseTreeNode<?> genericTokenNode) {
@@ -42,7 +59,7 @@ class ParserOutput<P> {
             var ruleNode = (RuleParseTreeNode<P>) genericRuleNode;
 
             listener.enter(ruleNode.getPosition(), ruleNode.getItem().getRuleName());
-            levelStack.push(parseTreeNode.getLevel());
+            pushLevel(parseTreeNode.getLevel());
         }
     }
 
@@ -50,14 +67,18 @@ class ParserOutput<P> {
         ensureSiblingLevel(2);
     }
 
-    @SuppressWarnings("ConstantConditions")
-    private void ensureSiblingLevel(int level) {
-        var topLevel = levelStack.peek();
+    private void pushLevel(int level) {
+        if (levelStackSize == levelStack.length) {
+            levelStack = Arrays.copyOf(levelStack, levelStackSize * 2);
+        }
 
-        while (level <= topLevel) {
-            levelStack.pop();
+        levelStack[levelStackSize++] = level;
+    }
+
+    private void ensureSiblingLevel(int level) {
+        while (level <= levelStack[levelStackSize - 1]) {
+            levelStackSize--;
             listener.exit();
-            topLevel = levelStack.peek();
         }
     }
 }
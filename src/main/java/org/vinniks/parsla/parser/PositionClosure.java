@@ -0,0 +1,218 @@
+package org.vinniks.parsla.parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+final class PositionClosure {
+    private static final int NO_TERMINAL_ID = -1;
+
+    private final CompiledOption option;
+    private final int index;
+    private final AtomicReferenceArray<ClosureEntry[]> entries;
+    private volatile AtomicReferenceArray<ClosureEntry[]> recordEntries;
+    private volatile ClosureEntry[] tails;
+
+    PositionClosure(CompiledOption option, int index, int terminalCount) {
+        this.option = option;
+        this.index = index;
+        entries = new AtomicReferenceArray<>(terminalCount);
+    }
+
+    // Prediction tables are built from the follow sets of the grammar, which do not account for a record being followed
+    // by the next one, so record parses walk all options that can start with the token.
+    ClosureEntry[] getEntries(SymbolToken token, boolean records) {
+        var entries = records ? recordEntries() : this.entries;
+        var terminalEntries = entries.get(token.getTerminalId());
+
+        if (terminalEntries == null) {
+            terminalEntries = new Collector(token.getTerminalId(), !records).collect();
+            entries.compareAndSet(token.getTerminalId(), null, terminalEntries);
+        }
+
+        return terminalEntries;
+    }
+
+    private AtomicReferenceArray<ClosureEntry[]> recordEntries() {
+        var recordEntries = this.recordEntries;
+
+        if (recordEntries == null) {
+            recordEntries = new AtomicReferenceArray<>(entries.length());
+            this.recordEntries = recordEntries;
+        }
+
+        return recordEntries;
+    }
+
+    ClosureEntry[] getTails() {
+        var tails = this.tails;
+
+        if (tails == null) {
+            tails = new Collector(NO_TERMINAL_ID, false).collect();
+            this.tails = tails;
+        }
+
+        return tails;
+    }
+
+    private final class Collector {
+        private final int terminalId;
+        private final boolean predictive;
+        private final Deque<ClosureEntry.Explosion> explosions;
+        private final Deque<ClosureEntry.Explosion> decisions;
+        private final Deque<ClosureEntry.Position> positions;
+        private final List<ClosureEntry> entries;
+
+        private Collector(int terminalId, boolean predictive) {
+            this.terminalId = terminalId;
+            this.predictive = predictive;
+            explosions = new ArrayDeque<>();
+            decisions = new ArrayDeque<>();
+            positions = new ArrayDeque<>();
+            entries = new ArrayList<>();
+        }
+
+        private ClosureEntry[] collect() {
+            collect(option, index, 0);
+            return entries.toArray(ClosureEntry[]::new);
+        }
+
+        private void collect(CompiledOption option, int index, int level) {
+            if (index == option.size()) {
+                if (positions.isEmpty()) {
+                    entries.add(new ClosureEntry(null, 0, explosions(), decisions(), new ClosureEntry.Position[0]));
+                } else {
+                    var position = positions.pop();
+                    collect(position.getOption(), position.getIndex(), position.getLevel());
+                    positions.push(position);
+                }
+            } else if (option.getItem(index) instanceof AbstractCompiledTokenItem tokenItem) {
+                if (terminalId != NO_TERMINAL_ID && tokenItem.getTerminalIds().get(terminalId)) {
+                    positions.push(new ClosureEntry.Position(option, index + 1, level));
+                    entries.add(new ClosureEntry(tokenItem, level, explosions(), decisions(), positions()));
+                    positions.pop();
+                }
+            } else if (option.getItem(index) instanceof CompiledRepeatItem repeatItem) {
+                collect(option, index, level, repeatItem);
+            } else {
+                var ruleItem = (CompiledRuleItem) option.getItem(index);
+                var rule = ruleItem.getRule();
+                positions.push(new ClosureEntry.Position(option, index + 1, level));
+
+                if (predictive && rule.isPredictable()) {
+                    var ruleOption = rule.getPredictions()[terminalId];
+
+                    if (ruleOption != null) {
+                        explode(ruleItem, ruleOption, level);
+                    }
+                } else {
+                    for (var ruleOption : rule.getOptions()) {
+                        if (terminalId == NO_TERMINAL_ID ? ruleOption.isNullable() : ruleOption.canStartWith(terminalId)) {
+                            explode(ruleItem, ruleOption, level);
+                        }
+                    }
+                }
+
+                positions.pop();
+            }
+        }
+
+        private void collect(CompiledOption option, int index, int level, CompiledRepeatItem repeatItem) {
+            var rule = repeatItem.getRule();
+            var skip = repeatItem.isOptional();
+            boolean enter;
+
+            if (terminalId == NO_TERMINAL_ID) {
+                enter = repeatItem.getBody().isNullable();
+            } else if (predictive && rule.isPredictable()) {
+                var ruleOption = rule.getPredictions()[terminalId];
+                skip &= ruleOption == repeatItem.getSkipOption();
+                enter = ruleOption == repeatItem.getEnterOption();
+            } else {
+                enter = repeatItem.getEnterOption().canStartWith(terminalId);
+            }
+
+            if (skip) {
+                decide(repeatItem, repeatItem.getSkipOption(), level);
+                collect(option, index + 1, level);
+                undecide(repeatItem);
+            }
+
+            if (enter) {
+                decide(repeatItem, repeatItem.getEnterOption(), level);
+                var positionCount = positions.size();
+
+                // A tail can not loop back into a nullable body, so it leaves the repetition after one empty iteration.
+                if (!repeatItem.isMany() || terminalId == NO_TERMINAL_ID) {
+                    positions.push(new ClosureEntry.Position(option, index + 1, level));
+                } else if (repeatItem.isOptional()) {
+                    positions.push(new ClosureEntry.Position(option, index, level));
+                } else {
+                    positions.push(new ClosureEntry.Position(option, index + 1, level));
+                    positions.push(new ClosureEntry.Position(repeatItem.getTailOption(), 0, level));
+                }
+
+                collect(repeatItem.getBody(), 0, level);
+
+                while (positions.size() > positionCount) {
+                    positions.pop();
+                }
+
+                undecide(repeatItem);
+            }
+        }
+
+        private void decide(CompiledRepeatItem repeatItem, CompiledOption ruleOption, int level) {
+            if (predictive && repeatItem.getRule().getPredictionDfa() != null) {
+                decisions.addLast(new ClosureEntry.Explosion(level, repeatItem, ruleOption));
+            }
+        }
+
+        private void undecide(CompiledRepeatItem repeatItem) {
+            if (predictive && repeatItem.getRule().getPredictionDfa() != null) {
+                decisions.removeLast();
+            }
+        }
+
+        private void explode(CompiledRuleItem ruleItem, CompiledOption ruleOption, int level) {
+            var explosion = new ClosureEntry.Explosion(level, ruleItem, ruleOption);
+            explosions.addLast(explosion);
+
+            if (predictive && ruleItem.getRule().getPredictionDfa() != null) {
+                decisions.addLast(explosion);
+            }
+
+            collect(ruleOption, 0, level + 1);
+            explosions.removeLast();
+
+            if (predictive && ruleItem.getRule().getPredictionDfa() != null) {
+                decisions.removeLast();
+            }
+        }
+
+        private ClosureEntry.Explosion[] explosions() {
+            return explosions.toArray(ClosureEntry.Explosion[]::new);
+        }
+
+        private ClosureEntry.Explosion[] decisions() {
+            return decisions.toArray(ClosureEntry.Explosion[]::new);
+        }
+
+        private ClosureEntry.Position[] positions() {
+            var continuation = new ArrayList<ClosureEntry.Position>();
+            var iterator = positions.descendingIterator();
+
+            while (iterator.hasNext()) {
+                var position = iterator.next();
+
+                if (position.getIndex() < position.getOption().size()) {
+                    continuation.add(position);
+                }
+            }
+
+            return continuation.toArray(ClosureEntry.Position[]::new);
+        }
+    }
+}
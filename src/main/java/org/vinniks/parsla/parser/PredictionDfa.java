@@ -0,0 +1,228 @@
+package org.vinniks.parsla.parser;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Collections.emptySet;
+
+class PredictionDfa {
+    static final int MAX_LOOK_AHEAD = 32;
+    static final int MAX_STATE_COUNT = 4096;
+
+    private static final State EXITED_STATE = new State(emptySet(), true);
+    private static final State DEAD_STATE = new State(emptySet(), false);
+
+    private final CompiledRule rule;
+    private final State startState;
+    private final Map<Set<Configuration>, State> states;
+
+    PredictionDfa(CompiledRule rule) {
+        this.rule = rule;
+        var configurations = new LinkedHashSet<Configuration>();
+
+        for (var alternative = 0; alternative < rule.getOptions().size(); alternative++) {
+            configurations.add(new Configuration(alternative, Frame.of(rule.getOptions().get(alternative), 0, null)));
+        }
+
+        startState = new State(configurations, false);
+        states = new ConcurrentHashMap<>();
+    }
+
+    CompiledOption predict(SymbolToken token, TokenLookAhead lookAhead) throws IOException {
+        var state = startState;
+
+        for (var distance = 1; ; distance++) {
+            state = next(state, token);
+
+            if (state == null || state.exited || state.configurations.isEmpty()) {
+                return null;
+            } else if (state.prediction >= 0) {
+                return rule.getOptions().get(state.prediction);
+            } else if (distance >= MAX_LOOK_AHEAD) {
+                return null;
+            }
+
+            token = lookAhead.peek(distance);
+
+            if (token == null) {
+                return null;
+            }
+        }
+    }
+
+    int getStateCount() {
+        return states.size();
+    }
+
+    private State next(State state, SymbolToken token) {
+        var nextState = state.transitions.get(token.getTerminalId());
+
+        if (nextState == null) {
+            if (states.size() >= MAX_STATE_COUNT) {
+                return null;
+            }
+
+            nextState = new Step(token).run(state);
+
+            if (nextState != EXITED_STATE && nextState != DEAD_STATE) {
+                var existingState = states.putIfAbsent(nextState.configurations, nextState);
+
+                if (existingState != null) {
+                    nextState = existingState;
+                }
+            }
+
+            var existingState = state.transitions.putIfAbsent(token.getTerminalId(), nextState);
+
+            if (existingState != null) {
+                nextState = existingState;
+            }
+        }
+
+        return nextState;
+    }
+
+    private static final class Step {
+        private final SymbolToken token;
+        private final Set<Configuration> configurations;
+        private int maxMatch;
+        private boolean exited;
+
+        private Step(SymbolToken token) {
+            this.token = token;
+            configurations = new LinkedHashSet<>();
+        }
+
+        private State run(State state) {
+            for (var configuration : state.configurations) {
+                closure(configuration.alternative, configuration.frame);
+            }
+
+            if (exited) {
+                return EXITED_STATE;
+            } else if (configurations.isEmpty()) {
+                return DEAD_STATE;
+            } else {
+                return new State(configurations, false);
+            }
+        }
+
+        private void closure(int alternative, Frame frame) {
+            if (frame == null) {
+                exited = true;
+                return;
+            }
+
+            var item = frame.option.getItem(frame.index);
+            var nextFrame = Frame.of(frame.option, frame.index + 1, frame.parent);
+
+            if (item instanceof AbstractCompiledTokenItem tokenItem) {
+                var match = tokenItem.match(token);
+
+                if (match > maxMatch) {
+                    configurations.clear();
+                    maxMatch = match;
+                }
+
+                if (match > 0 && match == maxMatch) {
+                    configurations.add(new Configuration(alternative, nextFrame));
+                }
+            } else {
+                var itemRule = ((CompiledRuleItem) item).getRule();
+
+                if (itemRule.isPredictable()) {
+                    var option = itemRule.predict(token);
+
+                    if (option != null) {
+                        closure(alternative, Frame.of(option, 0, nextFrame));
+                    }
+                } else {
+                    for (var option : itemRule.getOptions()) {
+                        if (option.canStartWith(token)) {
+                            closure(alternative, Frame.of(option, 0, nextFrame));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class State {
+        private final Set<Configuration> configurations;
+        private final boolean exited;
+        private final int prediction;
+        private final Map<Integer, State> transitions;
+
+        private State(Set<Configuration> configurations, boolean exited) {
+            this.configurations = configurations;
+            this.exited = exited;
+            prediction = exited ? -1 : commonAlternative(configurations);
+            transitions = new ConcurrentHashMap<>();
+        }
+
+        private static int commonAlternative(Set<Configuration> configurations) {
+            var alternative = -1;
+
+            for (var configuration : configurations) {
+                if (alternative == -1) {
+                    alternative = configuration.alternative;
+                } else if (alternative != configuration.alternative) {
+                    return -1;
+                }
+            }
+
+            return alternative;
+        }
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    @EqualsAndHashCode
+    private static final class Configuration {
+        private final int alternative;
+        private final Frame frame;
+    }
+
+    private static final class Frame {
+        private final CompiledOption option;
+        private final int index;
+        private final Frame parent;
+        private final int hashCode;
+
+        private static Frame of(CompiledOption option, int index, Frame parent) {
+            return index < option.size() ? new Frame(option, index, parent) : parent;
+        }
+
+        private Frame(CompiledOption option, int index, Frame parent) {
+            this.option = option;
+            this.index = index;
+            this.parent = parent;
+            hashCode = 31 * (31 * System.identityHashCode(option) + index) + Objects.hashCode(parent);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+
+            return other instanceof Frame otherFrame
+                && hashCode == otherFrame.hashCode
+                && option == otherFrame.option
+                && index == otherFrame.index
+                && Objects.equals(parent, otherFrame.parent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
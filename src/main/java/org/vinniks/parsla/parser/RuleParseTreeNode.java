@@ -5,7 +5,7 @@ import lombok.Getter;
 
 @Getter(AccessLevel.PACKAGE)
 final class RuleParseTreeNode<P> extends AbstractParseTreeNode<CompiledRuleItem, P> {
-    private final boolean outputOption;
+    private boolean outputOption;
 
     RuleParseTreeNode(
         AbstractParseTreeNode<?, P> parent, int level, CompiledRuleItem item, P position, boolean outputOption
@@ -13,4 +13,12 @@ final class RuleParseTreeNode<P> extends AbstractParseTreeNode<CompiledRuleItem,
         super(parent, level, item, position);
         this.outputOption = outputOption;
     }
+
+    RuleParseTreeNode<P> reuse(
+        AbstractParseTreeNode<?, P> parent, int level, CompiledRuleItem item, P position, boolean outputOption
+    ) {
+        init(parent, level, item, position);
+        this.outputOption = outputOption;
+        return this;
+    }
 }
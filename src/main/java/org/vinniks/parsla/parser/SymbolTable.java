@@ -0,0 +1,190 @@
+package org.vinniks.parsla.parser;
+
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.text.dfa.DfaTextTokenizer;
+import org.vinniks.parsla.tokenizer.text.dfa.DfaToken;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class SymbolTable {
+    static final int UNKNOWN_TOKEN_TYPE_ID = 0;
+    static final int UNKNOWN_TERMINAL_ID = 0;
+    static final int UNKNOWN_RULE_ID = -1;
+
+    private static final int VALUE_TERMINAL_ID = -1;
+
+    private final Map<String, Integer> ruleIds;
+    private final List<String> ruleNames;
+    private final Map<String, Integer> tokenTypeIds;
+    private final List<String> tokenTypes;
+    private final List<Integer> tokenTypeTerminalIds;
+    private final List<Map<String, Integer>> valueTerminalIds;
+    private final List<BitSet> tokenTypeTerminalIdSets;
+    private final List<Integer> terminalTokenTypeIds;
+
+    private DfaTextTokenizer tokenizer;
+    private int[] definitionTokenTypeIds;
+    private int[] definitionTerminalIds;
+
+    SymbolTable() {
+        ruleIds = new HashMap<>();
+        ruleNames = new ArrayList<>();
+        tokenTypeIds = new HashMap<>();
+        tokenTypes = new ArrayList<>();
+        tokenTypeTerminalIds = new ArrayList<>();
+        valueTerminalIds = new ArrayList<>();
+        tokenTypeTerminalIdSets = new ArrayList<>();
+        terminalTokenTypeIds = new ArrayList<>();
+
+        tokenTypes.add(null);
+        tokenTypeTerminalIds.add(UNKNOWN_TERMINAL_ID);
+        valueTerminalIds.add(null);
+        tokenTypeTerminalIdSets.add(new BitSet());
+        tokenTypeTerminalIdSets.get(UNKNOWN_TOKEN_TYPE_ID).set(UNKNOWN_TERMINAL_ID);
+        terminalTokenTypeIds.add(UNKNOWN_TOKEN_TYPE_ID);
+    }
+
+    int internRule(String ruleName) {
+        return ruleIds.computeIfAbsent(ruleName, key -> {
+            ruleNames.add(key);
+            return ruleNames.size() - 1;
+        });
+    }
+
+    int internTokenType(String tokenType) {
+        return tokenTypeIds.computeIfAbsent(tokenType, key -> {
+            var tokenTypeId = tokenTypes.size();
+            tokenTypes.add(key);
+            tokenTypeTerminalIds.add(terminalTokenTypeIds.size());
+            valueTerminalIds.add(null);
+            tokenTypeTerminalIdSets.add(new BitSet());
+            addTerminal(tokenTypeId);
+            return tokenTypeId;
+        });
+    }
+
+    int internTerminal(String tokenType, String tokenValue) {
+        var tokenTypeId = internTokenType(tokenType);
+
+        if (tokenValue == null) {
+            return tokenTypeTerminalIds.get(tokenTypeId);
+        }
+
+        if (valueTerminalIds.get(tokenTypeId) == null) {
+            valueTerminalIds.set(tokenTypeId, new HashMap<>());
+        }
+
+        return valueTerminalIds.get(tokenTypeId).computeIfAbsent(tokenValue, key -> addTerminal(tokenTypeId));
+    }
+
+    int getRuleCount() {
+        return ruleNames.size();
+    }
+
+    int getTokenTypeCount() {
+        return tokenTypes.size();
+    }
+
+    int getTerminalCount() {
+        return terminalTokenTypeIds.size();
+    }
+
+    int ruleId(String ruleName) {
+        return ruleIds.getOrDefault(ruleName, UNKNOWN_RULE_ID);
+    }
+
+    String ruleName(int ruleId) {
+        return ruleNames.get(ruleId);
+    }
+
+    int tokenTypeId(String tokenType) {
+        return tokenTypeIds.getOrDefault(tokenType, UNKNOWN_TOKEN_TYPE_ID);
+    }
+
+    String tokenType(int tokenTypeId) {
+        return tokenTypes.get(tokenTypeId);
+    }
+
+    int terminalTokenTypeId(int terminalId) {
+        return terminalTokenTypeIds.get(terminalId);
+    }
+
+    BitSet terminalIds(int tokenTypeId) {
+        return (BitSet) tokenTypeTerminalIdSets.get(tokenTypeId).clone();
+    }
+
+    BitSet terminalIds(BitSet tokenTypeIds) {
+        var terminalIds = new BitSet();
+        tokenTypeIds.stream().forEach(tokenTypeId -> terminalIds.or(tokenTypeTerminalIdSets.get(tokenTypeId)));
+        return terminalIds;
+    }
+
+    private int addTerminal(int tokenTypeId) {
+        var terminalId = terminalTokenTypeIds.size();
+        terminalTokenTypeIds.add(tokenTypeId);
+        tokenTypeTerminalIdSets.get(tokenTypeId).set(terminalId);
+        return terminalId;
+    }
+
+    SymbolToken symbolToken(Token token) {
+        return symbolToken(token, new SymbolToken());
+    }
+
+    // Must be called once all terminals are interned.
+    void bindTokenizer(DfaTextTokenizer tokenizer) {
+        var definitions = tokenizer.getDefinitions();
+        this.tokenizer = tokenizer;
+        definitionTokenTypeIds = new int[definitions.size()];
+        definitionTerminalIds = new int[definitions.size()];
+
+        for (var i = 0; i < definitions.size(); i++) {
+            var definition = definitions.get(i);
+            var tokenTypeId = internTokenType(definition.getType());
+            definitionTokenTypeIds[i] = tokenTypeId;
+
+            if (!definition.isValued() || valueTerminalIds.get(tokenTypeId) == null) {
+                definitionTerminalIds[i] = tokenTypeTerminalIds.get(tokenTypeId);
+            } else if (!definition.isRegex()) {
+                definitionTerminalIds[i] = terminalId(tokenTypeId, definition.getPattern());
+            } else {
+                definitionTerminalIds[i] = VALUE_TERMINAL_ID;
+            }
+        }
+    }
+
+    SymbolToken symbolToken(Token token, SymbolToken symbolToken) {
+        if (token instanceof DfaToken dfaToken && dfaToken.getTokenizer() == tokenizer) {
+            var tokenTypeId = definitionTokenTypeIds[dfaToken.getDefinition()];
+            var terminalId = definitionTerminalIds[dfaToken.getDefinition()];
+
+            if (terminalId == VALUE_TERMINAL_ID) {
+                terminalId = terminalId(tokenTypeId, token.getValue());
+            }
+
+            return symbolToken.set(token, tokenTypeId, terminalId);
+        }
+
+        var tokenTypeId = tokenTypeId(token.getType());
+
+        if (tokenTypeId == UNKNOWN_TOKEN_TYPE_ID) {
+            return symbolToken.set(token, UNKNOWN_TOKEN_TYPE_ID, UNKNOWN_TERMINAL_ID);
+        }
+
+        return symbolToken.set(token, tokenTypeId, terminalId(tokenTypeId, token.getValue()));
+    }
+
+    private int terminalId(int tokenTypeId, String tokenValue) {
+        var valueTerminalIds = this.valueTerminalIds.get(tokenTypeId);
+        Integer terminalId = null;
+
+        if (valueTerminalIds != null && tokenValue != null) {
+            terminalId = valueTerminalIds.get(tokenValue);
+        }
+
+        return terminalId != null ? terminalId : tokenTypeTerminalIds.get(tokenTypeId);
+    }
+}
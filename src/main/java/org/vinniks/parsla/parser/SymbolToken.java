@@ -0,0 +1,32 @@
+package org.vinniks.parsla.parser;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.vinniks.parsla.tokenizer.Token;
+
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@Getter(AccessLevel.PACKAGE)
+final class SymbolToken {
+    private Token token;
+    private int tokenTypeId;
+    private int terminalId;
+
+    SymbolToken set(Token token, int tokenTypeId, int terminalId) {
+        this.token = token;
+        this.tokenTypeId = tokenTypeId;
+        this.terminalId = terminalId;
+        return this;
+    }
+
+    SymbolToken copy() {
+        return new SymbolToken(token, tokenTypeId, terminalId);
+    }
+
+    @Override
+    public String toString() {
+        return token.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package org.vinniks.parsla.parser;
+
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+class TerminalSet {
+    private final BitSet terminalIds;
+
+    TerminalSet() {
+        terminalIds = new BitSet();
+    }
+
+    boolean add(AbstractCompiledTokenItem tokenItem) {
+        return add(tokenItem.getTerminalIds());
+    }
+
+    boolean addAll(TerminalSet other) {
+        return add(other.terminalIds);
+    }
+
+    boolean contains(SymbolToken token) {
+        return contains(token.getTerminalId());
+    }
+
+    boolean contains(int terminalId) {
+        return terminalIds.get(terminalId);
+    }
+
+    boolean intersects(TerminalSet other) {
+        return terminalIds.intersects(other.terminalIds);
+    }
+
+    IntStream stream() {
+        return terminalIds.stream();
+    }
+
+    private boolean add(BitSet terminalIds) {
+        var cardinality = this.terminalIds.cardinality();
+        this.terminalIds.or(terminalIds);
+        return this.terminalIds.cardinality() != cardinality;
+    }
+}
@@ -0,0 +1,111 @@
+package org.vinniks.parsla.parser;
+
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+final class TokenBuffer<P> implements TokenLookAhead {
+    private final SymbolTable symbolTable;
+    private final List<SymbolToken> tokens;
+    private final List<P> positions;
+    private final SymbolToken currentToken;
+    private TokenIterator<P> tokenIterator;
+    private boolean finished;
+    private int head;
+    private P position;
+
+    TokenBuffer(SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
+        tokens = new ArrayList<>();
+        positions = new ArrayList<>();
+        currentToken = new SymbolToken();
+    }
+
+    void reset(TokenIterator<P> tokenIterator) {
+        this.tokenIterator = tokenIterator;
+        tokens.clear();
+        positions.clear();
+        finished = false;
+        head = 0;
+        position = null;
+    }
+
+    void feed(Token token, P position) {
+        tokens.add(symbolTable.symbolToken(token));
+        positions.add(position);
+    }
+
+    void finish() {
+        finished = true;
+    }
+
+    void rewind() {
+        head--;
+    }
+
+    void compact() {
+        tokens.subList(0, head).clear();
+        positions.subList(0, head).clear();
+        head = 0;
+    }
+
+    boolean hasNext() throws IOException {
+        return head < tokens.size() || tokenIterator != null && tokenIterator.hasNext();
+    }
+
+    // A token read straight from the token iterator is only valid until the next call.
+    SymbolToken next() throws IOException {
+        if (head < tokens.size()) {
+            var token = tokens.get(head);
+            position = positions.get(head);
+            head++;
+
+            if (head == tokens.size() && tokenIterator != null) {
+                tokens.clear();
+                positions.clear();
+                head = 0;
+            }
+
+            return token;
+        } else if (tokenIterator != null && tokenIterator.hasNext()) {
+            var token = symbolTable.symbolToken(tokenIterator.next(), currentToken);
+            position = tokenIterator.position();
+            return token;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    P position() {
+        return position == null && tokenIterator != null ? tokenIterator.position() : position;
+    }
+
+    @Override
+    public SymbolToken peek(int distance) throws IOException {
+        while (tokens.size() - head < distance && tokenIterator != null && tokenIterator.hasNext()) {
+            tokens.add(symbolTable.symbolToken(tokenIterator.next()));
+            positions.add(tokenIterator.position());
+        }
+
+        if (tokens.size() - head >= distance) {
+            return tokens.get(head + distance - 1);
+        } else if (tokenIterator == null && !finished) {
+            throw UnderflowException.INSTANCE;
+        } else {
+            return null;
+        }
+    }
+
+    static final class UnderflowException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private static final UnderflowException INSTANCE = new UnderflowException();
+
+        private UnderflowException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.vinniks.parsla.parser;
+
+import java.io.IOException;
+
+interface TokenLookAhead {
+    SymbolToken peek(int distance) throws IOException;
+}
@@ -6,8 +6,8 @@ import org.vinniks.parsla.tokenizer.Token;
 
 @Getter(AccessLevel.PACKAGE)
 final class TokenParseTreeNode<P> extends AbstractParseTreeNode<AbstractCompiledTokenItem, P> {
-    private final Token token;
-    private final int match;
+    private Token token;
+    private int match;
 
     TokenParseTreeNode(
         AbstractParseTreeNode<?, P> parent,
@@ -21,4 +21,18 @@ final class TokenParseTreeNode<P> extends AbstractParseTreeNode<AbstractCompiled
         this.token = token;
         this.match = match;
     }
+
+    TokenParseTreeNode<P> reuse(
+        AbstractParseTreeNode<?, P> parent,
+        int level,
+        AbstractCompiledTokenItem item,
+        P position,
+        Token token,
+        int match
+    ) {
+        init(parent, level, item, position);
+        this.token = token;
+        this.match = match;
+        return this;
+    }
 }
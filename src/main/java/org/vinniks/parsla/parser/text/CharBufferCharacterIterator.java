@@ -0,0 +1,45 @@
+package org.vinniks.parsla.parser.text;
+
+import org.vinniks.parsla.tokenizer.text.CharacterIterator;
+
+import java.nio.CharBuffer;
+
+final class CharBufferCharacterIterator implements CharacterIterator {
+    private CharBuffer characters;
+    private boolean finished;
+
+    void feed(CharBuffer characters) {
+        this.characters = characters;
+    }
+
+    void finish() {
+        characters = null;
+        finished = true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return characters != null && characters.hasRemaining();
+    }
+
+    @Override
+    public char next() {
+        return characters.get();
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        if (!hasNext()) {
+            return finished ? -1 : 0;
+        }
+
+        var count = Math.min(length, characters.remaining());
+        characters.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public boolean isEnded() {
+        return finished;
+    }
+}
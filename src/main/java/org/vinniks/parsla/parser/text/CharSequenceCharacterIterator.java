@@ -0,0 +1,43 @@
+package org.vinniks.parsla.parser.text;
+
+import org.vinniks.parsla.tokenizer.text.CharacterIterator;
+
+final class CharSequenceCharacterIterator implements CharacterIterator {
+    private final CharSequence characters;
+    private int index;
+
+    CharSequenceCharacterIterator(CharSequence characters, int index) {
+        this.characters = characters;
+        this.index = index;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < characters.length();
+    }
+
+    @Override
+    public char next() {
+        return characters.charAt(index++);
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        if (!hasNext()) {
+            return -1;
+        }
+
+        var count = Math.min(length, characters.length() - index);
+
+        if (characters instanceof String string) {
+            string.getChars(index, index + count, buffer, offset);
+        } else {
+            for (var i = 0; i < count; i++) {
+                buffer[offset + i] = characters.charAt(index + i);
+            }
+        }
+
+        index += count;
+        return count;
+    }
+}
@@ -0,0 +1,345 @@
+package org.vinniks.parsla.parser.text;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.syntaxtree.RecordSyntaxTreeBuilder;
+import org.vinniks.parsla.syntaxtree.SyntaxTreeNode;
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+import org.vinniks.parsla.tokenizer.text.TextPosition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+public final class IncrementalDocument {
+    private final TextParser parser;
+
+    @Getter
+    private final String recordRuleName;
+
+    @Getter
+    private final String text;
+
+    private final int[] lineOffsets;
+    private final List<SyntaxTreeNode<TextPosition>> records;
+    private final int[] recordOffsets;
+
+    // The offset of the first token the parser had not seen when it committed to the end of each record.
+    private final int[] commitOffsets;
+
+    private IncrementalDocument(
+        TextParser parser,
+        String recordRuleName,
+        String text,
+        int[] lineOffsets,
+        List<SyntaxTreeNode<TextPosition>> records,
+        int[] recordOffsets,
+        int[] commitOffsets
+    ) {
+        this.parser = parser;
+        this.recordRuleName = recordRuleName;
+        this.text = text;
+        this.lineOffsets = lineOffsets;
+        this.records = records;
+        this.recordOffsets = recordOffsets;
+        this.commitOffsets = commitOffsets;
+    }
+
+    static IncrementalDocument parse(TextParser parser, String recordRuleName, String text) throws IOException {
+        var reparse = new Reparse(parser, text, null, 0, 0, 0);
+        reparse.parse(recordRuleName, 0);
+        return reparse.build(recordRuleName);
+    }
+
+    public List<SyntaxTreeNode<TextPosition>> getRecords() {
+        return unmodifiableList(records);
+    }
+
+    public IncrementalDocument edit(TextEdit... edits) throws IOException {
+        return edit(Arrays.asList(edits));
+    }
+
+    public IncrementalDocument edit(@NonNull List<TextEdit> edits) throws IOException {
+        if (edits.isEmpty()) {
+            return this;
+        }
+
+        var sortedEdits = edits.stream().sorted(Comparator.comparingInt(TextEdit::getOffset)).toList();
+        var newText = new StringBuilder(text.length());
+        var textOffset = 0;
+        var delta = 0;
+
+        for (var edit : sortedEdits) {
+            if (edit.getOffset() < textOffset) {
+                throw new IllegalArgumentException("text edits must not overlap");
+            }
+
+            if (edit.getOffset() > text.length() || edit.getLength() > text.length() - edit.getOffset()) {
+                throw new IllegalArgumentException("text edit exceeds the document length");
+            }
+
+            newText.append(text, textOffset, edit.getOffset()).append(edit.getReplacement());
+            textOffset = edit.getOffset() + edit.getLength();
+            delta += edit.getReplacement().length() - edit.getLength();
+        }
+
+        newText.append(text, textOffset, text.length());
+
+        // Where a record ends may depend on look-ahead tokens well past it, so parsing restarts after the last record
+        // the parser had committed to before seeing any damaged token.
+        var damageStart = sortedEdits.get(0).getOffset();
+        var firstRecord = Math.max(recordIndex(damageStart - 1), 0);
+
+        while (firstRecord > 0 && commitOffsets[firstRecord - 1] >= damageStart) {
+            firstRecord--;
+        }
+
+        var reparse = new Reparse(parser, newText.toString(), this, textOffset, textOffset + delta, delta);
+
+        for (var i = 0; i < firstRecord; i++) {
+            reparse.add(records.get(i), recordOffsets[i], commitOffsets[i]);
+        }
+
+        int resyncRecord;
+
+        try {
+            resyncRecord = reparse.parse(recordRuleName, firstRecord == 0 ? 0 : recordOffsets[firstRecord]);
+        } catch (ParsingException e) {
+            if (firstRecord == 0) {
+                throw e;
+            }
+
+            return parse(parser, recordRuleName, newText.toString());
+        }
+
+        if (resyncRecord >= 0) {
+            var lineDelta = reparse.line(recordOffsets[resyncRecord] + delta) - line(recordOffsets[resyncRecord]);
+
+            for (var i = resyncRecord; i < records.size(); i++) {
+                reparse.add(
+                    shift(records.get(i), lineDelta),
+                    recordOffsets[i] + delta,
+                    commitOffsets[i] == Integer.MAX_VALUE ? Integer.MAX_VALUE : commitOffsets[i] + delta
+                );
+            }
+        }
+
+        return reparse.build(recordRuleName);
+    }
+
+    private int recordIndex(int offset) {
+        var index = Arrays.binarySearch(recordOffsets, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private int line(int offset) {
+        return line(lineOffsets, offset);
+    }
+
+    private int resyncRecord(int offset, int damageEnd, int delta) {
+        var index = Arrays.binarySearch(recordOffsets, offset - delta);
+
+        // Reused records keep their columns, so they must not share a line with the damaged range.
+        return index >= 0 && line(recordOffsets[index]) > line(damageEnd) ? index : -1;
+    }
+
+    private static SyntaxTreeNode<TextPosition> shift(SyntaxTreeNode<TextPosition> node, int lineDelta) {
+        if (lineDelta == 0) {
+            return node;
+        }
+
+        var position = node.position() == null
+            ? null
+            : new TextPosition(node.position().getLine() + lineDelta, node.position().getColumn());
+
+        if (node.children().isEmpty()) {
+            return new SyntaxTreeNode<>(position, node.value(), emptyList());
+        }
+
+        var children = new ArrayList<SyntaxTreeNode<TextPosition>>(node.children().size());
+
+        for (var child : node.children()) {
+            children.add(shift(child, lineDelta));
+        }
+
+        return new SyntaxTreeNode<>(position, node.value(), children);
+    }
+
+    private static int[] lineOffsets(String text) {
+        var lineOffsets = new int[16];
+        var lineCount = 1;
+
+        for (var i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                if (lineCount == lineOffsets.length) {
+                    lineOffsets = Arrays.copyOf(lineOffsets, lineCount * 2);
+                }
+
+                lineOffsets[lineCount++] = i + 1;
+            }
+        }
+
+        return Arrays.copyOf(lineOffsets, lineCount);
+    }
+
+    private static int line(int[] lineOffsets, int offset) {
+        var index = Arrays.binarySearch(lineOffsets, offset);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static final class Reparse {
+        private final TextParser parser;
+        private final String text;
+        private final int[] lineOffsets;
+        private final IncrementalDocument previous;
+        private final int previousDamageEnd;
+        private final int damageEnd;
+        private final int delta;
+        private final List<SyntaxTreeNode<TextPosition>> records;
+        private int[] recordOffsets;
+        private int[] commitOffsets;
+        private int uncommittedRecord;
+        private int resyncRecord;
+        private TextPosition startPosition;
+
+        private Reparse(
+            TextParser parser,
+            String text,
+            IncrementalDocument previous,
+            int previousDamageEnd,
+            int damageEnd,
+            int delta
+        ) {
+            this.parser = parser;
+            this.text = text;
+            this.previous = previous;
+            this.previousDamageEnd = previousDamageEnd;
+            this.damageEnd = damageEnd;
+            this.delta = delta;
+            lineOffsets = lineOffsets(text);
+            records = new ArrayList<>();
+            recordOffsets = new int[16];
+            commitOffsets = new int[16];
+            resyncRecord = -1;
+        }
+
+        private void add(SyntaxTreeNode<TextPosition> record, int offset, int commitOffset) {
+            if (records.size() == recordOffsets.length) {
+                recordOffsets = Arrays.copyOf(recordOffsets, records.size() * 2);
+                commitOffsets = Arrays.copyOf(commitOffsets, records.size() * 2);
+            }
+
+            recordOffsets[records.size()] = offset;
+            commitOffsets[records.size()] = commitOffset;
+            records.add(record);
+        }
+
+        // Records emitted while a token was fed were committed without seeing the token that follows it.
+        private void commit(int commitOffset) {
+            for (var i = uncommittedRecord; i < records.size(); i++) {
+                commitOffsets[i] = commitOffset;
+            }
+
+            uncommittedRecord = records.size();
+        }
+
+        private int parse(String recordRuleName, int offset) throws IOException {
+            startPosition = position(offset);
+            uncommittedRecord = records.size();
+            var recordSyntaxTreeBuilder = new RecordSyntaxTreeBuilder<TextPosition>(this::record);
+
+            try (
+                var tokenIterator = parser.getTokenizer().tokenize(new CharSequenceCharacterIterator(text, offset));
+                var session = parser.recordEntryPoint(recordRuleName).session(recordSyntaxTreeBuilder)
+            ) {
+                for (var token = nextToken(tokenIterator); token != null; token = nextToken(tokenIterator)) {
+                    var position = shift(tokenIterator.position());
+                    commit(offset(position));
+
+                    if (resyncRecord >= 0) {
+                        break;
+                    }
+
+                    session.feed(token, position);
+                }
+
+                if (resyncRecord < 0) {
+                    session.finish();
+                    recordSyntaxTreeBuilder.finish();
+                }
+
+                commit(Integer.MAX_VALUE);
+            }
+
+            return resyncRecord;
+        }
+
+        private void record(SyntaxTreeNode<TextPosition> record) {
+            if (resyncRecord >= 0) {
+                return;
+            }
+
+            var offset = offset(record.position());
+
+            if (previous != null && offset >= damageEnd) {
+                resyncRecord = previous.resyncRecord(offset, previousDamageEnd, delta);
+
+                if (resyncRecord >= 0) {
+                    return;
+                }
+            }
+
+            add(record, offset, Integer.MAX_VALUE);
+        }
+
+        private Token nextToken(TokenIterator<TextPosition> tokenIterator) throws IOException {
+            try {
+                return tokenIterator.hasNext() ? tokenIterator.next() : null;
+            } catch (ParsingException e) {
+                if (e.getPosition() instanceof TextPosition position) {
+                    throw new ParsingException(e.getReason(), shift(position));
+                }
+
+                throw e;
+            }
+        }
+
+        private TextPosition shift(TextPosition position) {
+            return position.getLine() == 1
+                ? new TextPosition(startPosition.getLine(), startPosition.getColumn() + position.getColumn() - 1)
+                : new TextPosition(startPosition.getLine() + position.getLine() - 1, position.getColumn());
+        }
+
+        private TextPosition position(int offset) {
+            var line = line(offset);
+            return new TextPosition(line, offset - lineOffsets[line - 1] + 1);
+        }
+
+        private int offset(TextPosition position) {
+            return lineOffsets[position.getLine() - 1] + position.getColumn() - 1;
+        }
+
+        private int line(int offset) {
+            return IncrementalDocument.line(lineOffsets, offset);
+        }
+
+        private IncrementalDocument build(String recordRuleName) {
+            return new IncrementalDocument(
+                parser,
+                recordRuleName,
+                text,
+                lineOffsets,
+                records,
+                Arrays.copyOf(recordOffsets, records.size()),
+                Arrays.copyOf(commitOffsets, records.size())
+            );
+        }
+    }
+}
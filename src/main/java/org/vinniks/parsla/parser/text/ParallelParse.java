@@ -0,0 +1,168 @@
+package org.vinniks.parsla.parser.text;
+
+import org.vinniks.parsla.parser.ParseEvent;
+import org.vinniks.parsla.parser.ParserOutputListener;
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+import org.vinniks.parsla.tokenizer.text.TextPosition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+final class ParallelParse {
+    private final TextParser parser;
+    private final String chunkRuleName;
+    private final List<Token> tokens;
+    private final List<TextPosition> positions;
+    private final List<Integer> chunkEnds;
+    private final List<List<ParseEvent<TextPosition>>> chunkEvents;
+    private volatile boolean failed;
+
+    ParallelParse(TextParser parser, String chunkRuleName) {
+        this.parser = parser;
+        this.chunkRuleName = chunkRuleName;
+        tokens = new ArrayList<>();
+        positions = new ArrayList<>();
+        chunkEnds = new ArrayList<>();
+        chunkEvents = new ArrayList<>();
+    }
+
+    void split(TokenIterator<TextPosition> tokenIterator, String separatorTokenType) throws IOException {
+        var chunkHasRegularTokens = false;
+
+        while (tokenIterator.hasNext()) {
+            var token = tokenIterator.next();
+            tokens.add(token);
+            positions.add(tokenIterator.position());
+
+            if (token.getType().equals(separatorTokenType)) {
+                chunkEnds.add(tokens.size());
+                chunkHasRegularTokens = false;
+            } else if (!parser.getIgnoredTokenTypes().contains(token.getType())) {
+                chunkHasRegularTokens = true;
+            }
+        }
+
+        if (chunkHasRegularTokens || chunkEnds.isEmpty()) {
+            chunkEnds.add(tokens.size());
+        } else {
+            chunkEnds.set(chunkEnds.size() - 1, tokens.size());
+        }
+    }
+
+    void parse(ForkJoinPool pool, ParserOutputListener<TextPosition> outputListener) throws IOException {
+        if (chunkEnds.size() > 1) {
+            for (var i = 0; i < chunkEnds.size(); i++) {
+                chunkEvents.add(null);
+            }
+
+            pool.invoke(new ChunkParseTask(0, chunkEnds.size()));
+
+            if (!failed) {
+                for (var i = 0; i < chunkEvents.size(); i++) {
+                    if (i > 0) {
+                        outputListener.exit();
+                    }
+
+                    chunkEvents.get(i).forEach(event -> event.replay(outputListener));
+                    chunkEvents.set(i, null);
+                }
+
+                return;
+            }
+        }
+
+        parser.recordEntryPoint(chunkRuleName).parse(new ChunkTokenIterator(0, tokens.size()), outputListener);
+    }
+
+    private void parseChunk(int chunk) throws IOException {
+        var events = new ArrayList<ParseEvent<TextPosition>>();
+        var tokenIterator = new ChunkTokenIterator(chunk > 0 ? chunkEnds.get(chunk - 1) : 0, chunkEnds.get(chunk));
+
+        parser.entryPoint(chunkRuleName).parse(tokenIterator, new ParserOutputListener<>() {
+            @Override
+            public void enter(TextPosition position, String value) {
+                events.add(new ParseEvent<>(ParseEvent.Type.ENTER, position, value));
+            }
+
+            @Override
+            public void exit() {
+                events.add(new ParseEvent<>(ParseEvent.Type.EXIT, null, null));
+            }
+
+            @Override
+            public void tap(TextPosition position, String value) {
+                events.add(new ParseEvent<>(ParseEvent.Type.TAP, position, value));
+            }
+        });
+
+        chunkEvents.set(chunk, events);
+    }
+
+    private final class ChunkParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        private ChunkParseTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (failed) {
+                return;
+            }
+
+            if (to - from > 1) {
+                var middle = (from + to) >>> 1;
+                invokeAll(new ChunkParseTask(from, middle), new ChunkParseTask(middle, to));
+                return;
+            }
+
+            // Any failure, limits included, may come from a wrong split; the sequential parse reports genuine ones.
+            try {
+                parseChunk(from);
+            } catch (IOException | RuntimeException e) {
+                failed = true;
+            }
+        }
+    }
+
+    private final class ChunkTokenIterator implements TokenIterator<TextPosition> {
+        private final int end;
+        private int next;
+        private TextPosition position;
+
+        private ChunkTokenIterator(int start, int end) {
+            this.end = end;
+            next = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < end;
+        }
+
+        @Override
+        public Token next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            position = positions.get(next);
+            return tokens.get(next++);
+        }
+
+        @Override
+        public TextPosition position() {
+            return position;
+        }
+    }
+}
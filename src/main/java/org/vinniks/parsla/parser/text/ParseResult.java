@@ -0,0 +1,21 @@
+package org.vinniks.parsla.parser.text;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.vinniks.parsla.syntaxtree.SyntaxTreeNode;
+import org.vinniks.parsla.tokenizer.text.TextPosition;
+
+import java.nio.file.Path;
+
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@Getter
+public final class ParseResult {
+    private final Path path;
+    private final SyntaxTreeNode<TextPosition> syntaxTree;
+    private final Throwable error;
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
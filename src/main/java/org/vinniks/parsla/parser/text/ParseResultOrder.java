@@ -0,0 +1,6 @@
+package org.vinniks.parsla.parser.text;
+
+public enum ParseResultOrder {
+    SUBMISSION,
+    COMPLETION
+}
@@ -0,0 +1,224 @@
+package org.vinniks.parsla.parser.text;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.vinniks.parsla.syntaxtree.SyntaxTreeBuilder;
+import org.vinniks.parsla.syntaxtree.SyntaxTreeNode;
+import org.vinniks.parsla.tokenizer.text.TextPosition;
+import org.vinniks.parsla.tokenizer.text.buffered.BufferedCharacterIterator;
+import org.vinniks.parsla.tokenizer.text.buffered.CharacterBufferCache;
+import org.vinniks.parsla.util.VirtualThreads;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public final class ParseService implements AutoCloseable {
+    private static final int CHARACTER_BUFFER_SIZE = 8 * 1024;
+
+    private final TextParser parser;
+    private final String rootRuleName;
+
+    @Getter
+    private final int concurrencyLimit;
+
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final CharacterBufferCache characterBufferCache;
+
+    public ParseService(@NonNull TextParser parser, String rootRuleName, int concurrencyLimit) {
+        if (concurrencyLimit < 1) {
+            throw new IllegalArgumentException("concurrency limit can not be less than 1");
+        }
+
+        parser.entryPoint(rootRuleName);
+
+        this.parser = parser;
+        this.rootRuleName = rootRuleName;
+        this.concurrencyLimit = concurrencyLimit;
+        permits = new Semaphore(concurrencyLimit);
+        executor = VirtualThreads.newExecutor(concurrencyLimit);
+        characterBufferCache = new CharacterBufferCache(CHARACTER_BUFFER_SIZE, concurrencyLimit);
+    }
+
+    public ParseService(TextParser parser, String rootRuleName) {
+        this(parser, rootRuleName, Runtime.getRuntime().availableProcessors());
+    }
+
+    public CompletableFuture<SyntaxTreeNode<TextPosition>> submit(@NonNull Reader source) throws InterruptedException {
+        return submit(() -> parse(source));
+    }
+
+    public void parseAll(
+        @NonNull Stream<Path> paths,
+        @NonNull ParseResultOrder order,
+        @NonNull Consumer<ParseResult> resultConsumer
+    ) throws InterruptedException {
+        var pendingResults = order == ParseResultOrder.SUBMISSION
+            ? new SubmissionOrderResults()
+            : new CompletionOrderResults();
+
+        var pathIterator = paths.iterator();
+
+        while (pathIterator.hasNext()) {
+            while (pendingResults.size() >= concurrencyLimit) {
+                resultConsumer.accept(pendingResults.take());
+            }
+
+            var path = pathIterator.next();
+
+            pendingResults.add(
+                submit(() -> parse(path)).handle((syntaxTree, error) -> new ParseResult(path, syntaxTree, error))
+            );
+
+            for (var result = pendingResults.poll(); result != null; result = pendingResults.poll()) {
+                resultConsumer.accept(result);
+            }
+        }
+
+        while (pendingResults.size() > 0) {
+            resultConsumer.accept(pendingResults.take());
+        }
+    }
+
+    public void parseAll(Stream<Path> paths, Consumer<ParseResult> resultConsumer) throws InterruptedException {
+        parseAll(paths, ParseResultOrder.SUBMISSION, resultConsumer);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Unlike TextParser.parse(Path), malformed UTF-8 is replaced rather than reported.
+    private SyntaxTreeNode<TextPosition> parse(Path path) throws IOException {
+        try (var source = new InputStreamReader(Files.newInputStream(path), UTF_8)) {
+            return parse(source);
+        }
+    }
+
+    // At most concurrencyLimit parses are in flight, so each of them reads through a cached buffer.
+    private SyntaxTreeNode<TextPosition> parse(Reader source) throws IOException {
+        var syntaxTreeBuilder = new SyntaxTreeBuilder<TextPosition>();
+        var characterIterator = new BufferedCharacterIterator(source, characterBufferCache);
+
+        try (var tokenIterator = parser.getTokenizer().tokenize(characterIterator)) {
+            parser.parse(tokenIterator, rootRuleName, syntaxTreeBuilder);
+        }
+
+        return syntaxTreeBuilder.build();
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> task) throws InterruptedException {
+        var future = new CompletableFuture<T>();
+        permits.acquire();
+
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+
+        return future;
+    }
+
+    private interface PendingResults {
+        void add(CompletableFuture<ParseResult> result);
+
+        int size();
+
+        ParseResult take() throws InterruptedException;
+
+        ParseResult poll();
+    }
+
+    private static final class SubmissionOrderResults implements PendingResults {
+        private final Deque<CompletableFuture<ParseResult>> results = new ArrayDeque<>();
+
+        @Override
+        public void add(CompletableFuture<ParseResult> result) {
+            results.add(result);
+        }
+
+        @Override
+        public int size() {
+            return results.size();
+        }
+
+        @Override
+        public ParseResult take() {
+            return results.remove().join();
+        }
+
+        @Override
+        public ParseResult poll() {
+            return !results.isEmpty() && results.peek().isDone() ? take() : null;
+        }
+    }
+
+    private static final class CompletionOrderResults implements PendingResults {
+        private final BlockingQueue<ParseResult> completedResults = new LinkedBlockingQueue<>();
+        private int size;
+
+        @Override
+        public void add(CompletableFuture<ParseResult> result) {
+            size++;
+            result.thenAccept(completedResults::add);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public ParseResult take() throws InterruptedException {
+            var result = completedResults.take();
+            size--;
+            return result;
+        }
+
+        @Override
+        public ParseResult poll() {
+            var result = completedResults.poll();
+
+            if (result != null) {
+                size--;
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.vinniks.parsla.parser.text;
+
+import lombok.NonNull;
+import lombok.Value;
+
+@Value
+public class TextEdit {
+    int offset;
+    int length;
+    String replacement;
+
+    public TextEdit(int offset, int length, @NonNull String replacement) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset can not be less than 0");
+        }
+
+        if (length < 0) {
+            throw new IllegalArgumentException("length can not be less than 0");
+        }
+
+        this.offset = offset;
+        this.length = length;
+        this.replacement = replacement;
+    }
+
+    public static TextEdit insert(int offset, String text) {
+        return new TextEdit(offset, 0, text);
+    }
+
+    public static TextEdit delete(int offset, int length) {
+        return new TextEdit(offset, length, "");
+    }
+}
@@ -0,0 +1,84 @@
+package org.vinniks.parsla.parser.text;
+
+import lombok.NonNull;
+import org.vinniks.parsla.parser.ParseSession;
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+import org.vinniks.parsla.tokenizer.text.PipelinedTextTokenizer;
+import org.vinniks.parsla.tokenizer.text.TextPosition;
+import org.vinniks.parsla.tokenizer.text.TextTokenizer;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+public final class TextParseSession implements AutoCloseable {
+    private final ParseSession<TextPosition> session;
+    private final CharBufferCharacterIterator characterIterator;
+    private final TokenIterator<TextPosition> tokenIterator;
+
+    TextParseSession(ParseSession<TextPosition> session, TextTokenizer tokenizer) throws IOException {
+        this.session = session;
+        characterIterator = new CharBufferCharacterIterator();
+
+        // Fed characters are only readable until feedChars returns, so they are tokenized on the calling thread.
+        if (tokenizer instanceof PipelinedTextTokenizer pipelinedTokenizer) {
+            tokenizer = pipelinedTokenizer.getTokenizer();
+        }
+
+        tokenIterator = tokenizer.tokenize(characterIterator);
+    }
+
+    public void feed(@NonNull Token token, TextPosition position) {
+        session.feed(token, position);
+    }
+
+    public void feedChars(@NonNull CharBuffer characters) throws IOException {
+        ensureOpen();
+        characterIterator.feed(characters);
+
+        try {
+            feedTokens();
+        } finally {
+            characterIterator.feed(null);
+        }
+    }
+
+    public void finish() throws IOException {
+        ensureOpen();
+        characterIterator.finish();
+
+        try {
+            feedTokens();
+            session.finish();
+        } finally {
+            close();
+        }
+    }
+
+    public boolean isOpen() {
+        return session.isOpen();
+    }
+
+    @Override
+    public void close() {
+        tokenIterator.close();
+        session.close();
+    }
+
+    private void ensureOpen() {
+        if (!session.isOpen()) {
+            throw new IllegalStateException("parse session is closed");
+        }
+    }
+
+    private void feedTokens() throws IOException {
+        try {
+            while (tokenIterator.hasNext()) {
+                session.feed(tokenIterator.next(), tokenIterator.position());
+            }
+        } catch (RuntimeException | IOException e) {
+            close();
+            throw e;
+        }
+    }
+}
@@ -1,36 +1,71 @@
 package org.vinniks.parsla.parser.text;
 
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.SneakyThrows;
+import org.vinniks.parsla.exception.GrammarException;
 import org.vinniks.parsla.grammar.Grammar;
 import org.vinniks.parsla.parser.NoActionListener;
+import org.vinniks.parsla.parser.ParseEventPublisher;
 import org.vinniks.parsla.parser.Parser;
+import org.vinniks.parsla.parser.ParserEngine;
 import org.vinniks.parsla.parser.ParserOutputListener;
+import org.vinniks.parsla.syntaxtree.RecordSyntaxTreeBuilder;
 import org.vinniks.parsla.syntaxtree.SyntaxTreeBuilder;
 import org.vinniks.parsla.syntaxtree.SyntaxTreeNode;
+import org.vinniks.parsla.tokenizer.text.MappedFileCharacterIterator;
 import org.vinniks.parsla.tokenizer.text.TextPosition;
 import org.vinniks.parsla.tokenizer.text.TextTokenizer;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 import static java.util.Collections.emptySet;
 
 @SuppressWarnings("unused")
 public class TextParser extends Parser<TextPosition> {
+    @Getter(AccessLevel.PACKAGE)
     private final TextTokenizer tokenizer;
 
-    public TextParser(Grammar grammar, Set<String> ignoredTokenTypes, @NonNull TextTokenizer tokenizer) {
-        super(grammar, ignoredTokenTypes);
+    public TextParser(
+        Grammar grammar,
+        Set<String> ignoredTokenTypes,
+        ParserEngine engine,
+        @NonNull TextTokenizer tokenizer
+    ) {
+        super(grammar, ignoredTokenTypes, engine);
         this.tokenizer = tokenizer;
     }
 
+    public TextParser(Grammar grammar, Set<String> ignoredTokenTypes, TextTokenizer tokenizer) {
+        this(grammar, ignoredTokenTypes, ParserEngine.lookAhead(), tokenizer);
+    }
+
     public TextParser(Grammar grammar, TextTokenizer tokenizer) {
         this(grammar, emptySet(), tokenizer);
     }
 
+    public TextParser(Grammar grammar, ParserEngine engine) {
+        this(grammar, emptySet(), engine, grammarTokenizer(grammar));
+    }
+
+    public TextParser(Grammar grammar) {
+        this(grammar, grammarTokenizer(grammar));
+    }
+
+    private static TextTokenizer grammarTokenizer(@NonNull Grammar grammar) {
+        return grammar.getTokenizer().orElseThrow(() -> new GrammarException("Grammar does not define any tokens"));
+    }
+
     public void parse(@NonNull Reader source, String rootRuleName, ParserOutputListener<TextPosition> outputListener) throws IOException {
         try (var tokenIterator = tokenizer.getTokenIterator(source)) {
             parse(tokenIterator, rootRuleName, outputListener);
@@ -57,6 +92,83 @@ public class TextParser extends Parser<TextPosition> {
         }
     }
 
+    public void parse(@NonNull Path source, String rootRuleName, ParserOutputListener<TextPosition> outputListener) throws IOException {
+        try (
+            var characterIterator = new MappedFileCharacterIterator(source);
+            var tokenIterator = tokenizer.tokenize(characterIterator)
+        ) {
+            parse(tokenIterator, rootRuleName, outputListener);
+        }
+    }
+
+    public SyntaxTreeNode<TextPosition> parse(Path source, String rootRuleName) throws IOException {
+        var syntaxTreeBuilder = new SyntaxTreeBuilder<TextPosition>();
+        parse(source, rootRuleName, syntaxTreeBuilder);
+        return syntaxTreeBuilder.build();
+    }
+
+    public void parseRecords(
+        @NonNull Reader source,
+        String recordRuleName,
+        Consumer<SyntaxTreeNode<TextPosition>> recordConsumer
+    ) throws IOException {
+        var recordSyntaxTreeBuilder = new RecordSyntaxTreeBuilder<>(recordConsumer);
+
+        try (var tokenIterator = tokenizer.getTokenIterator(source)) {
+            recordEntryPoint(recordRuleName).parse(tokenIterator, recordSyntaxTreeBuilder);
+        }
+
+        recordSyntaxTreeBuilder.finish();
+    }
+
+    public IncrementalDocument parseDocument(@NonNull String source, String recordRuleName) throws IOException {
+        return IncrementalDocument.parse(this, recordRuleName, source);
+    }
+
+    public void parseParallel(
+        @NonNull Reader source,
+        String chunkRuleName,
+        @NonNull String separatorTokenType,
+        @NonNull ForkJoinPool pool,
+        @NonNull ParserOutputListener<TextPosition> outputListener
+    ) throws IOException {
+        recordEntryPoint(chunkRuleName);
+        var parallelParse = new ParallelParse(this, chunkRuleName);
+
+        try (var tokenIterator = tokenizer.getTokenIterator(source)) {
+            parallelParse.split(tokenIterator, separatorTokenType);
+        }
+
+        parallelParse.parse(pool, outputListener);
+    }
+
+    public List<SyntaxTreeNode<TextPosition>> parseParallel(
+        Reader source,
+        String chunkRuleName,
+        String separatorTokenType
+    ) throws IOException {
+        var chunks = new ArrayList<SyntaxTreeNode<TextPosition>>();
+        var recordSyntaxTreeBuilder = new RecordSyntaxTreeBuilder<TextPosition>(chunks::add);
+        parseParallel(source, chunkRuleName, separatorTokenType, ForkJoinPool.commonPool(), recordSyntaxTreeBuilder);
+        recordSyntaxTreeBuilder.finish();
+        return chunks;
+    }
+
+    public ParseEventPublisher<TextPosition> publisher(
+        @NonNull Reader source,
+        String rootRuleName,
+        Executor executor
+    ) throws IOException {
+        return new ParseEventPublisher<>(entryPoint(rootRuleName), tokenizer.getTokenIterator(source), executor);
+    }
+
+    public TextParseSession textSession(
+        String rootRuleName,
+        ParserOutputListener<TextPosition> outputListener
+    ) throws IOException {
+        return new TextParseSession(session(rootRuleName, outputListener), tokenizer);
+    }
+
     public void validate(Reader source, String rootRuleName) throws IOException {
         parse(source, rootRuleName, new NoActionListener<>());
     }
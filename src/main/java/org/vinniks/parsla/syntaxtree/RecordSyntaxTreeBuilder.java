@@ -0,0 +1,58 @@
+package org.vinniks.parsla.syntaxtree;
+
+import lombok.NonNull;
+import org.vinniks.parsla.parser.ParserOutputListener;
+
+import java.util.function.Consumer;
+
+import static java.util.Collections.emptyList;
+
+public class RecordSyntaxTreeBuilder<P> implements ParserOutputListener<P> {
+    private final Consumer<SyntaxTreeNode<P>> recordConsumer;
+    private SyntaxTreeBuilder<P> recordBuilder;
+    private int depth;
+
+    public RecordSyntaxTreeBuilder(@NonNull Consumer<SyntaxTreeNode<P>> recordConsumer) {
+        this.recordConsumer = recordConsumer;
+    }
+
+    @Override
+    public void enter(P position, String value) {
+        if (depth == 0) {
+            finish();
+            recordBuilder = new SyntaxTreeBuilder<>();
+        }
+
+        recordBuilder.enter(position, value);
+        depth++;
+    }
+
+    @Override
+    public void exit() {
+        depth--;
+
+        if (depth == 0) {
+            finish();
+        } else {
+            recordBuilder.exit();
+        }
+    }
+
+    @Override
+    public void tap(P position, String value) {
+        if (depth == 0) {
+            recordConsumer.accept(new SyntaxTreeNode<>(position, value, emptyList()));
+        } else {
+            recordBuilder.tap(position, value);
+        }
+    }
+
+    public void finish() {
+        if (recordBuilder != null) {
+            var record = recordBuilder.build();
+            recordBuilder = null;
+            depth = 0;
+            recordConsumer.accept(record);
+        }
+    }
+}
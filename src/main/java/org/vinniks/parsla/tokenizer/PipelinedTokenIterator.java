@@ -0,0 +1,224 @@
+package org.vinniks.parsla.tokenizer;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.vinniks.parsla.util.VirtualThreads;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public final class PipelinedTokenIterator<P> implements TokenIterator<P> {
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final int DEFAULT_BATCH_COUNT = 16;
+
+    private static final int SPIN_COUNT = 64;
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final TokenIterator<P> source;
+    private final Batch[] batches;
+    private final int mask;
+    private final CountDownLatch producerFinished;
+
+    private volatile long head;
+    private volatile long tail;
+    private volatile boolean closed;
+    private volatile Thread waitingProducer;
+    private volatile Thread waitingConsumer;
+
+    private Batch batch;
+    private int index;
+    private P position;
+
+    public PipelinedTokenIterator(@NonNull TokenIterator<P> source, int batchSize, int batchCount) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size can not be less than 1");
+        }
+
+        if (batchCount < 1) {
+            throw new IllegalArgumentException("batch count can not be less than 1");
+        }
+
+        var capacity = Integer.highestOneBit(batchCount);
+        capacity = capacity < batchCount ? capacity << 1 : capacity;
+
+        this.source = source;
+        batches = new Batch[capacity];
+        mask = capacity - 1;
+        producerFinished = new CountDownLatch(1);
+
+        for (var i = 0; i < capacity; i++) {
+            batches[i] = new Batch(batchSize);
+        }
+
+        VirtualThreads.start(this::produce);
+    }
+
+    public PipelinedTokenIterator(TokenIterator<P> source) {
+        this(source, DEFAULT_BATCH_SIZE, DEFAULT_BATCH_COUNT);
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        if (batch != null && index < batch.size) {
+            return true;
+        }
+
+        if (batch != null) {
+            if (batch.last) {
+                return throwError(batch);
+            }
+
+            releaseBatch();
+        }
+
+        batch = awaitBatch();
+        index = 0;
+        return index < batch.size || throwError(batch);
+    }
+
+    @Override
+    public Token next() throws IOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        @SuppressWarnings("unchecked")
+        var tokenPosition = (P) batch.positions[index];
+
+        position = tokenPosition;
+        var token = batch.tokens[index];
+        batch.tokens[index] = null;
+        batch.positions[index] = null;
+        index++;
+
+        return token;
+    }
+
+    @Override
+    public P position() {
+        return position;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(waitingProducer);
+
+        try {
+            producerFinished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void produce() {
+        try {
+            while (!closed) {
+                var batch = awaitFreeBatch();
+
+                if (batch == null) {
+                    return;
+                }
+
+                batch.fill(source);
+                tail = tail + 1;
+                LockSupport.unpark(waitingConsumer);
+
+                if (batch.last) {
+                    return;
+                }
+            }
+        } finally {
+            source.close();
+            producerFinished.countDown();
+        }
+    }
+
+    private Batch awaitFreeBatch() {
+        for (var spins = 0; tail - head == batches.length; spins++) {
+            if (closed) {
+                return null;
+            } else if (spins < SPIN_COUNT) {
+                Thread.onSpinWait();
+            } else {
+                waitingProducer = Thread.currentThread();
+
+                if (tail - head == batches.length && !closed) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+
+                waitingProducer = null;
+            }
+        }
+
+        return batches[(int) (tail & mask)];
+    }
+
+    private Batch awaitBatch() throws IOException {
+        for (var spins = 0; head == tail; spins++) {
+            if (closed) {
+                throw new IOException("token iterator is closed");
+            } else if (spins < SPIN_COUNT) {
+                Thread.onSpinWait();
+            } else {
+                waitingConsumer = Thread.currentThread();
+
+                if (head == tail) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+
+                waitingConsumer = null;
+            }
+        }
+
+        return batches[(int) (head & mask)];
+    }
+
+    private void releaseBatch() {
+        batch = null;
+        head = head + 1;
+        LockSupport.unpark(waitingProducer);
+    }
+
+    @SneakyThrows
+    private boolean throwError(Batch batch) {
+        if (batch.error != null) {
+            throw batch.error;
+        }
+
+        return false;
+    }
+
+    private static final class Batch {
+        private final Token[] tokens;
+        private final Object[] positions;
+        private int size;
+        private boolean last;
+        private Throwable error;
+
+        private Batch(int batchSize) {
+            tokens = new Token[batchSize];
+            positions = new Object[batchSize];
+        }
+
+        private void fill(TokenIterator<?> source) {
+            size = 0;
+
+            try {
+                while (size < tokens.length && source.hasNext()) {
+                    tokens[size] = source.next();
+                    positions[size] = source.position();
+                    size++;
+                }
+
+                last = size < tokens.length;
+            } catch (Throwable e) {
+                error = e;
+                last = true;
+            }
+        }
+    }
+}
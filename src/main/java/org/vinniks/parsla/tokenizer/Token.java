@@ -3,8 +3,10 @@ package org.vinniks.parsla.tokenizer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
 @Value
+@NonFinal
 @RequiredArgsConstructor
 public class Token {
     @NonNull
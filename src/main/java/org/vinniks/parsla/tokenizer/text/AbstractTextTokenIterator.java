@@ -10,7 +10,12 @@ import java.util.Deque;
 import java.util.NoSuchElementException;
 
 public abstract class AbstractTextTokenIterator implements TokenIterator<TextPosition> {
+    private static final int WINDOW_SIZE = 1024;
+
     private final CharacterIterator characterIterator;
+    private final char[] window;
+    private int windowStart;
+    private int windowLimit;
 
     private final Deque<Token> tokens;
     private final Deque<TextPosition> positions;
@@ -18,9 +23,11 @@ public abstract class AbstractTextTokenIterator implements TokenIterator<TextPos
     private int column;
 
     private TextPosition position;
+    private boolean ended;
 
     protected AbstractTextTokenIterator(@NonNull CharacterIterator characterIterator) {
         this.characterIterator = characterIterator;
+        window = new char[WINDOW_SIZE];
         tokens = new ArrayDeque<>();
         positions = new ArrayDeque<>();
         line = 1;
@@ -34,6 +41,18 @@ public abstract class AbstractTextTokenIterator implements TokenIterator<TextPos
 
     protected abstract void character(char c);
 
+    protected int scan(char[] characters, int offset, int limit) {
+        var i = offset;
+
+        while (i < limit && tokens.isEmpty()) {
+            var c = characters[i++];
+            character(c);
+            advance(c);
+        }
+
+        return i;
+    }
+
     protected abstract void end();
 
     @Override
@@ -66,23 +85,44 @@ public abstract class AbstractTextTokenIterator implements TokenIterator<TextPos
         return new TextPosition(line, column);
     }
 
+    protected final boolean hasPendingTokens() {
+        return !tokens.isEmpty();
+    }
+
+    protected final void advance(char[] characters, int offset, int limit) {
+        for (var i = offset; i < limit; i++) {
+            advance(characters[i]);
+        }
+    }
+
+    private void advance(char c) {
+        if (c == '\n') {
+            line++;
+            column = 1;
+        } else {
+            column++;
+        }
+    }
+
     private void ensureNextToken() throws IOException {
-        if (tokens.isEmpty() && characterIterator.hasNext()) {
-            while (tokens.isEmpty() && characterIterator.hasNext()) {
-                var c = characterIterator.next();
-                character(c);
-
-                if (c == '\n') {
-                    line++;
-                    column = 1;
-                } else {
-                    column++;
-                }
-            }
-
-            if (!characterIterator.hasNext()) {
-                end();
-            }
+        while (tokens.isEmpty() && ensureWindow()) {
+            windowStart = scan(window, windowStart, windowLimit);
+        }
+
+        if (!ended && windowStart == windowLimit && characterIterator.isEnded()) {
+            ended = true;
+            end();
         }
     }
+
+    private boolean ensureWindow() throws IOException {
+        if (windowStart < windowLimit) {
+            return true;
+        }
+
+        var count = characterIterator.read(window, 0, window.length);
+        windowStart = 0;
+        windowLimit = Math.max(count, 0);
+        return count > 0;
+    }
 }
@@ -7,6 +7,24 @@ public interface CharacterIterator extends AutoCloseable {
 
     char next() throws IOException;
 
+    default boolean isEnded() throws IOException {
+        return !hasNext();
+    }
+
+    default int read(char[] buffer, int offset, int length) throws IOException {
+        var count = 0;
+
+        while (count < length && hasNext()) {
+            buffer[offset + count++] = next();
+        }
+
+        if (count > 0) {
+            return count;
+        }
+
+        return isEnded() ? -1 : 0;
+    }
+
     @Override
     default void close() {}
 }
@@ -0,0 +1,35 @@
+package org.vinniks.parsla.tokenizer.text;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.Reader;
+
+final class CharacterIteratorReader extends Reader {
+    private final CharacterIterator characterIterator;
+
+    CharacterIteratorReader(@NonNull CharacterIterator characterIterator) {
+        this.characterIterator = characterIterator;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        var count = characterIterator.read(buffer, offset, length);
+
+        // A reader can not report that more characters are yet to come, so pushed input needs a tokenizer reading the iterator itself.
+        if (count == 0) {
+            throw new IOException("characters are not available yet");
+        }
+
+        return count;
+    }
+
+    @Override
+    public void close() {
+        characterIterator.close();
+    }
+}
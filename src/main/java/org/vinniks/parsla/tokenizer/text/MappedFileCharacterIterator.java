@@ -0,0 +1,147 @@
+package org.vinniks.parsla.tokenizer.text;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public final class MappedFileCharacterIterator implements CharacterIterator {
+    private static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    private final CharsetDecoder decoder;
+    private final CharBuffer characters;
+
+    private ByteBuffer window;
+    private long windowOffset;
+    private boolean ended;
+
+    public MappedFileCharacterIterator(@NonNull Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE, CHUNK_SIZE);
+    }
+
+    MappedFileCharacterIterator(Path path, int windowSize, int chunkSize) throws IOException {
+        if (windowSize < 4) {
+            throw new IllegalArgumentException("window size can not be less than 4");
+        }
+
+        if (chunkSize < 2) {
+            throw new IllegalArgumentException("chunk size can not be less than 2");
+        }
+
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            size = channel.size();
+            this.windowSize = windowSize;
+            decoder = UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+            characters = CharBuffer.allocate(chunkSize).flip();
+            map(0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        return ensureCharacters();
+    }
+
+    @Override
+    public char next() throws IOException {
+        ensureCharacters();
+        return characters.get();
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (!ensureCharacters()) {
+            return -1;
+        }
+
+        var count = Math.min(length, characters.remaining());
+        characters.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    @SneakyThrows
+    public void close() {
+        channel.close();
+    }
+
+    private boolean ensureCharacters() throws IOException {
+        while (!characters.hasRemaining()) {
+            if (ended) {
+                return false;
+            }
+
+            var lastWindow = windowOffset + window.limit() == size;
+            decode(lastWindow);
+
+            if (!characters.hasRemaining()) {
+                if (lastWindow) {
+                    ended = true;
+                } else {
+                    // An incomplete sequence at the end of the window is decoded again from the next mapping.
+                    map(windowOffset + window.position());
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void decode(boolean endOfInput) throws IOException {
+        characters.clear();
+
+        var chars = characters.array();
+        var start = window.position();
+        var count = 0;
+        var asciiLimit = Math.min(chars.length, window.limit() - start);
+
+        while (count < asciiLimit) {
+            var b = window.get(start + count);
+
+            if (b < 0) {
+                break;
+            }
+
+            chars[count++] = (char) b;
+        }
+
+        window.position(start + count);
+        characters.position(count);
+
+        if (characters.hasRemaining() && window.hasRemaining()) {
+            var result = decoder.decode(window, characters, endOfInput);
+
+            // Characters decoded before a malformed sequence are handed out first; the error is raised on the next call.
+            if (result.isError() && characters.position() == 0) {
+                result.throwException();
+            }
+        }
+
+        characters.flip();
+    }
+
+    private void map(long offset) throws IOException {
+        windowOffset = offset;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, size - offset));
+    }
+}
@@ -0,0 +1,37 @@
+package org.vinniks.parsla.tokenizer.text;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.vinniks.parsla.tokenizer.PipelinedTokenIterator;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public final class PipelinedTextTokenizer implements TextTokenizer {
+    @Getter
+    private final TextTokenizer tokenizer;
+
+    private final int batchSize;
+    private final int batchCount;
+
+    public PipelinedTextTokenizer(@NonNull TextTokenizer tokenizer, int batchSize, int batchCount) {
+        this.tokenizer = tokenizer;
+        this.batchSize = batchSize;
+        this.batchCount = batchCount;
+    }
+
+    public PipelinedTextTokenizer(TextTokenizer tokenizer) {
+        this(tokenizer, PipelinedTokenIterator.DEFAULT_BATCH_SIZE, PipelinedTokenIterator.DEFAULT_BATCH_COUNT);
+    }
+
+    @Override
+    public TokenIterator<TextPosition> getTokenIterator(Reader source) throws IOException {
+        return new PipelinedTokenIterator<>(tokenizer.getTokenIterator(source), batchSize, batchCount);
+    }
+
+    @Override
+    public TokenIterator<TextPosition> tokenize(CharacterIterator characterIterator) throws IOException {
+        return new PipelinedTokenIterator<>(tokenizer.tokenize(characterIterator), batchSize, batchCount);
+    }
+}
@@ -7,4 +7,9 @@ import java.io.Reader;
 
 public interface TextTokenizer {
     TokenIterator<TextPosition> getTokenIterator(Reader source) throws IOException;
+
+    // Tokenizers reading characters directly should override this rather than going through a Reader.
+    default TokenIterator<TextPosition> tokenize(CharacterIterator characterIterator) throws IOException {
+        return getTokenIterator(new CharacterIteratorReader(characterIterator));
+    }
 }
@@ -22,4 +22,9 @@ public abstract class AbstractBufferedTextTokenizer implements TextTokenizer {
         var characterIterator = new BufferedCharacterIterator(source, characterBufferProvider);
         return getTokenIterator(characterIterator);
     }
+
+    @Override
+    public TokenIterator<TextPosition> tokenize(@NonNull CharacterIterator characterIterator) {
+        return getTokenIterator(characterIterator);
+    }
 }
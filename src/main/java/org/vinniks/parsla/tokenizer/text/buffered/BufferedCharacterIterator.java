@@ -36,6 +36,20 @@ public class BufferedCharacterIterator implements CharacterIterator {
         return buffer[i++];
     }
 
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        ensureNext();
+
+        if (charactersRead == -1) {
+            return -1;
+        }
+
+        var count = Math.min(length, charactersRead - i);
+        System.arraycopy(this.buffer, i, buffer, offset, count);
+        i += count;
+        return count;
+    }
+
     @Override
     public void close() {
         characterBufferProvider.releaseBuffer(buffer);
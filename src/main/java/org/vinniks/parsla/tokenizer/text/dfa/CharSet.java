@@ -0,0 +1,114 @@
+package org.vinniks.parsla.tokenizer.text.dfa;
+
+import java.util.Arrays;
+
+final class CharSet {
+    static final CharSet ALL = new CharSet(new int[]{Character.MIN_VALUE, Character.MAX_VALUE});
+
+    private final int[] ranges;
+
+    private CharSet(int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    static CharSet of(char c) {
+        return new CharSet(new int[]{c, c});
+    }
+
+    static CharSet range(char from, char to) {
+        return new CharSet(new int[]{from, to});
+    }
+
+    static CharSet of(String characters) {
+        var set = new CharSet(new int[0]);
+
+        for (var i = 0; i < characters.length(); i++) {
+            set = set.union(of(characters.charAt(i)));
+        }
+
+        return set;
+    }
+
+    int rangeCount() {
+        return ranges.length / 2;
+    }
+
+    char from(int range) {
+        return (char) ranges[range * 2];
+    }
+
+    char to(int range) {
+        return (char) ranges[range * 2 + 1];
+    }
+
+    boolean contains(char c) {
+        var low = 0;
+        var high = ranges.length / 2 - 1;
+
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+
+            if (c < ranges[middle * 2]) {
+                high = middle - 1;
+            } else if (c > ranges[middle * 2 + 1]) {
+                low = middle + 1;
+            } else {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    boolean isEmpty() {
+        return ranges.length == 0;
+    }
+
+    CharSet union(CharSet other) {
+        var bounds = Arrays.copyOf(ranges, ranges.length + other.ranges.length);
+        System.arraycopy(other.ranges, 0, bounds, ranges.length, other.ranges.length);
+
+        var order = new Integer[bounds.length / 2];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (first, second) -> Integer.compare(bounds[first * 2], bounds[second * 2]));
+
+        var merged = new int[bounds.length];
+        var size = 0;
+
+        for (var index : order) {
+            var from = bounds[index * 2];
+            var to = bounds[index * 2 + 1];
+
+            if (size > 0 && from <= merged[size - 1] + 1) {
+                merged[size - 1] = Math.max(merged[size - 1], to);
+            } else {
+                merged[size++] = from;
+                merged[size++] = to;
+            }
+        }
+
+        return new CharSet(Arrays.copyOf(merged, size));
+    }
+
+    CharSet complement() {
+        var complement = new int[ranges.length + 2];
+        var size = 0;
+        var from = (int) Character.MIN_VALUE;
+
+        for (var i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > from) {
+                complement[size++] = from;
+                complement[size++] = ranges[i] - 1;
+            }
+
+            from = ranges[i + 1] + 1;
+        }
+
+        if (from <= Character.MAX_VALUE) {
+            complement[size++] = from;
+            complement[size++] = Character.MAX_VALUE;
+        }
+
+        return new CharSet(Arrays.copyOf(complement, size));
+    }
+}
@@ -0,0 +1,310 @@
+package org.vinniks.parsla.tokenizer.text.dfa;
+
+import org.vinniks.parsla.exception.GrammarException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+
+final class Dfa {
+    static final int DEAD_STATE = -1;
+
+    private static final int ASCII_SIZE = 128;
+    private static final int MAX_STATE_COUNT = 65536;
+
+    private final int classCount;
+    private final int[] asciiClasses;
+    private final char[] rangeStarts;
+    private final int[] rangeClasses;
+    private final int[] transitions;
+    private final int[] accepts;
+
+    private Dfa(int classCount, int[] asciiClasses, char[] rangeStarts, int[] rangeClasses, int[] transitions, int[] accepts) {
+        this.classCount = classCount;
+        this.asciiClasses = asciiClasses;
+        this.rangeStarts = rangeStarts;
+        this.rangeClasses = rangeClasses;
+        this.transitions = transitions;
+        this.accepts = accepts;
+    }
+
+    static Dfa compile(List<TokenDefinition> definitions) {
+        var nfa = new Nfa();
+        var nfaStart = nfa.addState();
+
+        for (var i = 0; i < definitions.size(); i++) {
+            var definition = definitions.get(i);
+            var node = definition.isRegex() ? RegexParser.parse(definition.getPattern()) : RegexParser.literal(definition.getPattern());
+            var fragment = nfa.add(node);
+            nfa.addEpsilon(nfaStart, fragment[0]);
+            nfa.setAccept(fragment[1], i);
+        }
+
+        return new Builder(nfa, nfaStart, definitions).build();
+    }
+
+    int getStartState() {
+        return 0;
+    }
+
+    int getStateCount() {
+        return accepts.length;
+    }
+
+    int getClassCount() {
+        return classCount;
+    }
+
+    int next(int state, char c) {
+        return transitions[state * classCount + classOf(c)];
+    }
+
+    int accept(int state) {
+        return accepts[state];
+    }
+
+    private int classOf(char c) {
+        if (c < ASCII_SIZE) {
+            return asciiClasses[c];
+        }
+
+        var index = Arrays.binarySearch(rangeStarts, c);
+        return rangeClasses[index >= 0 ? index : -index - 2];
+    }
+
+    private static final class Builder {
+        private final Nfa nfa;
+        private final int nfaStart;
+        private final List<TokenDefinition> definitions;
+        private final List<BitSet> classEdges;
+        private char[] rangeStarts;
+        private int[] rangeClasses;
+        private int[] asciiClasses;
+
+        private Builder(Nfa nfa, int nfaStart, List<TokenDefinition> definitions) {
+            this.nfa = nfa;
+            this.nfaStart = nfaStart;
+            this.definitions = definitions;
+            classEdges = new ArrayList<>();
+        }
+
+        private Dfa build() {
+            createClasses();
+
+            var states = new ArrayList<BitSet>();
+            var stateIds = new HashMap<BitSet, Integer>();
+            var transitions = new ArrayList<int[]>();
+            var start = nfa.closure(singleton(nfaStart));
+            states.add(start);
+            stateIds.put(start, 0);
+
+            for (var state = 0; state < states.size(); state++) {
+                var stateTransitions = new int[classEdges.size()];
+
+                for (var characterClass = 0; characterClass < classEdges.size(); characterClass++) {
+                    var targets = move(states.get(state), classEdges.get(characterClass));
+
+                    if (targets.isEmpty()) {
+                        stateTransitions[characterClass] = DEAD_STATE;
+                    } else {
+                        var closure = nfa.closure(targets);
+                        var target = stateIds.get(closure);
+
+                        if (target == null) {
+                            if (states.size() == MAX_STATE_COUNT) {
+                                throw new GrammarException(String.format("Token definitions produce more than %d DFA states", MAX_STATE_COUNT));
+                            }
+
+                            target = states.size();
+                            states.add(closure);
+                            stateIds.put(closure, target);
+                        }
+
+                        stateTransitions[characterClass] = target;
+                    }
+                }
+
+                transitions.add(stateTransitions);
+            }
+
+            var accepts = new int[states.size()];
+
+            for (var state = 0; state < states.size(); state++) {
+                accepts[state] = accept(states.get(state));
+            }
+
+            if (accepts[0] != DEAD_STATE) {
+                throw new GrammarException(String.format(
+                    "Token type \"%s\" must not match empty input",
+                    definitions.get(accepts[0]).getType()
+                ));
+            }
+
+            return minimize(transitions, accepts);
+        }
+
+        private void createClasses() {
+            var bounds = new TreeSet<Integer>();
+            bounds.add((int) Character.MIN_VALUE);
+
+            for (var state = 0; state < nfa.size(); state++) {
+                var edgeSet = nfa.getEdgeSet(state);
+
+                if (edgeSet != null) {
+                    for (var range = 0; range < edgeSet.rangeCount(); range++) {
+                        bounds.add((int) edgeSet.from(range));
+
+                        if (edgeSet.to(range) < Character.MAX_VALUE) {
+                            bounds.add(edgeSet.to(range) + 1);
+                        }
+                    }
+                }
+            }
+
+            var classIds = new HashMap<BitSet, Integer>();
+            rangeStarts = new char[bounds.size()];
+            rangeClasses = new int[bounds.size()];
+            var range = 0;
+
+            for (var bound : bounds) {
+                var edges = new BitSet();
+
+                for (var state = 0; state < nfa.size(); state++) {
+                    var edgeSet = nfa.getEdgeSet(state);
+
+                    if (edgeSet != null && edgeSet.contains((char) (int) bound)) {
+                        edges.set(state);
+                    }
+                }
+
+                var classId = classIds.get(edges);
+
+                if (classId == null) {
+                    classId = classEdges.size();
+                    classIds.put(edges, classId);
+                    classEdges.add(edges);
+                }
+
+                rangeStarts[range] = (char) (int) bound;
+                rangeClasses[range] = classId;
+                range++;
+            }
+
+            asciiClasses = new int[ASCII_SIZE];
+
+            for (var c = 0; c < ASCII_SIZE; c++) {
+                var index = Arrays.binarySearch(rangeStarts, (char) c);
+                asciiClasses[c] = rangeClasses[index >= 0 ? index : -index - 2];
+            }
+        }
+
+        private BitSet move(BitSet states, BitSet edges) {
+            var targets = new BitSet();
+
+            for (var state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+                if (edges.get(state)) {
+                    targets.set(nfa.getEdgeTarget(state));
+                }
+            }
+
+            return targets;
+        }
+
+        private int accept(BitSet states) {
+            var accept = DEAD_STATE;
+
+            for (var state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+                var definition = nfa.getAccept(state);
+
+                if (
+                    definition >= 0
+                    && (
+                        accept == DEAD_STATE
+                        || definitions.get(definition).getPriority() > definitions.get(accept).getPriority()
+                        || definitions.get(definition).getPriority() == definitions.get(accept).getPriority() && definition < accept
+                    )
+                ) {
+                    accept = definition;
+                }
+            }
+
+            return accept;
+        }
+
+        private Dfa minimize(List<int[]> transitions, int[] accepts) {
+            var stateCount = accepts.length;
+            var classCount = classEdges.size();
+            var blocks = new int[stateCount];
+            var blockCount = partition(stateCount, state -> List.of(accepts[state]), blocks);
+
+            while (true) {
+                var currentBlocks = blocks.clone();
+
+                var refinedBlockCount = partition(stateCount, state -> {
+                    var signature = new ArrayList<Integer>(classCount + 1);
+                    signature.add(currentBlocks[state]);
+
+                    for (var target : transitions.get(state)) {
+                        signature.add(target == DEAD_STATE ? DEAD_STATE : currentBlocks[target]);
+                    }
+
+                    return signature;
+                }, blocks);
+
+                if (refinedBlockCount == blockCount) {
+                    break;
+                }
+
+                blockCount = refinedBlockCount;
+            }
+
+            var minimizedTransitions = new int[blockCount * classCount];
+            var minimizedAccepts = new int[blockCount];
+
+            for (var state = 0; state < stateCount; state++) {
+                var block = blocks[state];
+                minimizedAccepts[block] = accepts[state];
+
+                for (var characterClass = 0; characterClass < classCount; characterClass++) {
+                    var target = transitions.get(state)[characterClass];
+                    minimizedTransitions[block * classCount + characterClass] = target == DEAD_STATE ? DEAD_STATE : blocks[target];
+                }
+            }
+
+            return new Dfa(classCount, asciiClasses, rangeStarts, rangeClasses, minimizedTransitions, minimizedAccepts);
+        }
+
+        private int partition(int stateCount, Signature signature, int[] blocks) {
+            var blockIds = new HashMap<List<Integer>, Integer>();
+
+            // State 0 is visited first, so the start state always ends up in block 0.
+            for (var state = 0; state < stateCount; state++) {
+                var key = signature.of(state);
+                var block = blockIds.get(key);
+
+                if (block == null) {
+                    block = blockIds.size();
+                    blockIds.put(key, block);
+                }
+
+                blocks[state] = block;
+            }
+
+            return blockIds.size();
+        }
+
+        private static BitSet singleton(int state) {
+            var set = new BitSet();
+            set.set(state);
+            return set;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Signature {
+        List<Integer> of(int state);
+    }
+}
@@ -0,0 +1,92 @@
+package org.vinniks.parsla.tokenizer.text.dfa;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+import org.vinniks.parsla.tokenizer.text.CharacterIterator;
+import org.vinniks.parsla.tokenizer.text.TextPosition;
+import org.vinniks.parsla.tokenizer.text.TextTokenizer;
+import org.vinniks.parsla.tokenizer.text.buffered.CharacterBufferProvider;
+import org.vinniks.parsla.util.Validations;
+
+import java.io.Reader;
+import java.util.List;
+
+public final class DfaTextTokenizer implements TextTokenizer {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    @Getter
+    private final List<TokenDefinition> definitions;
+
+    private final CharacterBufferProvider characterBufferProvider;
+    private final Dfa dfa;
+    private final DfaToken[] tokens;
+    private final boolean[] skipped;
+
+    public DfaTextTokenizer(@NonNull List<TokenDefinition> definitions, @NonNull CharacterBufferProvider characterBufferProvider) {
+        Validations.requireNonNullElements(definitions, "Token definitions must not contain nulls");
+
+        if (definitions.isEmpty()) {
+            throw new IllegalArgumentException("token definitions can not be empty");
+        }
+
+        this.definitions = List.copyOf(definitions);
+        this.characterBufferProvider = characterBufferProvider;
+        dfa = Dfa.compile(this.definitions);
+        tokens = new DfaToken[this.definitions.size()];
+        skipped = new boolean[this.definitions.size()];
+
+        for (var i = 0; i < tokens.length; i++) {
+            var definition = this.definitions.get(i);
+            skipped[i] = definition.isSkip();
+
+            if (!definition.isValued()) {
+                tokens[i] = new DfaToken(this, i, definition.getType(), null);
+            } else if (!definition.isRegex()) {
+                tokens[i] = new DfaToken(this, i, definition.getType(), definition.getPattern());
+            }
+        }
+    }
+
+    public DfaTextTokenizer(List<TokenDefinition> definitions) {
+        this(definitions, () -> new char[DEFAULT_BUFFER_SIZE]);
+    }
+
+    @Override
+    public TokenIterator<TextPosition> getTokenIterator(@NonNull Reader source) {
+        return new DfaTokenIterator(this, source::read, null, characterBufferProvider);
+    }
+
+    @Override
+    public TokenIterator<TextPosition> tokenize(@NonNull CharacterIterator characterIterator) {
+        return new DfaTokenIterator(
+            this,
+            characterIterator::read,
+            characterIterator,
+            characterBufferProvider
+        );
+    }
+
+    int getStateCount() {
+        return dfa.getStateCount();
+    }
+
+    Dfa getDfa() {
+        return dfa;
+    }
+
+    Token token(int definition, char[] buffer, int offset, int length) {
+        var token = tokens[definition];
+
+        if (token != null) {
+            return token;
+        }
+
+        return new DfaToken(this, definition, definitions.get(definition).getType(), new String(buffer, offset, length));
+    }
+
+    boolean isSkipped(int definition) {
+        return skipped[definition];
+    }
+}
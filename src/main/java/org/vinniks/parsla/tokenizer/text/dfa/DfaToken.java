@@ -0,0 +1,17 @@
+package org.vinniks.parsla.tokenizer.text.dfa;
+
+import lombok.Getter;
+import org.vinniks.parsla.tokenizer.Token;
+
+// Remembers the accepting definition, so a parser built from the same grammar does not have to look the token up by name.
+@Getter
+public final class DfaToken extends Token {
+    private final DfaTextTokenizer tokenizer;
+    private final int definition;
+
+    DfaToken(DfaTextTokenizer tokenizer, int definition, String type, String value) {
+        super(type, value);
+        this.tokenizer = tokenizer;
+        this.definition = definition;
+    }
+}
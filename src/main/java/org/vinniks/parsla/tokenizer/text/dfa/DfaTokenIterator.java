@@ -0,0 +1,192 @@
+package org.vinniks.parsla.tokenizer.text.dfa;
+
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+import org.vinniks.parsla.tokenizer.text.CharacterIterator;
+import org.vinniks.parsla.tokenizer.text.TextPosition;
+import org.vinniks.parsla.tokenizer.text.buffered.CharacterBufferProvider;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+final class DfaTokenIterator implements TokenIterator<TextPosition> {
+    private final DfaTextTokenizer tokenizer;
+    private final Dfa dfa;
+    private final CharacterSource source;
+    private final CharacterIterator characterIterator;
+    private final CharacterBufferProvider characterBufferProvider;
+    private final char[] initialBuffer;
+
+    private char[] buffer;
+    private int start;
+    private int limit;
+    private boolean ended;
+    private int line;
+    private int column;
+
+    private Token nextToken;
+    private TextPosition nextPosition;
+    private TextPosition position;
+
+    DfaTokenIterator(
+        DfaTextTokenizer tokenizer,
+        CharacterSource source,
+        CharacterIterator characterIterator,
+        CharacterBufferProvider characterBufferProvider
+    ) {
+        this.tokenizer = tokenizer;
+        this.source = source;
+        this.characterIterator = characterIterator;
+        this.characterBufferProvider = characterBufferProvider;
+        dfa = tokenizer.getDfa();
+        initialBuffer = characterBufferProvider.acquireBuffer();
+
+        if (initialBuffer.length == 0) {
+            throw new IllegalArgumentException("buffer size can not be 0");
+        }
+
+        buffer = initialBuffer;
+        line = 1;
+        column = 1;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        if (nextToken == null) {
+            scan();
+        }
+
+        return nextToken != null;
+    }
+
+    @Override
+    public Token next() throws IOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        var token = nextToken;
+        position = nextPosition;
+        nextToken = null;
+        nextPosition = null;
+        return token;
+    }
+
+    @Override
+    public TextPosition position() {
+        return position;
+    }
+
+    @Override
+    public void close() {
+        characterBufferProvider.releaseBuffer(initialBuffer);
+
+        if (characterIterator != null) {
+            characterIterator.close();
+        }
+    }
+
+    private void scan() throws IOException {
+        while (true) {
+            if (start == limit && (ended || !fill())) {
+                return;
+            } else if (start == limit) {
+                continue;
+            }
+
+            var state = dfa.getStartState();
+            var length = 0;
+            var acceptedDefinition = Dfa.DEAD_STATE;
+            var acceptedLength = 0;
+
+            while (true) {
+                if (start + length == limit) {
+                    if (ended) {
+                        break;
+                    } else if (!fill()) {
+                        return;
+                    }
+
+                    continue;
+                }
+
+                state = dfa.next(state, buffer[start + length]);
+
+                if (state == Dfa.DEAD_STATE) {
+                    break;
+                }
+
+                length++;
+                var definition = dfa.accept(state);
+
+                if (definition != Dfa.DEAD_STATE) {
+                    acceptedDefinition = definition;
+                    acceptedLength = length;
+                }
+            }
+
+            if (acceptedDefinition == Dfa.DEAD_STATE) {
+                throw unexpectedCharacter(length);
+            }
+
+            var tokenPosition = new TextPosition(line, column);
+            advance(acceptedLength);
+
+            if (!tokenizer.isSkipped(acceptedDefinition)) {
+                nextToken = tokenizer.token(acceptedDefinition, buffer, start - acceptedLength, acceptedLength);
+                nextPosition = tokenPosition;
+                return;
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (limit == buffer.length) {
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, limit - start);
+                limit -= start;
+                start = 0;
+            } else {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+
+        var count = source.read(buffer, limit, buffer.length - limit);
+
+        if (count < 0) {
+            ended = true;
+        } else if (count == 0) {
+            return false;
+        } else {
+            limit += count;
+        }
+
+        return true;
+    }
+
+    private void advance(int length) {
+        for (var end = start + length; start < end; start++) {
+            if (buffer[start] == '\n') {
+                line++;
+                column = 1;
+            } else {
+                column++;
+            }
+        }
+    }
+
+    private ParsingException unexpectedCharacter(int length) {
+        advance(length);
+
+        return start < limit
+            ? new ParsingException(String.format("unexpected character %s", buffer[start]), new TextPosition(line, column))
+            : new ParsingException("unexpected end of the input", new TextPosition(line, column));
+    }
+
+    @FunctionalInterface
+    interface CharacterSource {
+        int read(char[] buffer, int offset, int length) throws IOException;
+    }
+}
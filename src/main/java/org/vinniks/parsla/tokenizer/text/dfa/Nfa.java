@@ -0,0 +1,132 @@
+package org.vinniks.parsla.tokenizer.text.dfa;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+final class Nfa {
+    private final List<BitSet> epsilonTargets;
+    private final List<CharSet> edgeSets;
+    private final List<Integer> edgeTargets;
+    private final List<Integer> accepts;
+
+    Nfa() {
+        epsilonTargets = new ArrayList<>();
+        edgeSets = new ArrayList<>();
+        edgeTargets = new ArrayList<>();
+        accepts = new ArrayList<>();
+    }
+
+    int size() {
+        return accepts.size();
+    }
+
+    int addState() {
+        epsilonTargets.add(new BitSet());
+        edgeSets.add(null);
+        edgeTargets.add(-1);
+        accepts.add(-1);
+        return accepts.size() - 1;
+    }
+
+    void addEpsilon(int from, int to) {
+        epsilonTargets.get(from).set(to);
+    }
+
+    void setAccept(int state, int definition) {
+        accepts.set(state, definition);
+    }
+
+    int getAccept(int state) {
+        return accepts.get(state);
+    }
+
+    CharSet getEdgeSet(int state) {
+        return edgeSets.get(state);
+    }
+
+    int getEdgeTarget(int state) {
+        return edgeTargets.get(state);
+    }
+
+    int[] add(RegexNode node) {
+        var start = addState();
+        var end = addState();
+        add(node, start, end);
+        return new int[]{start, end};
+    }
+
+    BitSet closure(BitSet states) {
+        var closure = (BitSet) states.clone();
+        var stack = new ArrayList<Integer>();
+        states.stream().forEach(stack::add);
+
+        while (!stack.isEmpty()) {
+            var state = stack.remove(stack.size() - 1);
+            var targets = epsilonTargets.get(state);
+
+            for (var target = targets.nextSetBit(0); target >= 0; target = targets.nextSetBit(target + 1)) {
+                if (!closure.get(target)) {
+                    closure.set(target);
+                    stack.add(target);
+                }
+            }
+        }
+
+        return closure;
+    }
+
+    private void add(RegexNode node, int start, int end) {
+        if (node instanceof RegexNode.Chars chars) {
+            edgeSets.set(start, chars.set);
+            edgeTargets.set(start, end);
+        } else if (node instanceof RegexNode.Sequence sequence) {
+            var from = start;
+
+            for (var item : sequence.nodes) {
+                var to = addState();
+                add(item, from, to);
+                from = to;
+            }
+
+            addEpsilon(from, end);
+        } else if (node instanceof RegexNode.Alternation alternation) {
+            for (var item : alternation.nodes) {
+                var itemStart = addState();
+                addEpsilon(start, itemStart);
+                add(item, itemStart, end);
+            }
+        } else {
+            addRepetition((RegexNode.Repetition) node, start, end);
+        }
+    }
+
+    private void addRepetition(RegexNode.Repetition repetition, int start, int end) {
+        var from = start;
+
+        for (var i = 0; i < repetition.min; i++) {
+            var to = addState();
+            add(repetition.node, from, to);
+            from = to;
+        }
+
+        if (repetition.max == RegexNode.Repetition.UNBOUNDED) {
+            var loopStart = addState();
+            var loopEnd = addState();
+            addEpsilon(from, loopStart);
+            addEpsilon(from, end);
+            add(repetition.node, loopStart, loopEnd);
+            addEpsilon(loopEnd, loopStart);
+            addEpsilon(loopEnd, end);
+        } else {
+            for (var i = repetition.min; i < repetition.max; i++) {
+                var to = addState();
+                addEpsilon(from, end);
+                add(repetition.node, from, to);
+                from = to;
+            }
+
+            addEpsilon(from, end);
+        }
+    }
+}
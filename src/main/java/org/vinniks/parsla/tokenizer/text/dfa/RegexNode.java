@@ -0,0 +1,43 @@
+package org.vinniks.parsla.tokenizer.text.dfa;
+
+import java.util.List;
+
+sealed interface RegexNode {
+    final class Chars implements RegexNode {
+        final CharSet set;
+
+        Chars(CharSet set) {
+            this.set = set;
+        }
+    }
+
+    final class Sequence implements RegexNode {
+        final List<RegexNode> nodes;
+
+        Sequence(List<RegexNode> nodes) {
+            this.nodes = nodes;
+        }
+    }
+
+    final class Alternation implements RegexNode {
+        final List<RegexNode> nodes;
+
+        Alternation(List<RegexNode> nodes) {
+            this.nodes = nodes;
+        }
+    }
+
+    final class Repetition implements RegexNode {
+        static final int UNBOUNDED = -1;
+
+        final RegexNode node;
+        final int min;
+        final int max;
+
+        Repetition(RegexNode node, int min, int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package org.vinniks.parsla.tokenizer.text.dfa;
+
+import org.vinniks.parsla.exception.GrammarException;
+
+import java.util.ArrayList;
+
+final class RegexParser {
+    private static final CharSet DIGITS = CharSet.range('0', '9');
+    private static final CharSet WORD_CHARACTERS = CharSet.range('a', 'z')
+        .union(CharSet.range('A', 'Z'))
+        .union(DIGITS)
+        .union(CharSet.of('_'));
+    private static final CharSet WHITESPACES = CharSet.of(" \t\n\u000B\f\r");
+    private static final CharSet ANY_BUT_LINE_BREAK = CharSet.of("\n\r").complement();
+
+    private final String pattern;
+    private int index;
+
+    private RegexParser(String pattern) {
+        this.pattern = pattern;
+    }
+
+    static RegexNode parse(String pattern) {
+        var parser = new RegexParser(pattern);
+        var node = parser.alternation();
+
+        if (parser.index < pattern.length()) {
+            throw parser.error(String.format("unexpected %s", pattern.charAt(parser.index)));
+        }
+
+        return node;
+    }
+
+    static RegexNode literal(String text) {
+        var nodes = new ArrayList<RegexNode>();
+
+        for (var i = 0; i < text.length(); i++) {
+            nodes.add(new RegexNode.Chars(CharSet.of(text.charAt(i))));
+        }
+
+        return new RegexNode.Sequence(nodes);
+    }
+
+    private RegexNode alternation() {
+        var nodes = new ArrayList<RegexNode>();
+        nodes.add(sequence());
+
+        while (accept('|')) {
+            nodes.add(sequence());
+        }
+
+        return nodes.size() == 1 ? nodes.get(0) : new RegexNode.Alternation(nodes);
+    }
+
+    private RegexNode sequence() {
+        var nodes = new ArrayList<RegexNode>();
+
+        while (index < pattern.length() && pattern.charAt(index) != '|' && pattern.charAt(index) != ')') {
+            nodes.add(repetition());
+        }
+
+        return nodes.size() == 1 ? nodes.get(0) : new RegexNode.Sequence(nodes);
+    }
+
+    private RegexNode repetition() {
+        var node = atom();
+
+        while (index < pattern.length()) {
+            if (accept('*')) {
+                node = new RegexNode.Repetition(node, 0, RegexNode.Repetition.UNBOUNDED);
+            } else if (accept('+')) {
+                node = new RegexNode.Repetition(node, 1, RegexNode.Repetition.UNBOUNDED);
+            } else if (accept('?')) {
+                node = new RegexNode.Repetition(node, 0, 1);
+            } else if (accept('{')) {
+                var min = number();
+                var max = min;
+
+                if (accept(',')) {
+                    max = peek() == '}' ? RegexNode.Repetition.UNBOUNDED : number();
+                }
+
+                expect('}');
+
+                if (max != RegexNode.Repetition.UNBOUNDED && max < min) {
+                    throw error("invalid repetition range");
+                }
+
+                node = new RegexNode.Repetition(node, min, max);
+            } else {
+                break;
+            }
+        }
+
+        return node;
+    }
+
+    private RegexNode atom() {
+        if (accept('(')) {
+            if (accept('?')) {
+                expect(':');
+            }
+
+            var node = alternation();
+            expect(')');
+            return node;
+        } else if (accept('[')) {
+            return new RegexNode.Chars(characterClass());
+        } else if (accept('.')) {
+            return new RegexNode.Chars(ANY_BUT_LINE_BREAK);
+        } else if (accept('\\')) {
+            return new RegexNode.Chars(escape());
+        }
+
+        var c = next();
+
+        if (c == '*' || c == '+' || c == '?' || c == '{') {
+            throw error(String.format("dangling %s", c));
+        }
+
+        return new RegexNode.Chars(CharSet.of(c));
+    }
+
+    private CharSet characterClass() {
+        var negated = accept('^');
+        var set = CharSet.of("");
+        var first = true;
+
+        while (first || peek() != ']') {
+            first = false;
+            CharSet itemSet;
+
+            if (accept('\\')) {
+                itemSet = escape();
+            } else {
+                itemSet = CharSet.of(next());
+            }
+
+            if (itemSet.rangeCount() == 1 && itemSet.from(0) == itemSet.to(0) && peek() == '-' && peek(1) != ']') {
+                index++;
+                var to = accept('\\') ? singleCharacter(escape()) : next();
+
+                if (to < itemSet.from(0)) {
+                    throw error("invalid character range");
+                }
+
+                itemSet = CharSet.range(itemSet.from(0), to);
+            }
+
+            set = set.union(itemSet);
+        }
+
+        expect(']');
+        return negated ? set.complement() : set;
+    }
+
+    private CharSet escape() {
+        var c = next();
+
+        return switch (c) {
+            case 'd' -> DIGITS;
+            case 'D' -> DIGITS.complement();
+            case 'w' -> WORD_CHARACTERS;
+            case 'W' -> WORD_CHARACTERS.complement();
+            case 's' -> WHITESPACES;
+            case 'S' -> WHITESPACES.complement();
+            case 'n' -> CharSet.of('\n');
+            case 'r' -> CharSet.of('\r');
+            case 't' -> CharSet.of('\t');
+            case 'f' -> CharSet.of('\f');
+            case 'u' -> CharSet.of(unicodeCharacter());
+            default -> {
+                if (Character.isLetterOrDigit(c)) {
+                    throw error(String.format("unsupported escape sequence \\%s", c));
+                }
+
+                yield CharSet.of(c);
+            }
+        };
+    }
+
+    private char unicodeCharacter() {
+        if (index + 4 > pattern.length()) {
+            throw error("invalid unicode escape sequence");
+        }
+
+        try {
+            var c = (char) Integer.parseInt(pattern.substring(index, index + 4), 16);
+            index += 4;
+            return c;
+        } catch (NumberFormatException e) {
+            throw error("invalid unicode escape sequence");
+        }
+    }
+
+    private char singleCharacter(CharSet set) {
+        if (set.rangeCount() != 1 || set.from(0) != set.to(0)) {
+            throw error("invalid character range");
+        }
+
+        return set.from(0);
+    }
+
+    private int number() {
+        var start = index;
+
+        while (index < pattern.length() && Character.isDigit(pattern.charAt(index))) {
+            index++;
+        }
+
+        if (start == index) {
+            throw error("number expected");
+        }
+
+        return Integer.parseInt(pattern.substring(start, index));
+    }
+
+    private boolean accept(char c) {
+        if (index < pattern.length() && pattern.charAt(index) == c) {
+            index++;
+            return true;
+        }
+
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!accept(c)) {
+            throw error(String.format("%s expected", c));
+        }
+    }
+
+    private char peek() {
+        return peek(0);
+    }
+
+    private char peek(int distance) {
+        if (index + distance >= pattern.length()) {
+            throw error("unexpected end of the pattern");
+        }
+
+        return pattern.charAt(index + distance);
+    }
+
+    private char next() {
+        var c = peek();
+        index++;
+        return c;
+    }
+
+    private GrammarException error(String message) {
+        return new GrammarException(String.format("Invalid token pattern \"%s\": %s at %d", pattern, message, index + 1));
+    }
+}
@@ -0,0 +1,48 @@
+package org.vinniks.parsla.tokenizer.text.dfa;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.With;
+
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TokenDefinition {
+    @NonNull
+    String type;
+
+    @NonNull
+    String pattern;
+
+    boolean regex;
+
+    @With
+    int priority;
+
+    @With
+    boolean skip;
+
+    @With
+    boolean valued;
+
+    public static TokenDefinition literal(String type, @NonNull String text) {
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("literal text can not be empty");
+        }
+
+        return new TokenDefinition(type, text, false, 0, false, true);
+    }
+
+    public static TokenDefinition regex(String type, String pattern) {
+        return new TokenDefinition(type, pattern, true, 0, false, true);
+    }
+
+    public TokenDefinition skipped() {
+        return withSkip(true);
+    }
+
+    public TokenDefinition withoutValue() {
+        return withValued(false);
+    }
+}
@@ -0,0 +1,37 @@
+package org.vinniks.parsla.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class VirtualThreads {
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    public static ExecutorService newExecutor(int platformThreadCount) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(platformThreadCount, VirtualThreads::newPlatformThread);
+        }
+    }
+
+    public static Thread start(Runnable task) {
+        try {
+            return (Thread) Thread.class.getMethod("startVirtualThread", Runnable.class).invoke(null, task);
+        } catch (ReflectiveOperationException e) {
+            var thread = newPlatformThread(task);
+            thread.start();
+            return thread;
+        }
+    }
+
+    private static Thread newPlatformThread(Runnable task) {
+        var thread = new Thread(task, String.format("parsla-%d", THREAD_NUMBER.incrementAndGet()));
+        thread.setDaemon(true);
+        return thread;
+    }
+}
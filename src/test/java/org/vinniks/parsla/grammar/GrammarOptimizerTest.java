@@ -0,0 +1,126 @@
+package org.vinniks.parsla.grammar;
+
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.exception.GrammarException;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.vinniks.parsla.grammar.GrammarBuilder.grammar;
+import static org.vinniks.parsla.grammar.GrammarBuilder.items;
+import static org.vinniks.parsla.grammar.GrammarBuilder.option;
+import static org.vinniks.parsla.grammar.GrammarBuilder.options;
+import static org.vinniks.parsla.grammar.GrammarBuilder.rule;
+import static org.vinniks.parsla.grammar.GrammarBuilder.token;
+
+class GrammarOptimizerTest {
+    @Test
+    void shouldRemoveUnreachableRules() {
+        var optimization = optimize("""
+            >root: {x};
+            >unused: {y};""", "root");
+
+        assertThat(optimization.getGrammar()).isEqualTo(grammar(options(
+            option("root", true, items(token("x")))
+        )));
+
+        assertThat(optimization.getChanges()).containsExactly("Removed unreachable rule \"unused\"");
+    }
+
+    @Test
+    void shouldInlineSingleOptionNonOutputRules() {
+        var optimization = optimize("""
+            >root: a {z};
+            a: {x} b;
+            b: {y};""", "root");
+
+        assertThat(optimization.getGrammar()).isEqualTo(grammar(options(
+            option("root", true, items(token("x"), token("y"), token("z")))
+        )));
+
+        assertThat(optimization.getChanges()).containsExactly("Inlined rule \"a\"", "Inlined rule \"b\"");
+    }
+
+    @Test
+    void shouldKeepRulesReferencedAsOutput() {
+        var optimization = optimize("""
+            >root: a >a;
+            a: {x};""", "root");
+
+        assertThat(optimization.getGrammar()).isEqualTo(grammar(options(
+            option("root", true, items(token("x"), rule("a", true))),
+            option("a", items(token("x")))
+        )));
+
+        assertThat(optimization.getChanges()).containsExactly("Inlined non-output references to rule \"a\"");
+    }
+
+    @Test
+    void shouldNotInlineRootAndOutputRules() {
+        var optimization = optimize("""
+            root: >a;
+            >a: {x};""", "root");
+
+        assertThat(optimization.getChanges()).isEmpty();
+    }
+
+    @Test
+    void shouldMergeDuplicateGeneratedRules() {
+        var optimization = optimize("""
+            >root: {x}* {y} {x}*;""", "root");
+
+        assertThat(optimization.getGrammar()).isEqualTo(grammar(options(
+            option("root#1"),
+            option("root#1", items(token("x"), rule("root#1"))),
+            option("root", true, items(rule("root#1"), token("y"), rule("root#1")))
+        )));
+
+        assertThat(optimization.getChanges()).containsExactly("Merged duplicate rule \"root#2\" into \"root#1\"");
+    }
+
+    @Test
+    void shouldLeftFactorCommonPrefixes() {
+        var optimization = optimize("""
+            >root: {x} {y} {z};
+            >root: {w};
+            >root: {x} {y};
+            >root: {x} {w};""", "root");
+
+        assertThat(optimization.getGrammar()).isEqualTo(grammar(options(
+            option("root", true, items(token("x"), rule("root#1"))),
+            option("root", true, items(token("w"))),
+            option("root#1", items(token("y"), rule("root#2"))),
+            option("root#1", items(token("w"))),
+            option("root#2", items(token("z"))),
+            option("root#2")
+        )));
+
+        assertThat(optimization.getChanges()).containsExactly(
+            "Left-factored 3 options of rule \"root\" into \"root#1\"",
+            "Left-factored 2 options of rule \"root#1\" into \"root#2\""
+        );
+    }
+
+    @Test
+    void shouldNotLeftFactorOptionsWithDifferentOutput() {
+        var optimization = optimize("""
+            root: a;
+            >a: {x} {y};
+            a: {x} {z};""", "root");
+
+        assertThat(optimization.getChanges()).isEmpty();
+    }
+
+    @Test
+    void shouldThrowGrammarExceptionOnUnknownRootRule() {
+        assertThatThrownBy(() -> optimize("""
+            root: {x};""", "unknown"))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Unknown grammar rule \"unknown\"");
+    }
+
+    private GrammarOptimization optimize(String grammar, String ...rootRuleNames) {
+        return GrammarOptimizer.optimize(Grammar.readExtended(grammar), Set.of(rootRuleNames));
+    }
+}
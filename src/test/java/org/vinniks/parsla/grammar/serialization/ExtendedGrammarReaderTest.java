@@ -5,6 +5,8 @@ import org.vinniks.parsla.exception.GrammarException;
 import org.vinniks.parsla.exception.ParsingException;
 import org.vinniks.parsla.grammar.Grammar;
 import org.vinniks.parsla.parser.text.TextParser;
+import org.vinniks.parsla.syntaxtree.SyntaxTreeNode;
+import org.vinniks.parsla.tokenizer.text.dfa.TokenDefinition;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -494,6 +496,66 @@ class ExtendedGrammarReaderTest {
             .hasRootCauseMessage("unexpected identifier \"abc\" at 1:5");
     }
 
+    @Test
+    void shouldReadTokenDefinitionsAndParseWithGrammarTokenizer() {
+        var grammar = Grammar.readExtended("""
+            >sum: >value ({plus} >value)*;
+            value: {number, >};
+            value: {identifier, >};
+
+            {number}: ~"\\\\d+";
+            {identifier}: ~"[a-z]+";
+            {plus}!: "+" | "plus";
+            ^{whitespace}: ~"\\\\s+";""");
+
+        assertThat(grammar.getTokenDefinitions()).containsExactly(
+            TokenDefinition.regex("number", "\\d+"),
+            TokenDefinition.regex("identifier", "[a-z]+"),
+            TokenDefinition.literal("plus", "+").withPriority(1),
+            TokenDefinition.literal("plus", "plus").withPriority(1),
+            TokenDefinition.regex("whitespace", "\\s+").skipped()
+        );
+
+        var syntaxTree = new TextParser(grammar).parse("1 + a\n plus 22", "sum");
+
+        assertThat(syntaxTree.children()).extracting(SyntaxTreeNode::childValue).containsExactly("1", "a", "22");
+    }
+
+    @Test
+    void shouldRaiseTokenPriorityWithElevations() {
+        var grammar = Grammar.readExtended("""
+            >words: {keyword, >}* {word, >}*;
+
+            {word}: ~"[a-z]+";
+            {keyword}!: "if";
+            ^{space}: " ";""");
+
+        assertThat(grammar.getTokenDefinitions().get(1).getPriority()).isEqualTo(1);
+
+        var syntaxTree = new TextParser(grammar).parse("if if iff", "words");
+
+        assertThat(syntaxTree.children()).extracting(SyntaxTreeNode::value).containsExactly("if", "if", "iff");
+    }
+
+    @Test
+    void shouldNotProvideTokenizerWhenNoTokenDefinitions() {
+        var grammar = Grammar.readExtended("option-1: ^;");
+
+        assertThat(grammar.getTokenDefinitions()).isEmpty();
+        assertThat(grammar.getTokenizer()).isEmpty();
+
+        assertThatThrownBy(() -> new TextParser(grammar))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Grammar does not define any tokens");
+    }
+
+    @Test
+    void shouldThrowGrammarExceptionOnInvalidTokenPattern() {
+        assertThatThrownBy(() -> Grammar.readExtended("option-1: {x}; {x}: ~\"(ab\";"))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Invalid token pattern \"(ab\": ) expected at 4");
+    }
+
     private Grammar readExtendedStandardGrammar(String source) {
         var identifierCharacterValidator = new ExtendedIdentifierCharacterValidator();
         var grammarTokenizer = new GrammarTokenizer(false, identifierCharacterValidator, () -> new char[8 * 1024]);
@@ -91,7 +91,7 @@ class GrammarTokenizerTest {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = {"(", ")", "+", "*", "?", "|"})
+    @ValueSource(strings = {"(", ")", "+", "*", "?", "|", "~"})
     void shouldFailOnAllExtendedSingleCharacterTokensWhenUsingStandardTokenizer(String token) throws IOException {
         var source = "{}" + token;
 
@@ -107,7 +107,7 @@ class GrammarTokenizerTest {
 
     @Test
     void shouldEmitAllSupportedSingleCharacterTokensWhenUsingExtendedTokenizer() throws IOException {
-        var source = ":>{}!,;^()+*?|";
+        var source = ":>{}!,;^()+*?|~";
 
         try (var tokens = initializeTokenIterator(true, source)) {
             assertToken(tokens.next(), "colon", null);
@@ -124,6 +124,7 @@ class GrammarTokenizerTest {
             assertToken(tokens.next(), "asterisk", null);
             assertToken(tokens.next(), "question", null);
             assertToken(tokens.next(), "pipe", null);
+            assertToken(tokens.next(), "tilde", null);
             assertThat(tokens.hasNext()).isFalse();
         }
     }
@@ -599,6 +600,23 @@ class GrammarTokenizerTest {
         }
     }
 
+    @Test
+    void shouldTrackPositionsOfRunsSpanningSeveralWindows() throws IOException {
+        var identifier = "a".repeat(3000);
+        var string = "b".repeat(1500) + "\\\"" + "c".repeat(1500);
+        var source = " ".repeat(2000) + identifier + "\n// " + "x".repeat(2500) + "\n/* " + "*".repeat(2000) + " */\"" + string + "\";";
+
+        try (var tokens = initializeTokenIterator(true, source)) {
+            assertToken(tokens.next(), "identifier", identifier);
+            assertPosition(tokens.position(), 1, 2001);
+            assertToken(tokens.next(), "string", "b".repeat(1500) + "\"" + "c".repeat(1500));
+            assertPosition(tokens.position(), 3, 2007);
+            assertToken(tokens.next(), "semicolon", null);
+            assertPosition(tokens.position(), 3, 5011);
+            assertThat(tokens.hasNext()).isFalse();
+        }
+    }
+
     private TokenIterator<TextPosition> initializeTokenIterator(boolean extended, String source) {
         return initializeTokenIterator(extended, source, new StandardIdentifierCharacterValidator());
     }
@@ -0,0 +1,152 @@
+package org.vinniks.parsla.parser;
+
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.syntaxtree.SyntaxTreeBuilder;
+import org.vinniks.parsla.syntaxtree.serialization.DefaultSyntaxTreeWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.vinniks.parsla.parser.ListTokenIterator.tokens;
+
+class EarleyParserEngineTest {
+    private static final String EXPRESSION_GRAMMAR = """
+        >expression: >operand ({operator, >} >operand)*;
+        operand: {number, >};
+        operand: {lpar} expression {rpar};""";
+
+    @Test
+    void shouldProduceSameOutputAsLookAheadEngine() throws IOException {
+        var tokens = new String[]{
+            "space", "number:1", "operator:+", "space", "lpar", "number:2", "operator:*", "number:3", "rpar", "space"
+        };
+
+        var tree = parse(ParserEngine.earley(), EXPRESSION_GRAMMAR, Set.of("space"), "expression", tokens);
+
+        assertThat(tree).isEqualTo(parse(ParserEngine.lookAhead(), EXPRESSION_GRAMMAR, Set.of("space"), "expression", tokens));
+
+        assertThat(tree).isEqualTo("""
+            expression
+                operand
+                    1
+                +
+                operand
+                    expression
+                        operand
+                            2
+                        *
+                        operand
+                            3
+            """);
+    }
+
+    @Test
+    void shouldOutputNullableRules() throws IOException {
+        var tree = parse(
+            ParserEngine.earley(),
+            """
+                root: >a >b {x};
+                >a: ^;
+                >b: >c;
+                >c: ^;""",
+            emptySet(),
+            "root",
+            "x"
+        );
+
+        assertThat(tree).isEqualTo("""
+            root
+                a
+                b
+                    c
+            """);
+    }
+
+    @Test
+    void shouldPreferElevatedTokenItems() throws IOException {
+        var tree = parse(
+            ParserEngine.earley(),
+            """
+                >root: >keyword;
+                >root: >name;
+                keyword: {identifier, "select"}!;
+                name: {identifier, >};""",
+            emptySet(),
+            "root",
+            "identifier:select"
+        );
+
+        assertThat(tree).isEqualTo("""
+            root
+                keyword
+            """);
+    }
+
+    @Test
+    void shouldParseLongInput() throws IOException {
+        var tokens = new String[1000];
+        Arrays.fill(tokens, "x:1");
+
+        var tree = parse(ParserEngine.earley(), ">root: {x, >}*;", emptySet(), "root", tokens);
+
+        assertThat(tree.lines()).hasSize(1001);
+    }
+
+    @Test
+    void shouldThrowParsingExceptionOnHighlyAmbiguousInput() {
+        var tokens = new String[200];
+        Arrays.fill(tokens, "x");
+
+        assertThatThrownBy(() -> parse(
+            ParserEngine.earley(),
+            """
+                root: item*;
+                item: {x};
+                item: {x} {x};
+                item: {x} {x} {x};""",
+            emptySet(),
+            "root",
+            tokens
+        ))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("Ambiguous parsing path detected at 200");
+    }
+
+    @Test
+    void shouldThrowParsingExceptionOnUnexpectedToken() {
+        assertThatThrownBy(() -> parse(ParserEngine.earley(), EXPRESSION_GRAMMAR, emptySet(), "expression", "number:1", "number:2"))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected number \"2\" at 2");
+    }
+
+    @Test
+    void shouldThrowParsingExceptionOnUnexpectedEndOfInput() {
+        assertThatThrownBy(() -> parse(ParserEngine.earley(), EXPRESSION_GRAMMAR, emptySet(), "expression", "lpar", "number:1"))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected end of the input at 2");
+    }
+
+    private String parse(
+        ParserEngine engine,
+        String grammar,
+        Set<String> ignoredTokenTypes,
+        String rootRuleName,
+        String ...tokens
+    ) throws IOException {
+        var parser = new Parser<Integer>(Grammar.readExtended(grammar), ignoredTokenTypes, engine);
+        var syntaxTreeBuilder = new SyntaxTreeBuilder<Integer>();
+        parser.parse(tokens(tokens), rootRuleName, syntaxTreeBuilder);
+
+        try (var writer = new StringWriter()) {
+            new DefaultSyntaxTreeWriter().write(syntaxTreeBuilder.build(), writer);
+            return writer.toString();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.vinniks.parsla.parser;
+
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.tokenizer.Token;
+
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GrammarAnalyzerTest {
+    @Test
+    void shouldComputeNullableRules() {
+        var parser = parser("""
+            a: b c;
+            b: ^;
+            b: {x};
+            c: b;
+            d: b {y};""", emptySet());
+
+        assertThat(parser.getRule("a").isNullable()).isTrue();
+        assertThat(parser.getRule("b").isNullable()).isTrue();
+        assertThat(parser.getRule("c").isNullable()).isTrue();
+        assertThat(parser.getRule("d").isNullable()).isFalse();
+    }
+
+    @Test
+    void shouldComputeFirstSetsThroughNullableRules() {
+        var parser = parser("""
+            a: b {y};
+            b: ^;
+            b: {x};""", emptySet());
+
+        var firstSet = parser.getRule("a").getFirstSet();
+
+        assertThat(firstSet.contains(symbolToken(parser, "x"))).isTrue();
+        assertThat(firstSet.contains(symbolToken(parser, "y"))).isTrue();
+        assertThat(firstSet.contains(symbolToken(parser, "z"))).isFalse();
+    }
+
+    @Test
+    void shouldComputeFollowSets() {
+        var parser = parser("""
+            a: b c {z};
+            b: {x};
+            c: ^;
+            c: {y};""", Set.of("space"));
+
+        var followSet = parser.getRule("b").getFollowSet();
+
+        assertThat(followSet.contains(symbolToken(parser, "y"))).isTrue();
+        assertThat(followSet.contains(symbolToken(parser, "z"))).isTrue();
+        assertThat(followSet.contains(symbolToken(parser, "space"))).isTrue();
+        assertThat(followSet.contains(symbolToken(parser, "x"))).isFalse();
+    }
+
+    @Test
+    void shouldMakeRulesWithDisjointPredictSetsPredictable() {
+        var parser = parser("""
+            a: {x} a;
+            a: {y};
+            b: ^;
+            b: {x};
+            c: b {y};""", emptySet());
+
+        var rule = parser.getRule("a");
+
+        assertThat(rule.isPredictable()).isTrue();
+        assertThat(rule.predict(symbolToken(parser, "x"))).isSameAs(rule.getOptions().get(0));
+        assertThat(rule.predict(symbolToken(parser, "y"))).isSameAs(rule.getOptions().get(1));
+        assertThat(rule.predict(symbolToken(parser, "z"))).isNull();
+        assertThat(parser.getRule("b").isPredictable()).isTrue();
+    }
+
+    @Test
+    void shouldNotMakeRulesWithOverlappingPredictSetsPredictable() {
+        var parser = parser("""
+            a: {x} {y};
+            a: {x} {z};
+            b: ^;
+            b: {x};
+            c: b {x};
+            d: {x, "value"};
+            d: {x};
+            e: {};
+            e: {x};""", emptySet());
+
+        assertThat(parser.getRule("a").isPredictable()).isFalse();
+        assertThat(parser.getRule("b").isPredictable()).isFalse();
+        assertThat(parser.getRule("d").isPredictable()).isFalse();
+        assertThat(parser.getRule("e").isPredictable()).isFalse();
+    }
+
+    private Parser<Integer> parser(String grammar, Set<String> ignoredTokenTypes) {
+        return new Parser<>(Grammar.readExtended(grammar), ignoredTokenTypes);
+    }
+
+    private SymbolToken symbolToken(Parser<?> parser, String tokenType) {
+        return parser.getSymbolTable().symbolToken(new Token(tokenType));
+    }
+}
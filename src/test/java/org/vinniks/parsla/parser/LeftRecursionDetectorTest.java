@@ -0,0 +1,160 @@
+package org.vinniks.parsla.parser;
+
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.exception.GrammarException;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.grammar.Option;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.vinniks.parsla.grammar.GrammarBuilder.grammar;
+import static org.vinniks.parsla.grammar.GrammarBuilder.items;
+import static org.vinniks.parsla.grammar.GrammarBuilder.option;
+import static org.vinniks.parsla.grammar.GrammarBuilder.rule;
+import static org.vinniks.parsla.grammar.GrammarBuilder.token;
+
+class LeftRecursionDetectorTest {
+    private static final long SMALL_STACK_SIZE = 256 * 1024;
+
+    @Test
+    void shouldReportDirectLeftRecursion() {
+        assertThatThrownBy(() -> new Parser<>(Grammar.readExtended("""
+            a: a {x};
+            a: {y};""")))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Left recursion detected at a > a");
+    }
+
+    @Test
+    void shouldReportFullIndirectRecursionPath() {
+        assertThatThrownBy(() -> new Parser<>(Grammar.readExtended("""
+            root: a;
+            a: {x} b;
+            a: b {y};
+            b: c {z};
+            c: d;
+            d: a;""")))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Left recursion detected at a > b > c > d > a");
+    }
+
+    @Test
+    void shouldReportRecursionThroughNullablePrefixes() {
+        assertThatThrownBy(() -> new Parser<>(Grammar.readExtended("""
+            a: b c a {x};
+            a: {y};
+            b: ^;
+            c: b b;""")))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Left recursion detected at a > a");
+    }
+
+    @Test
+    void shouldAcceptRightRecursion() {
+        assertThatCode(() -> new Parser<>(Grammar.readExtended("""
+            a: b {x} a;
+            a: ^;
+            b: ^;
+            b: {y};""")))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldDetectRecursionInLargeCyclicGrammars() throws InterruptedException {
+        var options = cyclicOptions(5_000);
+
+        assertThat(constructOnSmallStack(options)).isNull();
+
+        options.add(option("n0", items(rule("r0"), token("x"))));
+
+        assertThat(constructOnSmallStack(options))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Left recursion detected at r0 > n0 > r0");
+    }
+
+    @Test
+    void shouldDetectRecursionInDeepNullableChainsWithoutDeepStack() throws InterruptedException {
+        var ruleCount = 5_000;
+        var options = new ArrayList<Option>();
+
+        for (var i = 0; i < ruleCount; i++) {
+            var nextRule = rule(String.format("c%d", i + 1));
+            options.add(option(String.format("c%d", i), items(nextRule, nextRule, token("x"))));
+            options.add(option(String.format("c%d", i), items(nextRule, token("y"))));
+        }
+
+        options.add(option(String.format("c%d", ruleCount)));
+
+        assertThat(constructOnSmallStack(options)).isNull();
+
+        options.add(option(String.format("c%d", ruleCount), items(rule("c0"))));
+
+        assertThat(constructOnSmallStack(options))
+            .isInstanceOf(GrammarException.class)
+            .hasMessageStartingWith("Left recursion detected at c0 > c1 > c2 > ");
+    }
+
+    @Test
+    void shouldConstructParserInTimeLinearInGrammarSize() {
+        var smallGrammar = grammar(cyclicOptions(5_000));
+        var largeGrammar = grammar(cyclicOptions(20_000));
+
+        for (var i = 0; i < 2; i++) {
+            new Parser<>(smallGrammar);
+            new Parser<>(largeGrammar);
+        }
+
+        // Four times the rules take about four times as long; a quadratic pass would take sixteen times.
+        assertThat((double) constructionTime(largeGrammar) / constructionTime(smallGrammar)).isLessThan(8);
+    }
+
+    private static long constructionTime(Grammar grammar) {
+        var bestTime = Long.MAX_VALUE;
+
+        for (var i = 0; i < 3; i++) {
+            var start = System.nanoTime();
+            new Parser<>(grammar);
+            bestTime = Math.min(bestTime, System.nanoTime() - start);
+        }
+
+        return bestTime;
+    }
+
+    private static List<Option> cyclicOptions(int ruleCount) {
+        var options = new ArrayList<Option>();
+
+        for (var i = 0; i < ruleCount; i++) {
+            var nextRule = rule(String.format("r%d", (i + 1) % ruleCount));
+            var nullableRule = rule(String.format("n%d", i));
+            options.add(option(String.format("r%d", i), items(nullableRule, token("x"), nextRule)));
+            options.add(option(String.format("r%d", i), items(nullableRule, token("y"), nextRule)));
+            options.add(option(String.format("r%d", i), items(nullableRule, token("z"))));
+            options.add(option(String.format("n%d", i)));
+            options.add(option(String.format("n%d", i), items(token("w"))));
+        }
+
+        return options;
+    }
+
+    // A recursive walk over a chain of thousands of rules overflows such a stack.
+    private static Throwable constructOnSmallStack(List<Option> options) throws InterruptedException {
+        var error = new AtomicReference<Throwable>();
+
+        var thread = new Thread(null, () -> {
+            try {
+                new Parser<>(grammar(options));
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        }, "small-stack", SMALL_STACK_SIZE);
+
+        thread.start();
+        thread.join();
+        return error.get();
+    }
+}
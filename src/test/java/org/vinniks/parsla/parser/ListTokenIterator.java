@@ -0,0 +1,53 @@
+package org.vinniks.parsla.parser;
+
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+class ListTokenIterator implements TokenIterator<Integer> {
+    static ListTokenIterator tokens(String ...tokens) {
+        return new ListTokenIterator(Arrays
+            .stream(tokens)
+            .map(token -> {
+                var separatorIndex = token.indexOf(':');
+
+                return separatorIndex < 0
+                    ? new Token(token)
+                    : new Token(token.substring(0, separatorIndex), token.substring(separatorIndex + 1));
+            })
+            .toList()
+        );
+    }
+
+    private final List<Token> tokens;
+    private final Integer[] positions;
+    private int i;
+
+    ListTokenIterator(List<Token> tokens) {
+        this.tokens = tokens;
+        positions = new Integer[tokens.size() + 1];
+        Arrays.setAll(positions, Integer::valueOf);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return i < tokens.size();
+    }
+
+    @Override
+    public Token next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return tokens.get(i++);
+    }
+
+    @Override
+    public Integer position() {
+        return positions[i];
+    }
+}
@@ -0,0 +1,147 @@
+package org.vinniks.parsla.parser;
+
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.grammar.Grammar;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.vinniks.parsla.parser.ListTokenIterator.tokens;
+
+class LookAheadParserEngineTest {
+    private static final int TOKEN_COUNT = 300_000;
+
+    private static final String AMBIGUOUS_GRAMMAR = """
+        >root: a;
+        >root: b;
+        >root: c;
+        a: {x}* {y};
+        b: {x}* {z};
+        c: {x}* {w};""";
+
+    @Test
+    void shouldAllocateLittleMemoryPerTokenOnPredictableInput() throws IOException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+        var parser = new Parser<Integer>(Grammar.readExtended("""
+            >root: ({key} {colon} {value})* {end};"""));
+
+        parser.parse(tokens(tokenNames(3_000)), "root", new NoActionListener<>());
+
+        var tokens = tokens(tokenNames(TOKEN_COUNT));
+        var threadId = Thread.currentThread().getId();
+        var allocatedBytes = threadBean.getThreadAllocatedBytes(threadId);
+        parser.parse(tokens, "root", new NoActionListener<>());
+        allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - allocatedBytes;
+
+        assertThat(allocatedBytes / TOKEN_COUNT).isLessThan(8);
+    }
+
+    @Test
+    void shouldKeepLivePathsLinearOnNestedAmbiguity() {
+        for (var tokenCount : new int[]{50, 100}) {
+            var parser = new Parser<Integer>(Grammar.readExtended("""
+                >r0: ^;
+                >r0: {>b} r0 >r0;"""));
+
+            var tokenNames = new String[tokenCount];
+            Arrays.fill(tokenNames, "b");
+
+            assertThatThrownBy(() -> parser.parse(tokens(tokenNames), "r0", new NoActionListener<>()))
+                .isInstanceOf(ParsingException.class)
+                .hasMessage("Ambiguous parsing path detected at " + tokenCount);
+
+            assertThat(parser.getCounters().getPeakLivePaths()).isLessThanOrEqualTo(tokenCount);
+        }
+    }
+
+    @Test
+    void shouldFailWhenLivePathLimitIsExceeded() {
+        var parser = new Parser<Integer>(
+            Grammar.readExtended(AMBIGUOUS_GRAMMAR),
+            ParserEngine.lookAhead(ParserLimits.unlimited().withMaxLivePaths(2))
+        );
+
+        assertThatThrownBy(() -> parser.parse(tokens(ambiguousTokenNames(100, "y")), "root", new NoActionListener<>()))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("Live path limit of 2 exceeded in ambiguous rules \"a\", \"b\", \"c\" at 1");
+
+        assertThat(parser.getCounters().getLivePathLimitHits()).isEqualTo(1);
+        assertThat(parser.getCounters().getPeakLivePaths()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldFailWhenUncommittedTokenLimitIsExceeded() throws IOException {
+        var parser = new Parser<Integer>(
+            Grammar.readExtended(AMBIGUOUS_GRAMMAR),
+            ParserEngine.lookAhead(ParserLimits.unlimited().withMaxUncommittedTokens(10))
+        );
+
+        parser.parse(tokens(ambiguousTokenNames(10, "z")), "root", new NoActionListener<>());
+
+        assertThatThrownBy(() -> parser.parse(tokens(ambiguousTokenNames(100, "z")), "root", new NoActionListener<>()))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("Uncommitted token limit of 10 exceeded in ambiguous rules \"a\", \"b\", \"c\" at 11");
+
+        assertThat(parser.getCounters().getUncommittedTokenLimitHits()).isEqualTo(1);
+        assertThat(parser.getCounters().getPeakUncommittedTokens()).isEqualTo(11);
+        assertThat(parser.getCounters().getLivePathLimitHits()).isZero();
+    }
+
+    @Test
+    void shouldFailWhenChainLengthLimitIsExceeded() {
+        var parser = new Parser<Integer>(
+            Grammar.readExtended(AMBIGUOUS_GRAMMAR),
+            ParserEngine.lookAhead(ParserLimits.unlimited().withMaxChainLength(8))
+        );
+
+        assertThatThrownBy(() -> parser.parse(tokens(ambiguousTokenNames(100, "w")), "root", new NoActionListener<>()))
+            .isInstanceOf(ParsingException.class)
+            .hasMessageStartingWith("Chain length limit of 8 exceeded in ambiguous rules \"a\", \"b\", \"c\" at ");
+
+        assertThat(parser.getCounters().getChainLengthLimitHits()).isEqualTo(1);
+        assertThat(parser.getCounters().getPeakChainLength()).isGreaterThan(8);
+    }
+
+    @Test
+    void shouldRejectInvalidLimits() {
+        var limits = ParserLimits.unlimited();
+
+        assertThatThrownBy(() -> limits.withMaxLivePaths(0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("max live paths can not be less than 1");
+
+        assertThatThrownBy(() -> limits.withMaxUncommittedTokens(0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("max uncommitted tokens can not be less than 1");
+
+        assertThatThrownBy(() -> limits.withMaxChainLength(0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("max chain length can not be less than 1");
+    }
+
+    private String[] ambiguousTokenNames(int count, String lastTokenName) {
+        var tokenNames = new String[count + 1];
+        Arrays.fill(tokenNames, "x");
+        tokenNames[count] = lastTokenName;
+        return tokenNames;
+    }
+
+    private String[] tokenNames(int count) {
+        var tokenNames = new String[count + 1];
+
+        for (var i = 0; i < count; i++) {
+            tokenNames[i] = new String[]{"key", "colon", "value"}[i % 3];
+        }
+
+        tokenNames[count] = "end";
+        return tokenNames;
+    }
+}
@@ -0,0 +1,272 @@
+package org.vinniks.parsla.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.vinniks.parsla.parser.ListTokenIterator.tokens;
+
+class ParseEventPublisherTest {
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    private final Parser<Integer> parser = new Parser<>(Grammar.readExtended("""
+        >root: >entry* {end};
+        entry: {key, >} {colon} {value, >};"""));
+
+    @Test
+    void shouldPublishSameEventsAsListener() throws IOException {
+        var expectedEvents = new ArrayList<ParseEvent<Integer>>();
+        parser.parse(tokens(tokenNames(10)), "root", new EventCollector(expectedEvents));
+
+        var subscriber = new TestSubscriber();
+        new ParseEventPublisher<>(parser.entryPoint("root"), tokens(tokenNames(10)), DIRECT_EXECUTOR, 4).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.events).containsExactlyElementsOf(expectedEvents);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    void shouldPauseParsingWhenDemandIsExhausted() {
+        var tokenIterator = new CountingTokenIterator(tokens(tokenNames(1_000)));
+        var subscriber = new TestSubscriber();
+        new ParseEventPublisher<>(parser.entryPoint("root"), tokenIterator, DIRECT_EXECUTOR, 8).subscribe(subscriber);
+
+        assertThat(tokenIterator.count).isZero();
+
+        subscriber.subscription.request(3);
+
+        assertThat(subscriber.events).hasSize(3);
+        assertThat(tokenIterator.count).isBetween(1, 16);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(tokenIterator.count).isEqualTo(3_001);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    void shouldDeliverOneEventPerRequestAcrossEndOfInput() throws IOException {
+        var expectedEvents = new ArrayList<ParseEvent<Integer>>();
+        parser.parse(tokens(tokenNames(3)), "root", new EventCollector(expectedEvents));
+
+        var subscriber = new TestSubscriber();
+        new ParseEventPublisher<>(parser.entryPoint("root"), tokens(tokenNames(3)), DIRECT_EXECUTOR, 1).subscribe(subscriber);
+
+        for (var i = 1; i <= expectedEvents.size(); i++) {
+            assertThat(subscriber.completed).isFalse();
+            subscriber.subscription.request(1);
+            assertThat(subscriber.events).containsExactlyElementsOf(expectedEvents.subList(0, i));
+        }
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test
+    void shouldStopParsingOnCancel() {
+        var tokenIterator = new CountingTokenIterator(tokens(tokenNames(1_000)));
+        var subscriber = new TestSubscriber();
+        new ParseEventPublisher<>(parser.entryPoint("root"), tokenIterator, DIRECT_EXECUTOR, 8).subscribe(subscriber);
+
+        subscriber.subscription.request(5);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+
+        assertThat(subscriber.events).hasSize(5);
+        assertThat(subscriber.completed).isFalse();
+        assertThat(tokenIterator.closed).isTrue();
+    }
+
+    @Test
+    void shouldSignalParsingErrors() {
+        var subscriber = new TestSubscriber();
+        new ParseEventPublisher<>(parser.entryPoint("root"), tokens("key", "value"), DIRECT_EXECUTOR).subscribe(subscriber);
+        subscriber.subscription.request(10);
+
+        assertThat(subscriber.error)
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected value at 2");
+    }
+
+    @Test
+    void shouldSignalErrorOnNonPositiveRequest() {
+        var subscriber = new TestSubscriber();
+        new ParseEventPublisher<>(parser.entryPoint("root"), tokens(tokenNames(1)), DIRECT_EXECUTOR).subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectSecondSubscriber() {
+        var publisher = new ParseEventPublisher<>(parser.entryPoint("root"), tokens(tokenNames(1)), DIRECT_EXECUTOR);
+        publisher.subscribe(new TestSubscriber());
+        var subscriber = new TestSubscriber();
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.error)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("parse event publisher supports only one subscriber");
+    }
+
+    @Test
+    void shouldRejectBatchSizeLessThanOne() {
+        assertThatThrownBy(() -> new ParseEventPublisher<>(parser.entryPoint("root"), tokens(), DIRECT_EXECUTOR, 0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("batch size can not be less than 1");
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldDeliverEventsToAsynchronousSubscriber() throws Exception {
+        var expectedEvents = new ArrayList<ParseEvent<Integer>>();
+        parser.parse(tokens(tokenNames(5_000)), "root", new EventCollector(expectedEvents));
+
+        var events = new ArrayList<ParseEvent<Integer>>();
+        var completion = new CompletableFuture<Void>();
+
+        new ParseEventPublisher<>(parser.entryPoint("root"), tokens(tokenNames(5_000)), ForkJoinPool.commonPool(), 16).subscribe(
+            new Flow.Subscriber<>() {
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(7);
+                }
+
+                @Override
+                public void onNext(ParseEvent<Integer> event) {
+                    events.add(event);
+
+                    if (events.size() % 7 == 0) {
+                        subscription.request(7);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    completion.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    completion.complete(null);
+                }
+            }
+        );
+
+        completion.get(20, TimeUnit.SECONDS);
+
+        assertThat(events).containsExactlyElementsOf(expectedEvents);
+    }
+
+    private static String[] tokenNames(int count) {
+        var tokenNames = new String[count * 3 + 1];
+
+        for (var i = 0; i < count; i++) {
+            tokenNames[i * 3] = "key:k" + i;
+            tokenNames[i * 3 + 1] = "colon";
+            tokenNames[i * 3 + 2] = "value:v" + i;
+        }
+
+        tokenNames[count * 3] = "end";
+        return tokenNames;
+    }
+
+    private static final class EventCollector implements ParserOutputListener<Integer> {
+        private final List<ParseEvent<Integer>> events;
+
+        private EventCollector(List<ParseEvent<Integer>> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void enter(Integer position, String value) {
+            events.add(new ParseEvent<>(ParseEvent.Type.ENTER, position, value));
+        }
+
+        @Override
+        public void exit() {
+            events.add(new ParseEvent<>(ParseEvent.Type.EXIT, null, null));
+        }
+
+        @Override
+        public void tap(Integer position, String value) {
+            events.add(new ParseEvent<>(ParseEvent.Type.TAP, position, value));
+        }
+    }
+
+    private static final class TestSubscriber implements Flow.Subscriber<ParseEvent<Integer>> {
+        private final List<ParseEvent<Integer>> events = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ParseEvent<Integer> event) {
+            events.add(event);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    private static final class CountingTokenIterator implements TokenIterator<Integer> {
+        private final TokenIterator<Integer> tokenIterator;
+        private int count;
+        private boolean closed;
+
+        private CountingTokenIterator(TokenIterator<Integer> tokenIterator) {
+            this.tokenIterator = tokenIterator;
+        }
+
+        @Override
+        public boolean hasNext() throws IOException {
+            return tokenIterator.hasNext();
+        }
+
+        @Override
+        public Token next() throws IOException {
+            count++;
+            return tokenIterator.next();
+        }
+
+        @Override
+        public Integer position() {
+            return tokenIterator.position();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.vinniks.parsla.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.syntaxtree.SyntaxTreeBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.vinniks.parsla.parser.ListTokenIterator.tokens;
+
+class ParseSessionTest {
+    private static final String GRAMMAR = """
+        >statements: statement*;
+        statement: >assignment;
+        statement: >call;
+        assignment: {identifier, >} {equals} >expression {semicolon};
+        call: {identifier, >} {lpar} (>expression ({comma} >expression)*)? {rpar} {semicolon};
+        expression: {number, >};
+        expression: {identifier, >};
+        expression: {identifier, >} {lpar} {rpar};""";
+
+    private static final String[] TOKENS = {
+        "identifier:a", "space", "equals", "number:1", "semicolon",
+        "space", "identifier:f", "lpar", "identifier:b", "comma", "space", "identifier:g", "lpar", "rpar", "rpar", "semicolon",
+        "identifier:c", "equals", "identifier:h", "lpar", "rpar", "semicolon"
+    };
+
+    static Stream<ParserEngine> engines() {
+        return Stream.of(ParserEngine.lookAhead(), ParserEngine.earley());
+    }
+
+    @ParameterizedTest
+    @MethodSource("engines")
+    void shouldProduceSameOutputAsPullParsing(ParserEngine engine) throws IOException {
+        var parser = new TestParser(Grammar.readExtended(GRAMMAR), Set.of("space"), engine);
+        var expectedTree = new SyntaxTreeBuilder<Integer>();
+        parser.parse(tokens(TOKENS), "statements", expectedTree);
+
+        var tree = new SyntaxTreeBuilder<Integer>();
+        var session = parser.session("statements", tree);
+        var tokenIterator = tokens(TOKENS);
+
+        while (tokenIterator.hasNext()) {
+            session.feed(tokenIterator.next(), tokenIterator.position());
+        }
+
+        session.finish();
+
+        assertThat(tree.build().toString()).isEqualTo(expectedTree.build().toString());
+        assertThat(session.isOpen()).isFalse();
+    }
+
+    @Test
+    void shouldWaitForLookAheadTokensBeforeOutput() {
+        var parser = new Parser<Integer>(Grammar.readExtended("""
+            >root: >a;
+            >root: >b;
+            a: {x} {x} {x} {>y};
+            b: {x} {x} {x} {>z};"""));
+
+        var events = new ArrayList<String>();
+
+        var session = parser.session("root", new ParserOutputListener<>() {
+            @Override
+            public void enter(Integer position, String value) {
+                events.add(value);
+            }
+
+            @Override
+            public void tap(Integer position, String value) {
+                events.add(value);
+            }
+        });
+
+        var tokenIterator = tokens("x", "x", "x", "z");
+
+        for (var i = 0; i < 3; i++) {
+            session.feed(tokenIterator.next(), tokenIterator.position());
+        }
+
+        assertThat(events).isEmpty();
+
+        session.feed(tokenIterator.next(), tokenIterator.position());
+        session.finish();
+
+        assertThat(events).containsExactly("root", "b", "z");
+    }
+
+    @Test
+    void shouldCloseSessionOnUnexpectedToken() {
+        var parser = new Parser<Integer>(Grammar.readExtended(GRAMMAR));
+        var session = parser.session("statements", new NoActionListener<>());
+        var tokenIterator = tokens("identifier:a", "semicolon");
+
+        session.feed(tokenIterator.next(), tokenIterator.position());
+
+        assertThatThrownBy(() -> session.feed(tokenIterator.next(), tokenIterator.position()))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected semicolon at 2");
+
+        assertThat(session.isOpen()).isFalse();
+
+        assertThatThrownBy(session::finish)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("parse session is closed");
+    }
+
+    @Test
+    void shouldThrowParsingExceptionOnUnexpectedEndOfInput() {
+        var parser = new Parser<Integer>(Grammar.readExtended(GRAMMAR));
+        var session = parser.session("statements", new NoActionListener<>());
+        var tokenIterator = tokens("identifier:a", "equals");
+
+        session.feed(tokenIterator.next(), tokenIterator.position());
+        session.feed(tokenIterator.next(), tokenIterator.position());
+
+        assertThatThrownBy(session::finish)
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected end of the input at 2");
+
+        assertThat(session.isOpen()).isFalse();
+    }
+
+    private static final class TestParser extends Parser<Integer> {
+        private TestParser(Grammar grammar, Set<String> ignoredTokenTypes, ParserEngine engine) {
+            super(grammar, ignoredTokenTypes, engine);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.vinniks.parsla.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.syntaxtree.SyntaxTreeBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.vinniks.parsla.parser.ListTokenIterator.tokens;
+
+class ParserConcurrencyTest {
+    private static final String GRAMMAR = """
+        >statements: statement*;
+        statement: >assignment;
+        statement: >call;
+        assignment: {identifier, >} {equals} >expression {semicolon};
+        call: {identifier, >} {lpar} (>expression ({comma} >expression)*)? {rpar} {semicolon};
+        expression: {number, >};
+        expression: {identifier, >};
+        expression: {identifier, >} {lpar} {rpar};""";
+
+    private static final int PARSES_PER_THREAD = 2_000;
+
+    @Test
+    @Timeout(60)
+    void shouldProduceSameOutputWhenSharedBetweenThreads() throws Exception {
+        var parser = new Parser<Integer>(Grammar.readExtended(GRAMMAR), ParserEngine.lookAhead());
+        var threadCount = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        var expectedTrees = new ArrayList<String>();
+
+        for (var i = 0; i < threadCount; i++) {
+            expectedTrees.add(parse(parser, i));
+        }
+
+        var executor = Executors.newFixedThreadPool(threadCount);
+
+        try {
+            var futures = new ArrayList<Future<Boolean>>();
+
+            for (var i = 0; i < threadCount; i++) {
+                var variant = i;
+
+                futures.add(executor.submit((Callable<Boolean>) () -> {
+                    for (var j = 0; j < PARSES_PER_THREAD; j++) {
+                        var tokenVariant = (variant + j) % threadCount;
+
+                        if (!parse(parser, tokenVariant).equals(expectedTrees.get(tokenVariant))) {
+                            return false;
+                        }
+                    }
+
+                    return true;
+                }));
+            }
+
+            for (var future : futures) {
+                assertThat(future.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldSupportNestedParsesOnSameThread() throws IOException {
+        var parser = new Parser<Integer>(Grammar.readExtended(GRAMMAR));
+        var nestedTrees = new ArrayList<String>();
+        var syntaxTreeBuilder = new SyntaxTreeBuilder<Integer>();
+
+        parser.parse(tokens(statementTokens(3)), "statements", new ParserOutputListener<>() {
+            @Override
+            public void enter(Integer position, String value) {
+                syntaxTreeBuilder.enter(position, value);
+
+                if (value.equals("call")) {
+                    try {
+                        nestedTrees.add(parse(parser, 1));
+                    } catch (IOException exception) {
+                        throw new IllegalStateException(exception);
+                    }
+                }
+            }
+
+            @Override
+            public void tap(Integer position, String value) {
+                syntaxTreeBuilder.tap(position, value);
+            }
+
+            @Override
+            public void exit() {
+                syntaxTreeBuilder.exit();
+            }
+        });
+
+        assertThat(nestedTrees).hasSize(2).containsOnly(parse(parser, 1));
+        assertThat(syntaxTreeBuilder.build().toString()).isEqualTo(parse(parser, 3));
+    }
+
+    @Test
+    void shouldReuseParseContextForSequentialParses() throws IOException {
+        var parser = new Parser<Integer>(Grammar.readExtended(GRAMMAR));
+        var contexts = new ArrayList<ParseContext<Integer>>();
+
+        for (var i = 0; i < 3; i++) {
+            parse(parser, 1);
+            assertThat(parser.getParseContexts()).hasSize(1);
+            contexts.add(parser.getParseContexts().peek());
+        }
+
+        assertThat(contexts).containsOnly(contexts.get(0));
+        assertThat(contexts.get(0).isActive()).isFalse();
+    }
+
+    @Test
+    void shouldUseFreshParseContextForNestedParse() throws IOException {
+        var parser = new Parser<Integer>(Grammar.readExtended(GRAMMAR));
+        parse(parser, 1);
+        var outerContext = parser.getParseContexts().peek();
+        var nestedContexts = new ArrayList<ParseContext<Integer>>();
+
+        parser.parse(tokens(statementTokens(1)), "statements", new NoActionListener<>() {
+            @Override
+            public void enter(Integer position, String value) {
+                if (value.equals("call")) {
+                    // The outer parse has checked its context out of the pool.
+                    assertThat(parser.getParseContexts()).isEmpty();
+                    assertThat(outerContext.isActive()).isTrue();
+
+                    try {
+                        assertThat(parse(parser, 1)).isNotEmpty();
+                    } catch (IOException exception) {
+                        throw new IllegalStateException(exception);
+                    }
+
+                    assertThat(outerContext.isActive()).isTrue();
+                    nestedContexts.addAll(parser.getParseContexts());
+                }
+            }
+        });
+
+        assertThat(nestedContexts).hasSize(1).doesNotContain(outerContext);
+        assertThat(parser.getParseContexts()).containsExactlyInAnyOrder(outerContext, nestedContexts.get(0));
+        assertThat(parser.getParseContexts()).allSatisfy(context -> assertThat(context.isActive()).isFalse());
+    }
+
+    @Test
+    void shouldKeepBoundedNumberOfIdleParseContexts() throws IOException {
+        var parser = new Parser<Integer>(Grammar.readExtended(GRAMMAR));
+        var capacity = parser.getParseContexts().remainingCapacity();
+
+        parseNested(parser, capacity + 2);
+
+        assertThat(parser.getParseContexts()).hasSize(capacity);
+        assertThat(parser.getParseContexts().remainingCapacity()).isZero();
+    }
+
+    private static void parseNested(Parser<Integer> parser, int depth) throws IOException {
+        parser.parse(tokens(statementTokens(0)), "statements", new NoActionListener<>() {
+            @Override
+            public void enter(Integer position, String value) {
+                if (depth > 1 && value.equals("assignment")) {
+                    try {
+                        parseNested(parser, depth - 1);
+                    } catch (IOException exception) {
+                        throw new IllegalStateException(exception);
+                    }
+                }
+            }
+        });
+    }
+
+    private static String parse(Parser<Integer> parser, int variant) throws IOException {
+        var syntaxTreeBuilder = new SyntaxTreeBuilder<Integer>();
+        parser.parse(tokens(statementTokens(variant)), "statements", syntaxTreeBuilder);
+        return syntaxTreeBuilder.build().toString();
+    }
+
+    private static String[] statementTokens(int variant) {
+        var tokens = new ArrayList<String>();
+
+        for (var i = 0; i <= variant; i++) {
+            if (i % 2 == 0) {
+                tokens.addAll(java.util.List.of("identifier:a" + i, "equals", "number:" + i, "semicolon"));
+            } else {
+                tokens.addAll(java.util.List.of(
+                    "identifier:f" + i, "lpar", "identifier:b", "comma", "identifier:g", "lpar", "rpar", "rpar", "semicolon"
+                ));
+            }
+        }
+
+        return tokens.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,516 @@
+package org.vinniks.parsla.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.vinniks.parsla.exception.GrammarException;
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.grammar.GrammarOptimizer;
+import org.vinniks.parsla.syntaxtree.RecordSyntaxTreeBuilder;
+import org.vinniks.parsla.syntaxtree.SyntaxTreeBuilder;
+import org.vinniks.parsla.syntaxtree.serialization.DefaultSyntaxTreeWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.vinniks.parsla.parser.ListTokenIterator.tokens;
+
+class ParserTest {
+    private static final String STATEMENT_GRAMMAR = """
+        >statements: statement*;
+        
+        statement: >select;
+        statement: >insert;
+        statement: >delete;
+        statement: >update;
+        statement: >drop;
+        
+        select: {keyword, "select"} >columns {keyword, "from"} >table {semicolon};
+        insert: {keyword, "insert"} {keyword, "into"} >table {semicolon};
+        delete: {keyword, "delete"} {keyword, "from"} >table {semicolon};
+        update: {keyword, "update"} >table {semicolon};
+        drop: {keyword, "drop"} >table {semicolon};
+        
+        columns: {>asterisk};
+        columns: >column ({comma} >column)*;
+        
+        column: {identifier, >};
+        table: {identifier, >};""";
+
+    @Test
+    void shouldParseSequenceOfStatementsWithManyAlternatives() throws IOException {
+        var tree = parse(
+            STATEMENT_GRAMMAR,
+            emptySet(),
+            "statements",
+            "keyword:select", "identifier:a", "comma", "identifier:b", "keyword:from", "identifier:t1", "semicolon",
+            "keyword:drop", "identifier:t2", "semicolon",
+            "keyword:select", "asterisk", "keyword:from", "identifier:t3", "semicolon"
+        );
+
+        assertThat(tree).isEqualTo("""
+            statements
+                select
+                    columns
+                        column
+                            a
+                        column
+                            b
+                    table
+                        t1
+                drop
+                    table
+                        t2
+                select
+                    columns
+                        asterisk
+                    table
+                        t3
+            """);
+    }
+
+    @Test
+    void shouldProduceSameOutputWithOptimizedGrammar() throws IOException {
+        var tokens = new String[]{
+            "keyword:select", "identifier:a", "comma", "identifier:b", "keyword:from", "identifier:t1", "semicolon",
+            "keyword:update", "identifier:t2", "semicolon"
+        };
+
+        var grammar = Grammar.readExtended(STATEMENT_GRAMMAR);
+        var optimization = GrammarOptimizer.optimize(grammar, Set.of("statements"));
+
+        assertThat(optimization.getChanges()).isNotEmpty();
+
+        assertThat(parse(optimization.getGrammar(), emptySet(), "statements", tokens))
+            .isEqualTo(parse(grammar, emptySet(), "statements", tokens));
+    }
+
+    @Test
+    void shouldParseThroughChainOfNullableRules() throws IOException {
+        var tree = parse(
+            """
+                >root: a b {>x};
+                a: ^;
+                a: {>y};
+                b: c;
+                c: ^;
+                >c: {>z};""",
+            emptySet(),
+            "root",
+            "x"
+        );
+
+        assertThat(tree).isEqualTo("""
+            root
+                x
+            """);
+    }
+
+    @Test
+    void shouldOutputEmptyOutputOptions() throws IOException {
+        var tree = parse(
+            """
+                >root: >a {>x};
+                a: ^;""",
+            emptySet(),
+            "root",
+            "x"
+        );
+
+        assertThat(tree).isEqualTo("""
+            root
+                a
+                x
+            """);
+    }
+
+    @Test
+    void shouldSkipIgnoredTokensAfterRegularTokens() throws IOException {
+        var tree = parse(
+            """
+                >root: {>x} {>y};""",
+            Set.of("space", "comment"),
+            "root",
+            "x", "space", "comment", "y", "space"
+        );
+
+        assertThat(tree).isEqualTo("""
+            root
+                x
+                y
+            """);
+    }
+
+    @Test
+    void shouldSkipIgnoredTokensBeforeRegularTokens() throws IOException {
+        var tree = parse(
+            """
+                >root: a {>y};
+                a: ^;
+                a: {>x};""",
+            Set.of("space"),
+            "root",
+            "space", "x", "space", "y"
+        );
+
+        assertThat(tree).isEqualTo("""
+            root
+                x
+                y
+            """);
+    }
+
+    @Test
+    void shouldSkipIgnoredTokensAfterRootRuleEndingWithNullableRule() throws IOException {
+        var tree = parse(
+            """
+                >root: {>x} a;
+                a: ^;
+                a: {>y};""",
+            Set.of("space"),
+            "root",
+            "x", "space"
+        );
+
+        assertThat(tree).isEqualTo("""
+            root
+                x
+            """);
+    }
+
+    @Test
+    void shouldNotMatchIgnoredTokensWithAnyTokenItem() {
+        assertThatThrownBy(() -> parse(
+            """
+                >root: {>x} {>};""",
+            Set.of("space"),
+            "root",
+            "x", "space"
+        ))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected end of the input at 2");
+    }
+
+    @Test
+    void shouldMatchAnyTokenTypeWithAnyTokenItem() throws IOException {
+        var tree = parse(
+            """
+                >root: {>x} {>} {, >};""",
+            Set.of("space"),
+            "root",
+            "x", "space", "y", "z:value"
+        );
+
+        assertThat(tree).isEqualTo("""
+            root
+                x
+                y
+                value
+            """);
+    }
+
+    @Test
+    void shouldPreferElevatedTokenItems() throws IOException {
+        var tree = parse(
+            """
+                >root: >keyword;
+                >root: >name;
+                keyword: {identifier, "select"}!;
+                name: {identifier, >};""",
+            emptySet(),
+            "root",
+            "identifier:select"
+        );
+
+        assertThat(tree).isEqualTo("""
+            root
+                keyword
+            """);
+    }
+
+    @Test
+    void shouldResolveAmbiguityWithLongerLookAhead() throws IOException {
+        var tree = parse(
+            """
+                >root: >a;
+                >root: >b;
+                a: {x} {x} {x} {>y};
+                b: {x} {x} {x} {>z};""",
+            emptySet(),
+            "root",
+            "x", "x", "x", "z"
+        );
+
+        assertThat(tree).isEqualTo("""
+            root
+                b
+                    z
+            """);
+    }
+
+    @Test
+    void shouldParseLongRepetitionsAsLoops() throws IOException {
+        var tokens = new String[100_001];
+        Arrays.fill(tokens, 0, 100_000, "x");
+        tokens[100_000] = "y:1";
+
+        var tree = parse(
+            """
+                >root: ({x} {z}?)+ {y, >};""",
+            emptySet(),
+            "root",
+            tokens
+        );
+
+        assertThat(tree).isEqualTo("""
+            root
+                1
+            """);
+    }
+
+    @Test
+    void shouldThrowParsingExceptionOnUnexpectedToken() {
+        assertThatThrownBy(() -> parse(STATEMENT_GRAMMAR, emptySet(), "statements", "keyword:select", "semicolon"))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected semicolon at 2");
+    }
+
+    @Test
+    void shouldThrowParsingExceptionOnUnexpectedEndOfInput() {
+        assertThatThrownBy(() -> parse(STATEMENT_GRAMMAR, emptySet(), "statements", "keyword:drop", "identifier:t1"))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected end of the input at 2");
+    }
+
+    @Test
+    void shouldUseTokenIteratorPositionOnEmptyInput() throws IOException {
+        var syntaxTreeBuilder = new SyntaxTreeBuilder<Integer>();
+        new Parser<Integer>(Grammar.readExtended(">root: ^;")).parse(tokens(), "root", syntaxTreeBuilder);
+
+        assertThat(syntaxTreeBuilder.build().position()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldThrowParsingExceptionWithPositionOnUnexpectedEndOfEmptyInput() {
+        assertThatThrownBy(() -> parse(STATEMENT_GRAMMAR, emptySet(), "statement"))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected end of the input at 0");
+    }
+
+    @Test
+    void shouldThrowParsingExceptionWithPositionOnAmbiguousEmptyInput() {
+        assertThatThrownBy(() -> parse(
+            """
+                root: a;
+                root: b;
+                a: ^;
+                b: ^;""",
+            emptySet(),
+            "root"
+        ))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("Ambiguous parsing path detected at 0");
+    }
+
+    @Test
+    void shouldThrowParsingExceptionOnAmbiguousInput() {
+        assertThatThrownBy(() -> parse(
+            """
+                root: a;
+                root: b;
+                a: {x};
+                b: {x};""",
+            emptySet(),
+            "root",
+            "x"
+        ))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("Ambiguous parsing path detected at 1");
+    }
+
+    @Test
+    void shouldThrowParsingExceptionOnAmbiguousNullableRepetitionAtEndOfInput() {
+        assertThatThrownBy(() -> parse(
+            """
+                >root: {x} a?;
+                >a: ({y})*;""",
+            emptySet(),
+            "root",
+            "x"
+        ))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("Ambiguous parsing path detected at 1");
+    }
+
+    @Test
+    void shouldMergeAmbiguousPathsWithSameContinuation() {
+        var tokens = new String[64];
+        Arrays.fill(tokens, "x");
+
+        assertThatThrownBy(() -> parse(
+            """
+                root: item*;
+                item: a;
+                item: b;
+                a: {x};
+                b: {x};""",
+            emptySet(),
+            "root",
+            tokens
+        ))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("Ambiguous parsing path detected at 64");
+    }
+
+    @Test
+    void shouldReportUnexpectedTokenAfterMergedAmbiguousPaths() {
+        assertThatThrownBy(() -> parse(
+            """
+                root: item*;
+                item: a;
+                item: b;
+                a: {x};
+                b: {x};""",
+            emptySet(),
+            "root",
+            "x", "x", "y"
+        ))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected y at 3");
+    }
+
+    @Test
+    void shouldReuseEntryPointsForRootRules() throws IOException {
+        var parser = new Parser<Integer>(Grammar.readExtended(STATEMENT_GRAMMAR));
+        var entryPoint = parser.entryPoint("statements");
+
+        assertThat(entryPoint.getRootRuleName()).isEqualTo("statements");
+        assertThat(parser.entryPoint("statements")).isSameAs(entryPoint);
+        assertThat(parser.entryPoint("table")).isNotSameAs(entryPoint);
+
+        for (var i = 0; i < 2; i++) {
+            var syntaxTreeBuilder = new SyntaxTreeBuilder<Integer>();
+            entryPoint.parse(tokens("keyword:drop", "identifier:t1", "semicolon"), syntaxTreeBuilder);
+
+            assertThat(syntaxTreeBuilder.build().children()).hasSize(1);
+        }
+    }
+
+    @Test
+    void shouldThrowGrammarExceptionOnUnknownEntryPoint() {
+        var parser = new Parser<Integer>(Grammar.readExtended(STATEMENT_GRAMMAR));
+
+        assertThatThrownBy(() -> parser.entryPoint("unknown"))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Unknown grammar rule \"unknown\"");
+    }
+
+    @Test
+    void shouldParseRepeatedRecordsWithBothEngines() throws IOException {
+        var grammar = Grammar.readExtended(STATEMENT_GRAMMAR);
+        var trees = new ArrayList<String>();
+
+        for (var engine : List.of(ParserEngine.lookAhead(), ParserEngine.earley())) {
+            var parser = new Parser<Integer>(grammar, engine);
+            var records = new StringBuilder();
+            var recordSyntaxTreeBuilder = new RecordSyntaxTreeBuilder<Integer>(record -> records.append(record));
+
+            parser.recordEntryPoint("statement").parse(
+                tokens("keyword:drop", "identifier:t1", "semicolon", "keyword:update", "identifier:t2", "semicolon"),
+                recordSyntaxTreeBuilder
+            );
+
+            recordSyntaxTreeBuilder.finish();
+            trees.add(records.toString());
+        }
+
+        assertThat(trees.get(0)).isEqualTo("""
+            statement at 1
+                drop at 1
+                    table at 2
+                        t1 at 2
+            statement at 4
+                update at 4
+                    table at 5
+                        t2 at 5
+            """);
+        assertThat(trees.get(1)).isEqualTo(trees.get(0));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        ">r: {a} {b}?;             | a a       | 2",
+        ">r: {a} {b}?;             | a b a     | 2",
+        ">r: {a} {b}*;             | a b a     | 2",
+        ">r: {a} {b}*;             | a b b a a | 3",
+        ">r: {a} x; x: ^; x: {b};  | a a       | 2",
+        ">r: {a} x; x: ^; x: {b};  | a b a     | 2",
+        ">r: {a} x; x: ^; x: {>b}; | a a b     | 2",
+    })
+    void shouldParseRecordsEndingInNullableParts(String grammar, String tokens, int recordCount) throws IOException {
+        var trees = new ArrayList<String>();
+
+        for (var engine : List.of(ParserEngine.lookAhead(), ParserEngine.earley())) {
+            var parser = new Parser<Integer>(Grammar.readExtended(grammar), engine);
+            var records = new ArrayList<String>();
+            var recordSyntaxTreeBuilder = new RecordSyntaxTreeBuilder<Integer>(record -> records.add(record.toString()));
+
+            parser.recordEntryPoint("r").parse(tokens(tokens.split(" ")), recordSyntaxTreeBuilder);
+            recordSyntaxTreeBuilder.finish();
+
+            assertThat(records).hasSize(recordCount);
+            trees.add(records.toString());
+        }
+
+        assertThat(trees.get(0)).isEqualTo(trees.get(1));
+    }
+
+    @Test
+    void shouldThrowParsingExceptionOnAmbiguousRecordEnd() {
+        var parser = new Parser<Integer>(Grammar.readExtended(">r: {a} x; x: ^; x: {a};"));
+
+        assertThatThrownBy(() -> parser.recordEntryPoint("r").parse(tokens("a", "a"), new NoActionListener<>()))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("Ambiguous parsing path detected at 2");
+    }
+
+    @Test
+    void shouldThrowGrammarExceptionOnUnknownRootRule() {
+        assertThatThrownBy(() -> parse(STATEMENT_GRAMMAR, emptySet(), "unknown"))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Unknown grammar rule \"unknown\"");
+    }
+
+    @Test
+    void shouldThrowGrammarExceptionOnLeftRecursion() {
+        assertThatThrownBy(() -> new Parser<>(Grammar.readExtended("""
+            a: b {x};
+            b: c? a;
+            c: {y};""")))
+            .isInstanceOf(GrammarException.class)
+            .hasMessageStartingWith("Left recursion detected at");
+    }
+
+    private String parse(String grammar, Set<String> ignoredTokenTypes, String rootRuleName, String ...tokens) throws IOException {
+        return parse(Grammar.readExtended(grammar), ignoredTokenTypes, rootRuleName, tokens);
+    }
+
+    private String parse(Grammar grammar, Set<String> ignoredTokenTypes, String rootRuleName, String ...tokens) throws IOException {
+        var parser = new Parser<Integer>(grammar, ignoredTokenTypes);
+        var syntaxTreeBuilder = new SyntaxTreeBuilder<Integer>();
+        parser.parse(tokens(tokens), rootRuleName, syntaxTreeBuilder);
+
+        try (var writer = new StringWriter()) {
+            new DefaultSyntaxTreeWriter().write(syntaxTreeBuilder.build(), writer);
+            return writer.toString();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.vinniks.parsla.parser;
+
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.tokenizer.Token;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PositionClosureTest {
+    @Test
+    void shouldCollectTokenItemsThroughNullablePrefixes() {
+        var parser = parser("""
+            a: b c {z};
+            b: ^;
+            b: {x};
+            c: ^;
+            c: {y};""", emptySet());
+
+        var closure = parser.getRule("a").getOptions().get(0).getClosure(0);
+
+        assertThat(closure.getEntries(symbolToken(parser, "x"), false)).hasSize(1);
+        assertThat(closure.getEntries(symbolToken(parser, "y"), false)).hasSize(1);
+        assertThat(closure.getEntries(symbolToken(parser, "z"), false)).hasSize(1);
+        assertThat(closure.getEntries(symbolToken(parser, "w"), false)).isEmpty();
+    }
+
+    @Test
+    void shouldRecordExplosionsAndContinuation() {
+        var parser = parser("""
+            a: b {z};
+            b: c {y};
+            c: ^;
+            c: {x};
+            c: {w};""", emptySet());
+
+        var entries = parser.getRule("a").getOptions().get(0).getClosure(0).getEntries(symbolToken(parser, "y"), false);
+
+        assertThat(entries).hasSize(1);
+        assertThat(entries[0].getTokenLevel()).isEqualTo(1);
+
+        assertThat(Arrays.stream(entries[0].getExplosions()).map(explosion -> explosion.getItem().getRuleName()))
+            .containsExactly("b", "c");
+
+        assertThat(Arrays.stream(entries[0].getExplosions()).map(ClosureEntry.Explosion::getLevel))
+            .containsExactly(0, 1);
+
+        assertThat(Arrays.stream(entries[0].getPositions()).map(ClosureEntry.Position::getIndex))
+            .containsExactly(1);
+    }
+
+    @Test
+    void shouldCollectTailsOfNullableRemainders() {
+        var parser = parser("""
+            a: {x} b c;
+            b: ^;
+            b: {y};
+            b: {w};
+            c: ^;""", emptySet());
+
+        var option = parser.getRule("a").getOptions().get(0);
+
+        assertThat(option.getClosure(0).getTails()).isEmpty();
+        assertThat(option.getClosure(1).getTails()).hasSize(1);
+        assertThat(option.getClosure(1).getTails()[0].isTail()).isTrue();
+        assertThat(option.getClosure(1).getTails()[0].getExplosions()).hasSize(2);
+    }
+
+    @Test
+    void shouldLoopOverRepeatedItemsWithoutExplosions() {
+        var parser = parser("""
+            a: {x}* {y};""", emptySet());
+
+        var option = parser.getRule("a").getOptions().get(0);
+        var entries = option.getClosure(0).getEntries(symbolToken(parser, "x"), false);
+
+        assertThat(option.getItem(0)).isInstanceOf(CompiledRepeatItem.class);
+        assertThat(entries).hasSize(1);
+        assertThat(entries[0].getTokenLevel()).isZero();
+        assertThat(entries[0].getExplosions()).isEmpty();
+
+        assertThat(Arrays.stream(entries[0].getPositions()).map(ClosureEntry.Position::getIndex))
+            .containsExactly(0);
+
+        assertThat(option.getClosure(0).getEntries(symbolToken(parser, "y"), false)).hasSize(1);
+    }
+
+    @Test
+    void shouldIncludeIgnoredTokensBeforeTokenItems() {
+        var parser = parser("""
+            a: {x};""", Set.of("space"));
+
+        var closure = parser.getRule("a").getOptions().get(0).getClosure(0);
+
+        assertThat(closure.getEntries(symbolToken(parser, "space"), false)).hasSize(1);
+        assertThat(closure.getEntries(symbolToken(parser, "x"), false)).hasSize(1);
+        assertThat(closure.getEntries(symbolToken(parser, "x"), false)).isSameAs(closure.getEntries(symbolToken(parser, "x"), false));
+    }
+
+    private Parser<Integer> parser(String grammar, Set<String> ignoredTokenTypes) {
+        return new Parser<>(Grammar.readExtended(grammar), ignoredTokenTypes);
+    }
+
+    private SymbolToken symbolToken(Parser<?> parser, String tokenType) {
+        return parser.getSymbolTable().symbolToken(new Token(tokenType));
+    }
+}
@@ -0,0 +1,101 @@
+package org.vinniks.parsla.parser;
+
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.tokenizer.Token;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PredictionDfaTest {
+    @Test
+    void shouldPredictOptionUsingLookAhead() throws Exception {
+        var parser = parser("""
+            a: b {y};
+            a: b {z};
+            b: {x};
+            b: {x} {x};""", emptySet());
+
+        var rule = parser.getRule("a");
+
+        assertThat(rule.predict(symbolToken(parser, "x"), lookAhead(parser, "y"))).isSameAs(rule.getOptions().get(0));
+        assertThat(rule.predict(symbolToken(parser, "x"), lookAhead(parser, "x", "z"))).isSameAs(rule.getOptions().get(1));
+    }
+
+    @Test
+    void shouldPredictOptionWithoutLookAheadWhenOnlyOneCanStart() throws Exception {
+        var parser = parser("""
+            a: {x} {y};
+            a: {x} {z};
+            a: {w};""", emptySet());
+
+        var rule = parser.getRule("a");
+
+        assertThat(rule.predict(symbolToken(parser, "w"), lookAhead(parser))).isSameAs(rule.getOptions().get(2));
+    }
+
+    @Test
+    void shouldNotPredictWhenLookAheadLeavesRule() throws Exception {
+        var parser = parser("""
+            a: b {y};
+            b: {x};
+            b: {x} {y};""", emptySet());
+
+        var rule = parser.getRule("b");
+
+        assertThat(rule.predict(symbolToken(parser, "x"), lookAhead(parser, "y", "y"))).isNull();
+    }
+
+    @Test
+    void shouldNotPredictWhenInputEndsBeforeDecision() throws Exception {
+        var parser = parser("""
+            a: {x} {y};
+            a: {x} {z};""", emptySet());
+
+        var rule = parser.getRule("a");
+
+        assertThat(rule.predict(symbolToken(parser, "x"), lookAhead(parser))).isNull();
+    }
+
+    @Test
+    void shouldPreferElevatedMatches() throws Exception {
+        var parser = parser("""
+            a: {x} {};
+            a: {x} {y}!;""", emptySet());
+
+        var rule = parser.getRule("a");
+
+        assertThat(rule.predict(symbolToken(parser, "x"), lookAhead(parser, "y"))).isSameAs(rule.getOptions().get(1));
+    }
+
+    @Test
+    void shouldReuseCachedStates() throws Exception {
+        var parser = parser("""
+            a: {x} {y};
+            a: {x} {z};""", Set.of("space"));
+
+        var rule = parser.getRule("a");
+        rule.predict(symbolToken(parser, "x"), lookAhead(parser, "space", "y"));
+        var stateCount = rule.getPredictionDfa().getStateCount();
+
+        assertThat(rule.predict(symbolToken(parser, "x"), lookAhead(parser, "space", "z"))).isSameAs(rule.getOptions().get(1));
+        assertThat(rule.predict(symbolToken(parser, "x"), lookAhead(parser, "space", "y"))).isSameAs(rule.getOptions().get(0));
+        assertThat(rule.getPredictionDfa().getStateCount()).isEqualTo(stateCount + 1);
+    }
+
+    private Parser<Integer> parser(String grammar, Set<String> ignoredTokenTypes) {
+        return new Parser<>(Grammar.readExtended(grammar), ignoredTokenTypes);
+    }
+
+    private SymbolToken symbolToken(Parser<?> parser, String tokenType) {
+        return parser.getSymbolTable().symbolToken(new Token(tokenType));
+    }
+
+    private TokenLookAhead lookAhead(Parser<?> parser, String... tokenTypes) {
+        var tokens = Arrays.stream(tokenTypes).map(tokenType -> symbolToken(parser, tokenType)).toList();
+        return distance -> distance <= tokens.size() ? tokens.get(distance - 1) : null;
+    }
+}
@@ -0,0 +1,99 @@
+package org.vinniks.parsla.parser;
+
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.text.dfa.DfaTextTokenizer;
+import org.vinniks.parsla.tokenizer.text.dfa.TokenDefinition;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolTableTest {
+    @Test
+    void shouldInternRuleNamesToDenseIds() {
+        var symbolTable = new SymbolTable();
+
+        assertThat(symbolTable.internRule("a")).isEqualTo(0);
+        assertThat(symbolTable.internRule("b")).isEqualTo(1);
+        assertThat(symbolTable.internRule("a")).isEqualTo(0);
+        assertThat(symbolTable.getRuleCount()).isEqualTo(2);
+        assertThat(symbolTable.ruleName(1)).isEqualTo("b");
+        assertThat(symbolTable.ruleId("c")).isEqualTo(SymbolTable.UNKNOWN_RULE_ID);
+    }
+
+    @Test
+    void shouldInternTokenTypesAndTerminals() {
+        var symbolTable = new SymbolTable();
+
+        var typeTerminalId = symbolTable.internTerminal("identifier", null);
+        var valueTerminalId = symbolTable.internTerminal("identifier", "select");
+
+        assertThat(symbolTable.tokenTypeId("identifier")).isEqualTo(1);
+        assertThat(typeTerminalId).isEqualTo(1);
+        assertThat(valueTerminalId).isEqualTo(2);
+        assertThat(symbolTable.terminalTokenTypeId(valueTerminalId)).isEqualTo(1);
+        assertThat(symbolTable.terminalIds(1).stream()).containsExactly(1, 2);
+    }
+
+    @Test
+    void shouldResolveSymbolTokens() {
+        var symbolTable = new SymbolTable();
+        var typeTerminalId = symbolTable.internTerminal("identifier", null);
+        var valueTerminalId = symbolTable.internTerminal("identifier", "select");
+
+        var selectToken = symbolTable.symbolToken(new Token("identifier", "select"));
+        var otherToken = symbolTable.symbolToken(new Token("identifier", "other"));
+        var unknownToken = symbolTable.symbolToken(new Token("unknown", "select"));
+
+        assertThat(selectToken.getTokenTypeId()).isEqualTo(1);
+        assertThat(selectToken.getTerminalId()).isEqualTo(valueTerminalId);
+        assertThat(otherToken.getTerminalId()).isEqualTo(typeTerminalId);
+        assertThat(unknownToken.getTokenTypeId()).isEqualTo(SymbolTable.UNKNOWN_TOKEN_TYPE_ID);
+        assertThat(unknownToken.getTerminalId()).isEqualTo(SymbolTable.UNKNOWN_TERMINAL_ID);
+    }
+
+    @Test
+    void shouldResolveTokensOfBoundTokenizerByDefinition() throws IOException {
+        var definitions = List.of(
+            TokenDefinition.literal("keyword", "select"),
+            TokenDefinition.literal("keyword", "from"),
+            TokenDefinition.regex("identifier", "[a-z]+"),
+            TokenDefinition.literal("comma", ",").withoutValue(),
+            TokenDefinition.regex("space", " +").skipped()
+        );
+
+        var symbolTable = new SymbolTable();
+        definitions.forEach(definition -> symbolTable.internTokenType(definition.getType()));
+        var selectTerminalId = symbolTable.internTerminal("keyword", "select");
+        var keywordTerminalId = symbolTable.internTerminal("keyword", null);
+        var nameTerminalId = symbolTable.internTerminal("identifier", "name");
+        var identifierTerminalId = symbolTable.internTerminal("identifier", null);
+        var commaTerminalId = symbolTable.internTerminal("comma", null);
+
+        var tokenizer = new DfaTextTokenizer(definitions);
+        symbolTable.bindTokenizer(tokenizer);
+        var otherTokenizer = new DfaTextTokenizer(definitions);
+
+        assertThat(terminalIds(symbolTable, tokenizer, "select name, from other"))
+            .containsExactly(selectTerminalId, nameTerminalId, commaTerminalId, keywordTerminalId, identifierTerminalId)
+            .isEqualTo(terminalIds(symbolTable, otherTokenizer, "select name, from other"));
+    }
+
+    private static List<Integer> terminalIds(SymbolTable symbolTable, DfaTextTokenizer tokenizer, String source) throws IOException {
+        var terminalIds = new ArrayList<Integer>();
+
+        try (var tokenIterator = tokenizer.getTokenIterator(new StringReader(source))) {
+            while (tokenIterator.hasNext()) {
+                var symbolToken = symbolTable.symbolToken(tokenIterator.next());
+                assertThat(symbolTable.terminalTokenTypeId(symbolToken.getTerminalId())).isEqualTo(symbolToken.getTokenTypeId());
+                terminalIds.add(symbolToken.getTerminalId());
+            }
+        }
+
+        return terminalIds;
+    }
+}
@@ -0,0 +1,99 @@
+package org.vinniks.parsla.parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.tokenizer.Token;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TerminalSetTest {
+    private SymbolTable symbolTable;
+    private BitSet ignoredTokenTypeIds;
+
+    @BeforeEach
+    void setUp() {
+        symbolTable = new SymbolTable();
+        symbolTable.internTerminal("a", null);
+        symbolTable.internTerminal("a", "value");
+        symbolTable.internTerminal("b", null);
+        ignoredTokenTypeIds = new BitSet();
+        ignoredTokenTypeIds.set(symbolTable.internTokenType("space"));
+    }
+
+    @Test
+    void shouldMatchAllValuesOfAddedTokenType() {
+        var firstSet = new TerminalSet();
+        firstSet.add(tokenItem("a", null));
+
+        assertThat(firstSet.contains(symbolToken("a", null))).isTrue();
+        assertThat(firstSet.contains(symbolToken("a", "value"))).isTrue();
+        assertThat(firstSet.contains(symbolToken("a", "other"))).isTrue();
+        assertThat(firstSet.contains(symbolToken("b", null))).isFalse();
+    }
+
+    @Test
+    void shouldMatchOnlyAddedTokenValue() {
+        var firstSet = new TerminalSet();
+        firstSet.add(tokenItem("a", "value"));
+
+        assertThat(firstSet.contains(symbolToken("a", "value"))).isTrue();
+        assertThat(firstSet.contains(symbolToken("a", "other"))).isFalse();
+        assertThat(firstSet.contains(symbolToken("a", null))).isFalse();
+    }
+
+    @Test
+    void shouldMatchAnyNotIgnoredTokenTypeWhenAnyTokenItemAdded() {
+        var notIgnoredTerminalIds = new BitSet();
+        notIgnoredTerminalIds.set(0, symbolTable.getTerminalCount());
+        notIgnoredTerminalIds.andNot(symbolTable.terminalIds(ignoredTokenTypeIds));
+        var firstSet = new TerminalSet();
+        firstSet.add(new CompiledRegularTokenItem(0, null, 0, false, null, 0, false, ignoredTokenTypeIds, notIgnoredTerminalIds));
+
+        assertThat(firstSet.contains(symbolToken("a", null))).isTrue();
+        assertThat(firstSet.contains(symbolToken("unknown", null))).isTrue();
+        assertThat(firstSet.contains(symbolToken("space", null))).isFalse();
+    }
+
+    @Test
+    void shouldMatchOnlyIgnoredTokenTypesWhenIgnoredTokenItemAdded() {
+        var firstSet = new TerminalSet();
+        firstSet.add(new CompiledIgnoredTokenItem(ignoredTokenTypeIds, symbolTable.terminalIds(ignoredTokenTypeIds)));
+
+        assertThat(firstSet.contains(symbolToken("a", null))).isFalse();
+        assertThat(firstSet.contains(symbolToken("space", null))).isTrue();
+    }
+
+    @Test
+    void shouldReportChangesOnlyWhenNewTerminalsAdded() {
+        var firstSet = new TerminalSet();
+        var otherFirstSet = new TerminalSet();
+        otherFirstSet.add(tokenItem("a", null));
+
+        assertThat(firstSet.addAll(otherFirstSet)).isTrue();
+        assertThat(firstSet.addAll(otherFirstSet)).isFalse();
+        assertThat(firstSet.add(tokenItem("a", "value"))).isFalse();
+    }
+
+    private CompiledRegularTokenItem tokenItem(String tokenType, String tokenValue) {
+        var terminalId = symbolTable.internTerminal(tokenType, tokenValue);
+        var tokenTypeId = symbolTable.tokenTypeId(tokenType);
+        BitSet terminalIds;
+
+        if (tokenValue == null) {
+            terminalIds = symbolTable.terminalIds(tokenTypeId);
+        } else {
+            terminalIds = new BitSet();
+            terminalIds.set(terminalId);
+        }
+
+        return new CompiledRegularTokenItem(
+            0, tokenType, tokenTypeId, false, tokenValue, terminalId, false, ignoredTokenTypeIds, terminalIds
+        );
+    }
+
+    private SymbolToken symbolToken(String tokenType, String tokenValue) {
+        return symbolTable.symbolToken(new Token(tokenType, tokenValue));
+    }
+}
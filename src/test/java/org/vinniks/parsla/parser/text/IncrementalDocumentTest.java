@@ -0,0 +1,193 @@
+package org.vinniks.parsla.parser.text;
+
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.syntaxtree.SyntaxTreeNode;
+import org.vinniks.parsla.tokenizer.text.TextPosition;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncrementalDocumentTest {
+    private static final String GRAMMAR = """
+        >statement: {word, >}+ {semicolon};""";
+
+    private static final String LOOK_AHEAD_GRAMMAR = """
+        >r: {word, >"a"};
+        >r: {word, >"a"} {word, >"a"} {word, >"a"} {word, >"b"};""";
+
+    private final TextParser parser = new TextParser(Grammar.readExtended(GRAMMAR), new WordTokenizer(() -> new char[64]));
+
+    @Test
+    void shouldParseRecordsOfTheWholeDocument() throws IOException {
+        var document = parser.parseDocument("a b;\nc;\n d e f;", "statement");
+
+        assertThat(document.getText()).isEqualTo("a b;\nc;\n d e f;");
+        assertThat(render(document.getRecords())).isEqualTo(render(parseRecords("a b;\nc;\n d e f;")));
+    }
+
+    @Test
+    void shouldReuseRecordsOutsideOfTheEditedLine() throws IOException {
+        var document = parser.parseDocument(lines(100), "statement");
+        var editOffset = document.getText().indexOf("w50");
+        var editedDocument = document.edit(TextEdit.insert(editOffset, "x y "));
+
+        assertThat(editedDocument.getRecords()).hasSize(100);
+        assertThat(editedDocument.getRecords().get(48)).isSameAs(document.getRecords().get(48));
+        assertThat(editedDocument.getRecords().get(51)).isSameAs(document.getRecords().get(51));
+        assertThat(editedDocument.getRecords().get(99)).isSameAs(document.getRecords().get(99));
+        assertThat(editedDocument.getRecords().get(50).children()).extracting(SyntaxTreeNode::value).containsExactly("v50", "x", "y", "w50");
+        assertThat(render(editedDocument.getRecords())).isEqualTo(render(parseRecords(editedDocument.getText())));
+    }
+
+    @Test
+    void shouldShiftReusedRecordsWhenLinesAreInserted() throws IOException {
+        var document = parser.parseDocument(lines(10), "statement");
+        var editOffset = document.getText().indexOf("w5");
+        var editedDocument = document.edit(TextEdit.insert(editOffset, "x;\ny;\n"));
+
+        assertThat(editedDocument.getRecords()).hasSize(12);
+        assertThat(editedDocument.getRecords().get(3)).isSameAs(document.getRecords().get(3));
+        assertThat(editedDocument.getRecords().get(11).position()).isEqualTo(new TextPosition(12, 1));
+        assertThat(render(editedDocument.getRecords())).isEqualTo(render(parseRecords(editedDocument.getText())));
+    }
+
+    @Test
+    void shouldMergeRecordsWhenSeparatorIsDeleted() throws IOException {
+        var document = parser.parseDocument("a;\nb;\nc;", "statement");
+        var editedDocument = document.edit(TextEdit.delete(4, 1), new TextEdit(0, 1, "z"));
+
+        assertThat(editedDocument.getText()).isEqualTo("z;\nb\nc;");
+        assertThat(editedDocument.getRecords()).hasSize(2);
+        assertThat(render(editedDocument.getRecords())).isEqualTo(render(parseRecords("z;\nb\nc;")));
+    }
+
+    @Test
+    void shouldReportAbsolutePositionsOfErrorsInTheReparsedRange() throws IOException {
+        var document = parser.parseDocument("a;\nb;\nc;", "statement");
+
+        assertThatThrownBy(() -> document.edit(TextEdit.delete(3, 1)))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected semicolon at 2:1");
+
+        assertThatThrownBy(() -> document.edit(TextEdit.delete(7, 1)))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected end of the input at 3:1");
+    }
+
+    @Test
+    void shouldRestartBeforeRecordsWhoseEndDependsOnDamagedTokens() throws IOException {
+        var lookAheadParser = lookAheadParser("");
+        var document = lookAheadParser.parseDocument("a a a a", "r");
+        var editedDocument = document.edit(new TextEdit(6, 1, "b"));
+
+        assertThat(document.getRecords()).hasSize(4);
+        assertThat(editedDocument.getRecords()).hasSize(1);
+        assertThat(render(editedDocument.getRecords())).isEqualTo(render(parseRecords(lookAheadParser, "r", "a a a b")));
+    }
+
+    @Test
+    void shouldReportAmbiguityOfFullReparse() throws IOException {
+        var document = lookAheadParser(">r: {word, >\"b\"};").parseDocument("a a a a", "r");
+
+        assertThatThrownBy(() -> document.edit(new TextEdit(6, 1, "b")))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("Ambiguous parsing path detected at 1:7");
+    }
+
+    @Test
+    void shouldMatchFullReparseAfterRandomEdits() throws IOException {
+        assertMatchesFullReparseAfterRandomEdits(parser, "statement", lines(30), "a", "bb ", ";", "\n", " ", "c;\n", "d e;");
+    }
+
+    @Test
+    void shouldMatchFullReparseAfterRandomEditsWithLookAheadAcrossRecords() throws IOException {
+        assertMatchesFullReparseAfterRandomEdits(lookAheadParser(""), "r", "a a a b\na a\n".repeat(10), "a ", "b ", "a", "b", "\n", " ");
+    }
+
+    @Test
+    void shouldRejectInvalidEdits() throws IOException {
+        var document = parser.parseDocument("a;\nb;", "statement");
+
+        assertThatThrownBy(() -> document.edit(TextEdit.delete(3, 3)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("text edit exceeds the document length");
+
+        assertThatThrownBy(() -> document.edit(TextEdit.delete(0, 2), TextEdit.insert(1, "x")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("text edits must not overlap");
+
+        assertThatThrownBy(() -> TextEdit.insert(-1, "x"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("offset can not be less than 0");
+    }
+
+    private void assertMatchesFullReparseAfterRandomEdits(
+        TextParser parser, String recordRuleName, String text, String... fragments
+    ) throws IOException {
+        var random = new Random(42);
+        var document = parser.parseDocument(text, recordRuleName);
+
+        for (var i = 0; i < 500; i++) {
+            text = document.getText();
+            var offset = random.nextInt(text.length() + 1);
+            var length = random.nextInt(Math.min(4, text.length() - offset) + 1);
+            var edit = new TextEdit(offset, length, random.nextBoolean() ? fragments[random.nextInt(fragments.length)] : "");
+            var editedText = text.substring(0, offset) + edit.getReplacement() + text.substring(offset + length);
+
+            List<SyntaxTreeNode<TextPosition>> expectedRecords;
+
+            try {
+                expectedRecords = parseRecords(parser, recordRuleName, editedText);
+            } catch (ParsingException e) {
+                var currentDocument = document;
+                assertThatThrownBy(() -> currentDocument.edit(edit)).isInstanceOf(ParsingException.class).hasMessage(e.getMessage());
+                continue;
+            }
+
+            document = document.edit(edit);
+
+            assertThat(document.getText()).isEqualTo(editedText);
+            assertThat(render(document.getRecords())).isEqualTo(render(expectedRecords));
+        }
+    }
+
+    private List<SyntaxTreeNode<TextPosition>> parseRecords(String source) throws IOException {
+        return parseRecords(parser, "statement", source);
+    }
+
+    private static List<SyntaxTreeNode<TextPosition>> parseRecords(
+        TextParser parser, String recordRuleName, String source
+    ) throws IOException {
+        var records = new ArrayList<SyntaxTreeNode<TextPosition>>();
+        parser.parseRecords(new StringReader(source), recordRuleName, records::add);
+        return records;
+    }
+
+    private static TextParser lookAheadParser(String extraRules) {
+        return new TextParser(Grammar.readExtended(LOOK_AHEAD_GRAMMAR + extraRules), new WordTokenizer(() -> new char[64]));
+    }
+
+    private String render(List<SyntaxTreeNode<TextPosition>> records) {
+        var builder = new StringBuilder();
+        records.forEach(builder::append);
+        return builder.toString();
+    }
+
+    private String lines(int count) {
+        var builder = new StringBuilder();
+
+        for (var i = 0; i < count; i++) {
+            builder.append("v").append(i).append(" w").append(i).append(";\n");
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,234 @@
+package org.vinniks.parsla.parser.text;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.vinniks.parsla.exception.GrammarException;
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.tokenizer.text.buffered.CharacterBufferCache;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParseServiceTest {
+    private static final String GRAMMAR = """
+        >document: statement*;
+        >statement: {word, >}+ {semicolon};""";
+
+    @TempDir
+    Path directory;
+
+    private TextParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new TextParser(Grammar.readExtended(GRAMMAR), new WordTokenizer(new CharacterBufferCache(64, 4)));
+    }
+
+    @Test
+    void shouldRejectUnknownRootRule() {
+        assertThatThrownBy(() -> new ParseService(parser, "unknown"))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Unknown grammar rule \"unknown\"");
+    }
+
+    @Test
+    void shouldRejectConcurrencyLimitLessThanOne() {
+        assertThatThrownBy(() -> new ParseService(parser, "document", 0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("concurrency limit can not be less than 1");
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldDeliverResultsInSubmissionOrder() throws Exception {
+        var paths = writeDocuments(200);
+        var results = new ArrayList<ParseResult>();
+
+        try (var service = new ParseService(parser, "document", 4)) {
+            service.parseAll(paths.stream(), results::add);
+        }
+
+        assertThat(results).extracting(ParseResult::getPath).containsExactlyElementsOf(paths);
+
+        for (var result : results) {
+            assertThat(result.isSuccessful()).isTrue();
+            assertThat(result.getSyntaxTree().toString()).isEqualTo(parser.parse(Files.readString(result.getPath()), "document").toString());
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldIsolateFailedDocuments() throws Exception {
+        var paths = writeDocuments(50);
+        Files.writeString(paths.get(10), "missing semicolon");
+        paths.set(20, directory.resolve("missing.txt"));
+        var results = new ArrayList<ParseResult>();
+
+        try (var service = new ParseService(parser, "document", 4)) {
+            service.parseAll(paths.stream(), ParseResultOrder.COMPLETION, results::add);
+        }
+
+        assertThat(results).extracting(ParseResult::getPath).containsExactlyInAnyOrderElementsOf(paths);
+
+        for (var result : results) {
+            if (result.getPath().equals(paths.get(10))) {
+                assertThat(result.getError()).isInstanceOf(ParsingException.class);
+                assertThat(result.getSyntaxTree()).isNull();
+            } else if (result.getPath().equals(paths.get(20))) {
+                assertThat(result.getError()).isInstanceOf(IOException.class);
+            } else {
+                assertThat(result.isSuccessful()).isTrue();
+                assertThat(result.getSyntaxTree().valueIs("document")).isTrue();
+            }
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldReplaceMalformedInputInDocuments() throws Exception {
+        var path = Files.write(directory.resolve("malformed.txt"), new byte[]{'a', ' ', 'b', (byte) 0xC3, ';'});
+        var results = new ArrayList<ParseResult>();
+
+        try (var service = new ParseService(parser, "document")) {
+            service.parseAll(Stream.of(path), results::add);
+        }
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).isSuccessful()).isTrue();
+        assertThat(results.get(0).getSyntaxTree().toString()).isEqualTo(parser.parse("a b\uFFFD;", "document").toString());
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldLimitConcurrentParses() throws Exception {
+        var activeReaders = new AtomicInteger();
+        var maxActiveReaders = new AtomicInteger();
+        var futures = new ArrayList<CompletableFuture<?>>();
+
+        try (var service = new ParseService(parser, "document", 3)) {
+            for (var i = 0; i < 20; i++) {
+                futures.add(service.submit(new SlowReader("a b; c;", activeReaders, maxActiveReaders)));
+            }
+
+            for (var future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(maxActiveReaders.get()).isBetween(1, 3);
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldCompleteSubmittedParsesExceptionallyOnErrors() throws Exception {
+        try (var service = new ParseService(parser, "document")) {
+            var future = service.submit(new StringReader("a b"));
+
+            assertThatThrownBy(future::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ParsingException.class);
+
+            assertThat(service.submit(new StringReader("a b;")).get().toString())
+                .isEqualTo(parser.parse("a b;", "document").toString());
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldReuseCharacterBuffersBetweenParses() throws Exception {
+        var parser = new TextParser(Grammar.readExtended(GRAMMAR), new WordTokenizer(() -> new char[64]));
+        var buffers = new ArrayList<char[]>();
+
+        try (var service = new ParseService(parser, "document", 1)) {
+            for (var i = 0; i < 3; i++) {
+                service.submit(new RecordingReader("a b; c;", buffers)).get();
+            }
+        }
+
+        assertThat(buffers).isNotEmpty().allSatisfy(buffer -> assertThat(buffer).isSameAs(buffers.get(0)));
+    }
+
+    private List<Path> writeDocuments(int count) throws IOException {
+        var paths = new ArrayList<Path>();
+
+        for (var i = 0; i < count; i++) {
+            var path = directory.resolve(String.format("document-%d.txt", i));
+            var statements = new StringBuilder();
+
+            for (var j = 0; j <= i % 7; j++) {
+                statements.append(String.format("w%d x%d;\n", i, j));
+            }
+
+            Files.writeString(path, statements);
+            paths.add(path);
+        }
+
+        return paths;
+    }
+
+    private static final class SlowReader extends Reader {
+        private final Reader source;
+        private final AtomicInteger activeReaders;
+        private final AtomicInteger maxActiveReaders;
+
+        private SlowReader(String source, AtomicInteger activeReaders, AtomicInteger maxActiveReaders) {
+            this.source = new StringReader(source);
+            this.activeReaders = activeReaders;
+            this.maxActiveReaders = maxActiveReaders;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            maxActiveReaders.accumulateAndGet(activeReaders.incrementAndGet(), Math::max);
+
+            try {
+                Thread.sleep(20);
+                return source.read(buffer, offset, length);
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            } finally {
+                activeReaders.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class RecordingReader extends Reader {
+        private final Reader source;
+        private final List<char[]> buffers;
+
+        private RecordingReader(String source, List<char[]> buffers) {
+            this.source = new StringReader(source);
+            this.buffers = buffers;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            buffers.add(buffer);
+            return source.read(buffer, offset, length);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
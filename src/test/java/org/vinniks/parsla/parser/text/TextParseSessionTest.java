@@ -0,0 +1,74 @@
+package org.vinniks.parsla.parser.text;
+
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.syntaxtree.SyntaxTreeBuilder;
+import org.vinniks.parsla.tokenizer.text.PipelinedTextTokenizer;
+import org.vinniks.parsla.tokenizer.text.TextPosition;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextParseSessionTest {
+    private static final String GRAMMAR = """
+        >document: statement*;
+        >statement: {word, >}+ {semicolon};""";
+
+    private static final String SOURCE = "alpha beta;\n  gamma;\ndelta epsilon zeta;";
+
+    private final TextParser parser = new TextParser(Grammar.readExtended(GRAMMAR), new WordTokenizer(() -> new char[16]));
+
+    @Test
+    void shouldParseCharactersFedInChunks() throws IOException {
+        for (var chunkSize = 1; chunkSize <= SOURCE.length(); chunkSize++) {
+            var syntaxTreeBuilder = new SyntaxTreeBuilder<TextPosition>();
+            var session = parser.textSession("document", syntaxTreeBuilder);
+            var buffer = CharBuffer.allocate(chunkSize);
+
+            for (var i = 0; i < SOURCE.length(); i += chunkSize) {
+                buffer.clear();
+                buffer.put(SOURCE, i, Math.min(i + chunkSize, SOURCE.length()));
+                buffer.flip();
+                session.feedChars(buffer);
+                assertThat(buffer.hasRemaining()).isFalse();
+            }
+
+            session.finish();
+
+            assertThat(syntaxTreeBuilder.build().toString()).isEqualTo(parser.parse(SOURCE, "document").toString());
+        }
+    }
+
+    @Test
+    void shouldTokenizeFedCharactersOnCallingThreadWithPipelinedTokenizer() throws IOException {
+        var pipelinedParser = new TextParser(
+            Grammar.readExtended(GRAMMAR),
+            new PipelinedTextTokenizer(new WordTokenizer(() -> new char[16]), 2, 2)
+        );
+
+        var syntaxTreeBuilder = new SyntaxTreeBuilder<TextPosition>();
+        var session = pipelinedParser.textSession("document", syntaxTreeBuilder);
+        session.feedChars(CharBuffer.wrap(SOURCE, 0, 10));
+        session.feedChars(CharBuffer.wrap(SOURCE, 10, SOURCE.length()));
+        session.finish();
+
+        assertThat(syntaxTreeBuilder.build().toString()).isEqualTo(parser.parse(SOURCE, "document").toString());
+    }
+
+    @Test
+    void shouldReportErrorPositionsAcrossChunks() throws IOException {
+        var session = parser.textSession("document", new SyntaxTreeBuilder<>());
+        session.feedChars(CharBuffer.wrap("alpha;\nbe"));
+        session.feedChars(CharBuffer.wrap("ta"));
+
+        assertThatThrownBy(session::finish)
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected end of the input at 2:1");
+
+        assertThat(session.isOpen()).isFalse();
+    }
+}
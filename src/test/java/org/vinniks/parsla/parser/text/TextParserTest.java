@@ -0,0 +1,182 @@
+package org.vinniks.parsla.parser.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.vinniks.parsla.exception.GrammarException;
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.grammar.Grammar;
+import org.vinniks.parsla.syntaxtree.SyntaxTreeNode;
+import org.vinniks.parsla.tokenizer.text.PipelinedTextTokenizer;
+import org.vinniks.parsla.tokenizer.text.TextPosition;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextParserTest {
+    private static final String GRAMMAR = """
+        >document: statement*;
+        >statement: {word, >}+ {semicolon};
+        empty: ^;""";
+
+    private final TextParser parser = new TextParser(Grammar.readExtended(GRAMMAR), new WordTokenizer(() -> new char[64]));
+
+    @Test
+    void shouldParseRecords() throws IOException {
+        var records = new ArrayList<SyntaxTreeNode<TextPosition>>();
+        parser.parseRecords(new StringReader("a b;\nc;\n d e f;"), "statement", records::add);
+
+        assertThat(records).hasSize(3);
+        assertThat(records.get(0).toString()).isEqualTo(parser.parse("a b;", "statement").toString());
+        assertThat(records.get(1).toString()).isEqualTo("""
+            statement at 2:1
+                c at 2:1
+            """);
+        assertThat(records.get(2).position()).isEqualTo(new TextPosition(3, 2));
+        assertThat(records.get(2).children()).extracting(SyntaxTreeNode::value).containsExactly("d", "e", "f");
+    }
+
+    @Test
+    void shouldParseWithPipelinedTokenizer() throws IOException {
+        var pipelinedParser = new TextParser(
+            Grammar.readExtended(GRAMMAR),
+            new PipelinedTextTokenizer(new WordTokenizer(() -> new char[64]), 2, 2)
+        );
+
+        var source = "a b;\nc;\n d e f;".repeat(50);
+
+        assertThat(pipelinedParser.parse(new StringReader(source), "document").toString())
+            .isEqualTo(parser.parse(new StringReader(source), "document").toString());
+
+        assertThatThrownBy(() -> pipelinedParser.parse(new StringReader("a;\nb;\nc"), "document"))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected end of the input at 3:1");
+    }
+
+    @Test
+    void shouldParseMemoryMappedFile(@TempDir Path directory) throws IOException {
+        var source = "a b;\nc;\n d e f;\n".repeat(50) + "ä ж;\n😀;";
+        var file = Files.writeString(directory.resolve("source.txt"), source);
+
+        assertThat(parser.parse(file, "document").toString())
+            .isEqualTo(parser.parse(new StringReader(source), "document").toString());
+    }
+
+    @Test
+    void shouldParseEmptyInputAsNoRecords() throws IOException {
+        var records = new ArrayList<SyntaxTreeNode<TextPosition>>();
+        parser.parseRecords(new StringReader(" "), "statement", records::add);
+
+        assertThat(records).isEmpty();
+    }
+
+    @Test
+    void shouldHandOverRecordsBeforeParsingError() {
+        var records = new ArrayList<SyntaxTreeNode<TextPosition>>();
+
+        assertThatThrownBy(() -> parser.parseRecords(new StringReader("a;\nb;\nc"), "statement", records::add))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected end of the input at 3:1");
+
+        assertThat(records).hasSize(2);
+    }
+
+    @Test
+    void shouldRejectNullableRecordRules() {
+        assertThatThrownBy(() -> parser.parseRecords(new StringReader(""), "empty", records -> {}))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Record rule \"empty\" must not match empty input");
+    }
+
+    @Test
+    @Timeout(60)
+    void shouldStreamLargeNumberOfRecords() throws IOException {
+        var recordCount = 200_000;
+        var recordStatistics = new long[2];
+
+        parser.parseRecords(new RecordReader(recordCount), "statement", record -> {
+            recordStatistics[0]++;
+            recordStatistics[1] += record.children().size();
+        });
+
+        assertThat(recordStatistics[0]).isEqualTo(recordCount);
+        assertThat(recordStatistics[1]).isEqualTo(recordCount * 3L);
+    }
+
+    @Test
+    void shouldParseChunksInParallel() throws IOException {
+        var source = new StringBuilder();
+
+        for (var i = 0; i < 1_000; i++) {
+            source.append(String.format("a%d b%d;%s", i, i, i % 10 == 0 ? "\n" : " "));
+        }
+
+        var expectedRecords = new ArrayList<SyntaxTreeNode<TextPosition>>();
+        parser.parseRecords(new StringReader(source.toString()), "statement", expectedRecords::add);
+
+        var records = parser.parseParallel(new StringReader(source + "\n  "), "statement", "semicolon");
+
+        assertThat(records).hasSize(1_000);
+        assertThat(records.toString()).isEqualTo(expectedRecords.toString());
+    }
+
+    @Test
+    void shouldFallBackToSequentialParseWhenSeparatorIsNested() throws IOException {
+        var blockParser = new TextParser(Grammar.readExtended("""
+            item: >statement;
+            item: >block;
+            >statement: {word, >}+ {semicolon};
+            >block: {begin} item+ {end} {semicolon};"""), new WordTokenizer(() -> new char[64]));
+
+        var records = blockParser.parseParallel(new StringReader("a; begin b; c d; end; e;"), "item", "semicolon");
+
+        assertThat(records).extracting(record -> record.child().value()).containsExactly("statement", "block", "statement");
+        assertThat(records.get(1).child().children()).extracting(SyntaxTreeNode::value).containsExactly("statement", "statement");
+    }
+
+    @Test
+    void shouldReportParallelParsingErrorsAtOriginalPositions() {
+        assertThatThrownBy(() -> parser.parseParallel(new StringReader("a;\nb;\nc d"), "statement", "semicolon"))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected end of the input at 3:3");
+    }
+
+    private static final class RecordReader extends Reader {
+        private static final String RECORD = "alpha beta gamma;\n";
+
+        private final int recordCount;
+        private long position;
+
+        private RecordReader(int recordCount) {
+            this.recordCount = recordCount;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            var end = (long) recordCount * RECORD.length();
+
+            if (position == end) {
+                return -1;
+            }
+
+            var count = (int) Math.min(length, end - position);
+
+            for (var i = 0; i < count; i++) {
+                buffer[offset + i] = RECORD.charAt((int) (position++ % RECORD.length()));
+            }
+
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.vinniks.parsla.parser.text;
+
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.text.AbstractTextTokenIterator;
+import org.vinniks.parsla.tokenizer.text.CharacterIterator;
+import org.vinniks.parsla.tokenizer.text.TextPosition;
+import org.vinniks.parsla.tokenizer.text.buffered.AbstractBufferedTextTokenizer;
+import org.vinniks.parsla.tokenizer.text.buffered.CharacterBufferProvider;
+
+import java.util.Set;
+
+class WordTokenizer extends AbstractBufferedTextTokenizer {
+    private static final Token SEMICOLON_TOKEN = new Token("semicolon");
+    private static final Set<String> KEYWORDS = Set.of("begin", "end");
+
+    WordTokenizer(CharacterBufferProvider characterBufferProvider) {
+        super(characterBufferProvider);
+    }
+
+    @Override
+    protected AbstractTextTokenIterator getTokenIterator(CharacterIterator characterIterator) {
+        return new WordTokenIterator(characterIterator);
+    }
+
+    private static class WordTokenIterator extends AbstractTextTokenIterator {
+        private final StringBuilder wordBuilder;
+        private TextPosition wordPosition;
+
+        private WordTokenIterator(CharacterIterator characterIterator) {
+            super(characterIterator);
+            wordBuilder = new StringBuilder();
+        }
+
+        @Override
+        protected void character(char c) {
+            if (c == ';' || Character.isWhitespace(c)) {
+                if (c == ';') {
+                    push(SEMICOLON_TOKEN, characterPosition());
+                }
+
+                pushWord();
+            } else {
+                if (wordBuilder.length() == 0) {
+                    wordPosition = characterPosition();
+                }
+
+                wordBuilder.append(c);
+            }
+        }
+
+        @Override
+        protected void end() {
+            pushWord();
+        }
+
+        private void pushWord() {
+            if (wordBuilder.length() > 0) {
+                var word = wordBuilder.toString();
+                push(KEYWORDS.contains(word) ? new Token(word) : new Token("word", word), wordPosition);
+                wordBuilder.setLength(0);
+            }
+        }
+    }
+}
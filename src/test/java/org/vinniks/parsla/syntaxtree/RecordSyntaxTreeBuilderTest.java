@@ -0,0 +1,56 @@
+package org.vinniks.parsla.syntaxtree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordSyntaxTreeBuilderTest {
+    @Test
+    void shouldBuildOneTreePerTopLevelNode() {
+        var records = new ArrayList<SyntaxTreeNode<Integer>>();
+        var builder = new RecordSyntaxTreeBuilder<Integer>(records::add);
+
+        builder.enter(1, "record");
+        builder.enter(2, "key");
+        builder.tap(3, "a");
+        builder.exit();
+        builder.exit();
+
+        assertThat(records).hasSize(1);
+
+        builder.enter(4, "record");
+        builder.tap(5, "b");
+        builder.exit();
+        builder.enter(6, "record");
+        builder.tap(7, "c");
+        builder.finish();
+
+        assertThat(records).hasSize(3);
+        assertThat(records.get(0).toString()).isEqualTo("""
+            record at 1
+                key at 2
+                    a at 3
+            """);
+        assertThat(records.get(1).toString()).isEqualTo("""
+            record at 4
+                b at 5
+            """);
+        assertThat(records.get(2).position()).isEqualTo(6);
+        assertThat(records.get(2).child("c").position()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldHandOverTopLevelTapsAsLeafRecords() {
+        var records = new ArrayList<SyntaxTreeNode<Integer>>();
+        var builder = new RecordSyntaxTreeBuilder<Integer>(records::add);
+
+        builder.tap(1, "a");
+        builder.finish();
+
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).value()).isEqualTo("a");
+        assertThat(records.get(0).children()).isEmpty();
+    }
+}
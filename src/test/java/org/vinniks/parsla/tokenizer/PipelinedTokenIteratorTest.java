@@ -0,0 +1,121 @@
+package org.vinniks.parsla.tokenizer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.vinniks.parsla.exception.ParsingException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Timeout(30)
+class PipelinedTokenIteratorTest {
+    @ParameterizedTest
+    @CsvSource({"1, 1", "3, 2", "7, 3", "256, 16", "1000, 4"})
+    void shouldDeliverAllTokensWithPositions(int batchSize, int batchCount) throws IOException {
+        var source = new CountingTokenIterator(10_000, -1);
+        var tokens = new ArrayList<String>();
+        var positions = new ArrayList<Integer>();
+
+        try (var tokenIterator = new PipelinedTokenIterator<>(source, batchSize, batchCount)) {
+            while (tokenIterator.hasNext()) {
+                tokens.add(tokenIterator.next().getValue());
+                positions.add(tokenIterator.position());
+            }
+
+            assertThat(tokenIterator.hasNext()).isFalse();
+        }
+
+        assertThat(tokens).hasSize(10_000);
+
+        for (var i = 0; i < tokens.size(); i++) {
+            assertThat(tokens.get(i)).isEqualTo(String.valueOf(i));
+            assertThat(positions.get(i)).isEqualTo(i + 1);
+        }
+
+        assertThat(source.closed).isTrue();
+    }
+
+    @Test
+    void shouldRethrowSourceErrorsAfterPrecedingTokens() throws IOException {
+        var tokens = new ArrayList<String>();
+
+        try (var tokenIterator = new PipelinedTokenIterator<>(new CountingTokenIterator(100, 42), 16, 2)) {
+            assertThatThrownBy(() -> {
+                while (tokenIterator.hasNext()) {
+                    tokens.add(tokenIterator.next().getValue());
+                }
+            })
+                .isInstanceOf(ParsingException.class)
+                .hasMessage("unexpected character at 43");
+        }
+
+        assertThat(tokens).hasSize(42);
+    }
+
+    @Test
+    void shouldStopProducerAndCloseSourceOnClose() throws IOException {
+        var source = new CountingTokenIterator(Integer.MAX_VALUE, -1);
+        var tokenIterator = new PipelinedTokenIterator<>(source, 4, 2);
+
+        assertThat(tokenIterator.next().getValue()).isEqualTo("0");
+
+        tokenIterator.close();
+
+        assertThat(source.closed).isTrue();
+        assertThat(source.count).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    void shouldRejectInvalidBufferSizes() {
+        var source = new CountingTokenIterator(0, -1);
+
+        assertThatThrownBy(() -> new PipelinedTokenIterator<>(source, 0, 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("batch size can not be less than 1");
+
+        assertThatThrownBy(() -> new PipelinedTokenIterator<>(source, 1, 0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("batch count can not be less than 1");
+    }
+
+    private static final class CountingTokenIterator implements TokenIterator<Integer> {
+        private final int tokenCount;
+        private final int failingToken;
+        private volatile int count;
+        private volatile boolean closed;
+
+        private CountingTokenIterator(int tokenCount, int failingToken) {
+            this.tokenCount = tokenCount;
+            this.failingToken = failingToken;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (count == failingToken) {
+                throw new ParsingException("unexpected character", count + 1);
+            }
+
+            return count < tokenCount;
+        }
+
+        @Override
+        public Token next() {
+            return new Token("number", String.valueOf(count++));
+        }
+
+        @Override
+        public Integer position() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.vinniks.parsla.tokenizer.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.charset.MalformedInputException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedFileCharacterIteratorTest {
+    private static final String SOURCE = "plain ascii, äöü, кириллица, 中文, 😀🚀 and the end\n";
+
+    @TempDir
+    private Path directory;
+
+    @ParameterizedTest
+    @CsvSource({"4, 2", "5, 3", "7, 64", "4096, 2", "268435456, 65536"})
+    void shouldDecodeCharactersAcrossWindowsAndChunks(int windowSize, int chunkSize) throws IOException {
+        var source = SOURCE.repeat(20);
+        var file = Files.writeString(directory.resolve("source.txt"), source);
+        var builder = new StringBuilder();
+        var buffer = new char[5];
+
+        try (var characterIterator = new MappedFileCharacterIterator(file, windowSize, chunkSize)) {
+            assertThat(characterIterator.next()).isEqualTo('p');
+            builder.append('p');
+
+            for (var count = characterIterator.read(buffer, 0, 5); count != -1; count = characterIterator.read(buffer, 0, 5)) {
+                builder.append(buffer, 0, count);
+            }
+
+            assertThat(characterIterator.hasNext()).isFalse();
+            assertThat(characterIterator.isEnded()).isTrue();
+        }
+
+        assertThat(builder.toString()).isEqualTo(source);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"ab€c", "abc€d", "a😀b", "ab😀c", "abc😀d"})
+    void shouldDecodeCharacterSplitAtWindowBoundary(String source) throws IOException {
+        var file = Files.writeString(directory.resolve("source.txt"), source);
+        var builder = new StringBuilder();
+
+        // With a 4 byte window the multi-byte character starts in the first window and ends in the second one.
+        try (var characterIterator = new MappedFileCharacterIterator(file, 4, 16)) {
+            while (characterIterator.hasNext()) {
+                builder.append(characterIterator.next());
+            }
+        }
+
+        assertThat(builder.toString()).isEqualTo(source);
+    }
+
+    @Test
+    void shouldIterateOverEmptyFile() throws IOException {
+        var file = Files.writeString(directory.resolve("empty.txt"), "");
+
+        try (var characterIterator = new MappedFileCharacterIterator(file)) {
+            assertThat(characterIterator.hasNext()).isFalse();
+            assertThat(characterIterator.read(new char[5], 0, 5)).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void shouldThrowMalformedInputExceptionOnInvalidUtf8() throws IOException {
+        var file = Files.write(directory.resolve("invalid.txt"), new byte[]{'a', 'b', (byte) 0xC3});
+
+        try (var characterIterator = new MappedFileCharacterIterator(file, 4, 16)) {
+            assertThat(characterIterator.next()).isEqualTo('a');
+            assertThat(characterIterator.next()).isEqualTo('b');
+            assertThatThrownBy(characterIterator::hasNext).isInstanceOf(MalformedInputException.class);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidSizes() {
+        var file = directory.resolve("missing.txt");
+
+        assertThatThrownBy(() -> new MappedFileCharacterIterator(file, 3, 16))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("window size can not be less than 4");
+
+        assertThatThrownBy(() -> new MappedFileCharacterIterator(file, 4, 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("chunk size can not be less than 2");
+    }
+}
@@ -0,0 +1,69 @@
+package org.vinniks.parsla.tokenizer.text;
+
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.text.dfa.DfaTextTokenizer;
+import org.vinniks.parsla.tokenizer.text.dfa.TokenDefinition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PipelinedTextTokenizerTest {
+    private final TextTokenizer tokenizer = new PipelinedTextTokenizer(
+        new DfaTextTokenizer(List.of(
+            TokenDefinition.regex("word", "[a-z]+"),
+            TokenDefinition.regex("space", " +").skipped()
+        ), () -> new char[4]),
+        2,
+        2
+    );
+
+    @Test
+    void shouldTokenizeCharacterIteratorOffCallingThread() throws IOException {
+        var characterIterator = new ThreadRecordingCharacterIterator("alpha beta gamma ".repeat(20));
+        var tokens = new ArrayList<Token>();
+
+        try (var tokenIterator = tokenizer.tokenize(characterIterator)) {
+            while (tokenIterator.hasNext()) {
+                tokens.add(tokenIterator.next());
+            }
+        }
+
+        assertThat(tokens).hasSize(60).startsWith(new Token("word", "alpha"), new Token("word", "beta"));
+        assertThat(characterIterator.threads).isNotEmpty().doesNotContain(Thread.currentThread());
+        assertThat(characterIterator.closed).isTrue();
+    }
+
+    private static class ThreadRecordingCharacterIterator implements CharacterIterator {
+        private final String characters;
+        private final Set<Thread> threads;
+        private int index;
+        private volatile boolean closed;
+
+        private ThreadRecordingCharacterIterator(String characters) {
+            this.characters = characters;
+            threads = new HashSet<>();
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            threads.add(Thread.currentThread());
+            return index < characters.length();
+        }
+
+        @Override
+        public synchronized char next() {
+            return characters.charAt(index++);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.vinniks.parsla.tokenizer.text;
+
+import org.junit.jupiter.api.Test;
+import org.vinniks.parsla.tokenizer.Token;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextTokenizerTest {
+    // A tokenizer implemented only through the Reader method, the way existing implementations are.
+    private final TextTokenizer tokenizer = source -> new TokenIterator<>() {
+        private boolean next = true;
+
+        @Override
+        public boolean hasNext() {
+            return next;
+        }
+
+        @Override
+        public Token next() throws IOException {
+            next = false;
+            var builder = new StringBuilder();
+            var buffer = new char[4];
+
+            for (var count = source.read(buffer); count != -1; count = source.read(buffer)) {
+                builder.append(buffer, 0, count);
+            }
+
+            return new Token("text", builder.toString());
+        }
+
+        @Override
+        public TextPosition position() {
+            return new TextPosition(1, 1);
+        }
+
+        @Override
+        public void close() {
+            try {
+                source.close();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
+
+    @Test
+    void shouldTokenizeCharacterIteratorThroughReader() throws IOException {
+        var characterIterator = new StringCharacterIterator("alpha beta gamma");
+
+        try (var tokenIterator = tokenizer.tokenize(characterIterator)) {
+            assertThat(tokenIterator.hasNext()).isTrue();
+            assertThat(tokenIterator.next()).isEqualTo(new Token("text", "alpha beta gamma"));
+            assertThat(tokenIterator.hasNext()).isFalse();
+        }
+
+        assertThat(characterIterator.closed).isTrue();
+    }
+
+    @Test
+    void shouldFailReadingCharactersThatAreNotAvailableYet() throws IOException {
+        var characterIterator = new StringCharacterIterator("alpha") {
+            @Override
+            public boolean isEnded() {
+                return false;
+            }
+        };
+
+        try (var tokenIterator = tokenizer.tokenize(characterIterator)) {
+            assertThatThrownBy(tokenIterator::next)
+                .isInstanceOf(IOException.class)
+                .hasMessage("characters are not available yet");
+        }
+    }
+
+    private static class StringCharacterIterator implements CharacterIterator {
+        private final String characters;
+        private int index;
+        private boolean closed;
+
+        private StringCharacterIterator(String characters) {
+            this.characters = characters;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < characters.length();
+        }
+
+        @Override
+        public char next() {
+            return characters.charAt(index++);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -72,4 +72,21 @@ class BufferedCharacterIteratorTest {
         assertThat(characterIterator.next()).isEqualTo('d');
         assertThat(characterIterator.hasNext()).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReadCharactersInBulk() throws IOException {
+        var source = "hello, world";
+        var characterIterator = new BufferedCharacterIterator(new StringReader(source), () -> new char[5]);
+        var buffer = new char[8];
+
+        assertThat(characterIterator.next()).isEqualTo('h');
+        assertThat(characterIterator.read(buffer, 0, 8)).isEqualTo(4);
+        assertThat(new String(buffer, 0, 4)).isEqualTo("ello");
+        assertThat(characterIterator.read(buffer, 2, 6)).isEqualTo(5);
+        assertThat(new String(buffer, 2, 5)).isEqualTo(", wor");
+        assertThat(characterIterator.read(buffer, 0, 8)).isEqualTo(2);
+        assertThat(new String(buffer, 0, 2)).isEqualTo("ld");
+        assertThat(characterIterator.read(buffer, 0, 8)).isEqualTo(-1);
+        assertThat(characterIterator.hasNext()).isFalse();
+    }
+}
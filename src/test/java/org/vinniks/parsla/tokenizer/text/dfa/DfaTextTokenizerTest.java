@@ -0,0 +1,221 @@
+package org.vinniks.parsla.tokenizer.text.dfa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.vinniks.parsla.exception.GrammarException;
+import org.vinniks.parsla.exception.ParsingException;
+import org.vinniks.parsla.tokenizer.TokenIterator;
+import org.vinniks.parsla.tokenizer.text.CharacterIterator;
+import org.vinniks.parsla.tokenizer.text.TextPosition;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DfaTextTokenizerTest {
+    private static final List<TokenDefinition> SQL_DEFINITIONS = List.of(
+        TokenDefinition.literal("keyword", "select").withPriority(1),
+        TokenDefinition.literal("keyword", "from").withPriority(1),
+        TokenDefinition.regex("identifier", "[a-zA-Z_][a-zA-Z_0-9]*"),
+        TokenDefinition.regex("number", "\\d+(\\.\\d+)?"),
+        TokenDefinition.regex("string", "'([^'\\n]|'')*'"),
+        TokenDefinition.literal("comma", ",").withoutValue(),
+        TokenDefinition.literal("semicolon", ";").withoutValue(),
+        TokenDefinition.regex("whitespace", "\\s+").skipped(),
+        TokenDefinition.regex("comment", "--[^\\n]*").skipped()
+    );
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 8, 8192})
+    void shouldTokenizeWithLongestMatchAndPriorities(int bufferSize) throws IOException {
+        var tokenizer = new DfaTextTokenizer(SQL_DEFINITIONS, () -> new char[bufferSize]);
+
+        var tokens = tokenize(tokenizer.getTokenIterator(new StringReader(
+            "select selection, 12.5 -- comment\nfrom 'it''s';"
+        )));
+
+        assertThat(tokens).containsExactly(
+            "keyword \"select\" at 1:1",
+            "identifier \"selection\" at 1:8",
+            "comma at 1:17",
+            "number \"12.5\" at 1:19",
+            "keyword \"from\" at 2:1",
+            "string \"'it''s'\" at 2:6",
+            "semicolon at 2:13"
+        );
+    }
+
+    @Test
+    void shouldPreferEarlierDefinitionsWithEqualPriority() throws IOException {
+        var tokenizer = new DfaTextTokenizer(List.of(
+            TokenDefinition.regex("word", "[a-z]+"),
+            TokenDefinition.literal("keyword", "if"),
+            TokenDefinition.literal("space", " ").skipped()
+        ));
+
+        assertThat(tokenize(tokenizer.getTokenIterator(new StringReader("if iff")))).containsExactly(
+            "word \"if\" at 1:1",
+            "word \"iff\" at 1:4"
+        );
+    }
+
+    @Test
+    void shouldTagTokensWithAcceptingDefinition() throws IOException {
+        var tokenizer = new DfaTextTokenizer(SQL_DEFINITIONS);
+        var definitions = new ArrayList<Integer>();
+
+        try (var tokenIterator = tokenizer.getTokenIterator(new StringReader("select a, 1 from b;"))) {
+            while (tokenIterator.hasNext()) {
+                var token = (DfaToken) tokenIterator.next();
+                assertThat(token.getTokenizer()).isSameAs(tokenizer);
+                assertThat(token.getType()).isEqualTo(SQL_DEFINITIONS.get(token.getDefinition()).getType());
+                definitions.add(token.getDefinition());
+            }
+        }
+
+        assertThat(definitions).containsExactly(0, 2, 5, 3, 1, 2, 6);
+    }
+
+    @Test
+    void shouldTokenizeCharactersFedInChunks() throws IOException {
+        var tokenizer = new DfaTextTokenizer(SQL_DEFINITIONS);
+        var characterIterator = new ChunkedCharacterIterator();
+        var tokenIterator = tokenizer.tokenize(characterIterator);
+        var tokens = new ArrayList<String>();
+
+        for (var chunk : new String[]{"sel", "ect a", "bc", ", 1", "2;"}) {
+            characterIterator.chunk = chunk;
+            characterIterator.index = 0;
+            tokens.addAll(tokenize(tokenIterator));
+        }
+
+        characterIterator.ended = true;
+        tokens.addAll(tokenize(tokenIterator));
+
+        assertThat(tokens).containsExactly(
+            "keyword \"select\" at 1:1",
+            "identifier \"abc\" at 1:8",
+            "comma at 1:11",
+            "number \"12\" at 1:13",
+            "semicolon at 1:15"
+        );
+    }
+
+    @Test
+    void shouldBuildMinimalDfa() {
+        var tokenizer = new DfaTextTokenizer(List.of(TokenDefinition.regex("x", "(a|b)*abb")));
+
+        assertThat(tokenizer.getStateCount()).isEqualTo(4);
+        assertThat(tokenizer.getDfa().getClassCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldSupportBoundedRepetitionsAndEscapes() throws IOException {
+        var tokenizer = new DfaTextTokenizer(List.of(
+            TokenDefinition.regex("hex", "0x[0-9a-fA-F]{2,4}"),
+            TokenDefinition.regex("symbol", "[\\-+*/\\u0021]"),
+            TokenDefinition.regex("space", "[ ]+").skipped()
+        ));
+
+        assertThat(tokenize(tokenizer.getTokenIterator(new StringReader("0xff - 0xABCD !")))).containsExactly(
+            "hex \"0xff\" at 1:1",
+            "symbol \"-\" at 1:6",
+            "hex \"0xABCD\" at 1:8",
+            "symbol \"!\" at 1:15"
+        );
+
+        assertThatThrownBy(() -> tokenize(tokenizer.getTokenIterator(new StringReader("0xABCDE"))))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected character E at 1:7");
+    }
+
+    @Test
+    void shouldThrowParsingExceptionOnUnexpectedInput() {
+        var tokenizer = new DfaTextTokenizer(SQL_DEFINITIONS);
+
+        assertThatThrownBy(() -> tokenize(tokenizer.getTokenIterator(new StringReader("select\n  #"))))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected character # at 2:3");
+
+        assertThatThrownBy(() -> tokenize(tokenizer.getTokenIterator(new StringReader("select 'abc"))))
+            .isInstanceOf(ParsingException.class)
+            .hasMessage("unexpected end of the input at 1:12");
+    }
+
+    @Test
+    void shouldRejectInvalidDefinitions() {
+        assertThatThrownBy(() -> new DfaTextTokenizer(List.of(TokenDefinition.regex("x", "a*"))))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Token type \"x\" must not match empty input");
+
+        assertThatThrownBy(() -> new DfaTextTokenizer(List.of(TokenDefinition.regex("x", "(ab"))))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Invalid token pattern \"(ab\": ) expected at 4");
+
+        assertThatThrownBy(() -> new DfaTextTokenizer(List.of(TokenDefinition.regex("x", "[z-a]"))))
+            .isInstanceOf(GrammarException.class)
+            .hasMessage("Invalid token pattern \"[z-a]\": invalid character range at 5");
+
+        assertThatThrownBy(() -> new DfaTextTokenizer(List.of()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("token definitions can not be empty");
+    }
+
+    @Test
+    void shouldBeShareableAcrossThreads() {
+        var tokenizer = new DfaTextTokenizer(SQL_DEFINITIONS);
+        var source = "select a, 'b', 3 from t;\n".repeat(200);
+
+        var results = IntStream.range(0, 16).parallel().mapToObj(i -> {
+            try {
+                return tokenize(tokenizer.getTokenIterator(new StringReader(source)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).toList();
+
+        assertThat(results).allSatisfy(tokens -> {
+            assertThat(tokens).hasSize(1800);
+            assertThat(tokens).isEqualTo(results.get(0));
+        });
+    }
+
+    private List<String> tokenize(TokenIterator<TextPosition> tokenIterator) throws IOException {
+        var tokens = new ArrayList<String>();
+
+        while (tokenIterator.hasNext()) {
+            var token = tokenIterator.next();
+            tokens.add(token + " at " + tokenIterator.position());
+        }
+
+        return tokens;
+    }
+
+    private static class ChunkedCharacterIterator implements CharacterIterator {
+        private String chunk = "";
+        private int index;
+        private boolean ended;
+
+        @Override
+        public boolean hasNext() {
+            return index < chunk.length();
+        }
+
+        @Override
+        public char next() {
+            return chunk.charAt(index++);
+        }
+
+        @Override
+        public boolean isEnded() {
+            return ended && !hasNext();
+        }
+    }
+}